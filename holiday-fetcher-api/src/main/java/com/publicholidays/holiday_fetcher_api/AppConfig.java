@@ -1,13 +1,215 @@
 package com.publicholidays.holiday_fetcher_api;
 
+import com.publicholidays.holiday_fetcher_api.client.DeadlineRequestFactory;
+import com.publicholidays.holiday_fetcher_api.client.HttpClientProperties;
+import com.publicholidays.holiday_fetcher_api.concurrent.AsyncRequestProperties;
+import com.publicholidays.holiday_fetcher_api.concurrent.DeadlineTaskDecorator;
+import com.publicholidays.holiday_fetcher_api.concurrent.FanOutProperties;
+import com.publicholidays.holiday_fetcher_api.concurrent.MdcTaskDecorator;
+import com.publicholidays.holiday_fetcher_api.concurrent.RequestDeadlineInterceptor;
+import com.publicholidays.holiday_fetcher_api.controller.HolidayResponseCachingFilter;
+import com.publicholidays.holiday_fetcher_api.controller.HttpCacheProperties;
+import com.publicholidays.holiday_fetcher_api.jfr.RecordingJsonHttpMessageConverter;
+import com.publicholidays.holiday_fetcher_api.jfr.RequestRecordingInterceptor;
+import com.publicholidays.holiday_fetcher_api.jfr.UpstreamRecordingInterceptor;
+import com.publicholidays.holiday_fetcher_api.warmup.WarmupProperties;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import io.netty.channel.ChannelOption;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.support.CompositeTaskDecorator;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 
 @Configuration
-public class AppConfig {
+@ImportRuntimeHints(HolidayRuntimeHints.class)
+public class AppConfig implements WebMvcConfigurer {
+    private final AsyncRequestProperties asyncRequestProperties;
+
+    public AppConfig(AsyncRequestProperties asyncRequestProperties) {
+        this.asyncRequestProperties = asyncRequestProperties;
+    }
+
+    //Pooled keep-alive connections, so repeated calls to date.nager.at skip the TCP and TLS handshakes.
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager httpConnectionManager(HttpClientProperties httpClientProperties) {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(httpClientProperties.getMaxConnections())
+                .setMaxConnPerRoute(httpClientProperties.getMaxConnectionsPerRoute())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(httpClientProperties.getConnectTimeout().toMillis()))
+                        .setSocketTimeout(Timeout.ofMilliseconds(httpClientProperties.getReadTimeout().toMillis()))
+                        .build())
+                .build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient httpClient(PoolingHttpClientConnectionManager httpConnectionManager,
+                                          HttpClientProperties httpClientProperties) {
+        return HttpClients.custom()
+                .setConnectionManager(httpConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(httpClientProperties.getConnectionRequestTimeout().toMillis()))
+                        .setResponseTimeout(Timeout.ofMilliseconds(httpClientProperties.getReadTimeout().toMillis()))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(httpClientProperties.getIdleEviction().toMillis()))
+                .build();
+    }
+
+    //The recording interceptor and Jackson converter only do work while their flight recorder events are enabled.
+    @Bean
+    public RestTemplate restTemplate(CloseableHttpClient httpClient, HttpClientProperties httpClientProperties) {
+        RestTemplate restTemplate = new RestTemplate(new DeadlineRequestFactory(httpClient, httpClientProperties));
+        restTemplate.getMessageConverters().replaceAll(converter -> converter instanceof MappingJackson2HttpMessageConverter
+                ? new RecordingJsonHttpMessageConverter() : converter);
+        restTemplate.getInterceptors().add(new UpstreamRecordingInterceptor());
+        return restTemplate;
+    }
+
+    //Non-blocking connection pool of the reactive mode: waiting requests queue for a connection, not for a thread.
+    @Bean(destroyMethod = "dispose")
+    @ConditionalOnProperty(name = "holidays.service.mode", havingValue = "reactive")
+    public ConnectionProvider reactiveConnectionProvider(HttpClientProperties httpClientProperties) {
+        return ConnectionProvider.builder("holiday-upstream")
+                .maxConnections(httpClientProperties.getReactiveMaxConnections())
+                .pendingAcquireTimeout(httpClientProperties.getConnectionRequestTimeout())
+                .maxIdleTime(httpClientProperties.getIdleEviction())
+                .build();
+    }
+
+    //Built from Boot's WebClient.Builder so the response bodies are read with the application's ObjectMapper.
+    @Bean
+    @ConditionalOnProperty(name = "holidays.service.mode", havingValue = "reactive")
+    public WebClient webClient(WebClient.Builder webClientBuilder, ConnectionProvider reactiveConnectionProvider,
+                               HttpClientProperties httpClientProperties) {
+        HttpClient httpClient = HttpClient.create(reactiveConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) httpClientProperties.getConnectTimeout().toMillis())
+                .responseTimeout(httpClientProperties.getReadTimeout());
+        return webClientBuilder.clientConnector(new ReactorClientHttpConnector(httpClient)).build();
+    }
+
+    //Runs the endpoints returning Callable, so Tomcat threads only parse requests and write responses, and are not held
+    //while the upstream is called.
+    @Bean
+    public AsyncTaskExecutor asyncRequestExecutor() {
+        if (asyncRequestProperties.getExecutor() == AsyncRequestProperties.ExecutorType.VIRTUAL) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("holiday-request-");
+            executor.setVirtualThreads(true);
+            executor.setTaskDecorator(requestTaskDecorator());
+            return executor;
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("holiday-request-");
+        executor.setCorePoolSize(asyncRequestProperties.getMaxThreads());
+        executor.setMaxPoolSize(asyncRequestProperties.getMaxThreads());
+        executor.setQueueCapacity(asyncRequestProperties.getQueueCapacity());
+        executor.setTaskDecorator(requestTaskDecorator());
+        return executor;
+    }
+
+    //Tasks of a request keep its logging context and its deadline.
+    private static TaskDecorator requestTaskDecorator() {
+        return new CompositeTaskDecorator(List.of(new MdcTaskDecorator(), new DeadlineTaskDecorator()));
+    }
+
+    //Only the holiday endpoints are cacheable; diagnostics and actuator responses must always be fresh.
+    @Bean
+    @ConditionalOnProperty(name = "holidays.http-cache.enabled", matchIfMissing = true)
+    public FilterRegistrationBean<HolidayResponseCachingFilter> holidayResponseCachingFilter(HttpCacheProperties httpCacheProperties) {
+        FilterRegistrationBean<HolidayResponseCachingFilter> registration =
+                new FilterRegistrationBean<>(new HolidayResponseCachingFilter(httpCacheProperties));
+        registration.addUrlPatterns("/holidays/*");
+        return registration;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new RequestRecordingInterceptor()).addPathPatterns("/holidays/**");
+        //A streamed bulk request has no overall deadline; its fetches are bounded by the fetch deadline alone.
+        registry.addInterceptor(new RequestDeadlineInterceptor(asyncRequestProperties))
+                .addPathPatterns("/holidays/**")
+                .excludePathPatterns("/holidays/bulk");
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(asyncRequestExecutor());
+        configurer.setDefaultTimeout(asyncRequestProperties.getTimeout().toMillis());
+    }
+
+    //Dedicated pool for per-country upstream fetches, sized by the configured maximum parallelism.
+    @Bean
+    public ThreadPoolTaskExecutor fanOutExecutor(FanOutProperties fanOutProperties) {
+        return fixedRequestPool("holiday-fan-out-", fanOutProperties.getMaxParallelism());
+    }
+
+    //Pool shared by all bulk streams, apart from the fan-out pool, so bulk downloads only ever compete with each other.
+    @Bean
+    public ThreadPoolTaskExecutor bulkFanOutExecutor(FanOutProperties fanOutProperties) {
+        return fixedRequestPool("holiday-bulk-", fanOutProperties.getBulkMaxParallelism());
+    }
+
+    //Fixed pool with an unbounded queue, running the tasks of a request with its logging context and deadline like the
+    //async request executor. Queued tasks still run on shutdown.
+    private static ThreadPoolTaskExecutor fixedRequestPool(String threadNamePrefix, int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setTaskDecorator(requestTaskDecorator());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+
+    //Runs the attempts of hedged upstream fetches. Unbounded, as the bulkhead already caps the guarded fetches and each
+    //has at most two attempts in flight.
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService upstreamAttemptExecutor() {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("holiday-upstream-");
+        threadFactory.setDaemon(true);
+        return Executors.newCachedThreadPool(threadFactory);
+    }
+
+    //Runs the startup preload and the periodic current-year refresh with bounded concurrency.
+    @Bean(destroyMethod = "shutdownNow")
+    public ScheduledExecutorService warmupExecutor(WarmupProperties warmupProperties) {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("holiday-warmup-");
+        threadFactory.setDaemon(true);
+        return Executors.newScheduledThreadPool(warmupProperties.getConcurrency(), threadFactory);
+    }
+
+    //Time source of cache expiry and the circuit breaker; tests construct those with a clock they can move.
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public Clock clock() {
+        return Clock.systemDefaultZone();
     }
 }
@@ -2,8 +2,10 @@ package com.publicholidays.holiday_fetcher_api;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class HolidayFetcherApiApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,24 @@
+package com.publicholidays.holiday_fetcher_api;
+
+import com.publicholidays.holiday_fetcher_api.dto.response.CountryYearHolidaysDTO;
+import com.publicholidays.holiday_fetcher_api.dto.response.HolidayDTO;
+import com.publicholidays.holiday_fetcher_api.jfr.HolidayFlightRecorder;
+import com.publicholidays.holiday_fetcher_api.model.UpstreamHolidays;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+//What AOT processing cannot infer from controller signatures for a native image: upstream responses are read into
+//UpstreamHolidays by the deserializer its annotation names, cached and bulk bodies are serialized by the ObjectMapper
+//directly, and the flight recorder profile is read from the classpath.
+class HolidayRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                UpstreamHolidays.class, HolidayDTO[].class, CountryYearHolidaysDTO.class);
+        hints.reflection().registerType(UpstreamHolidays.Deserializer.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        hints.resources().registerPattern(HolidayFlightRecorder.PROFILE);
+    }
+}
@@ -0,0 +1,5 @@
+package com.publicholidays.holiday_fetcher_api.cache;
+
+//How old a cached (country, year) entry is, how long until it expires, and whether a refresh is running.
+public record CacheEntryAge(String key, long ageMillis, long expiresInMillis, boolean refreshing) {
+}
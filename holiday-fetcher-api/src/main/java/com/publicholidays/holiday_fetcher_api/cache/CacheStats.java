@@ -0,0 +1,11 @@
+package com.publicholidays.holiday_fetcher_api.cache;
+
+//Point-in-time snapshot of the holiday cache counters.
+public record CacheStats(long hits, long misses, long evictions, long expirations, long coalescedLoads,
+                         long staleHits, int size) {
+
+    public double hitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0.0 : (double) hits / requests;
+    }
+}
@@ -0,0 +1,10 @@
+package com.publicholidays.holiday_fetcher_api.cache;
+
+//Ready-to-write UTF-8 JSON body, and its gzip copy when one is kept (null otherwise), each with the strong ETag of its
+//bytes, so a hit is answered without hashing the body again.
+public record CachedResponseBody(byte[] json, String jsonEtag, byte[] gzip, String gzipEtag) {
+
+    public int size() {
+        return json.length + (gzip != null ? gzip.length : 0);
+    }
+}
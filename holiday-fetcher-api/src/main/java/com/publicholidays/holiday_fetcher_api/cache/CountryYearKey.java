@@ -0,0 +1,10 @@
+package com.publicholidays.holiday_fetcher_api.cache;
+
+//Cache key identifying the holidays of one country in one year.
+public record CountryYearKey(String country, int year) {
+
+    @Override
+    public String toString() {
+        return country + "/" + year;
+    }
+}
@@ -0,0 +1,203 @@
+package com.publicholidays.holiday_fetcher_api.cache;
+
+import com.publicholidays.holiday_fetcher_api.model.CountryYearHolidays;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+//In-process cache of compact upstream holidays keyed by (country, year), bounded by size and expiring by TTL.
+@Component
+public class HolidayCache {
+
+    private final HolidayCacheProperties properties;
+    private final Clock clock;
+    private final Map<CountryYearKey, Entry> entries;
+    private final SingleFlight<CountryYearKey, CountryYearHolidays> loads = new SingleFlight<>();
+    private final List<HolidayCacheListener> listeners = new CopyOnWriteArrayList<>();
+    private final Set<CountryYearKey> refreshing = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+    private final AtomicLong staleHits = new AtomicLong();
+
+    public HolidayCache(HolidayCacheProperties properties, Clock clock) {
+        this.properties = properties;
+        this.clock = clock;
+        //Access-ordered map so that the eldest entry is always the least recently used one.
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CountryYearKey, Entry> eldest) {
+                if (size() > properties.getMaxEntries()) {
+                    evictions.incrementAndGet();
+                    notifyRemoved(eldest.getKey());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    //Returns the cached holidays for the key, invoking the loader on a miss. Null results are not cached.
+    //Concurrent misses on the same key share a single loader invocation. A caller that missed just before the previous
+    //load was stored may still become the next leader, so the leader looks again before loading.
+    public CountryYearHolidays get(CountryYearKey key, Supplier<CountryYearHolidays> loader) {
+        CountryYearHolidays cached = getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        return loads.execute(key, () -> {
+            CountryYearHolidays stored = peek(key);
+            if (stored != null) {
+                return stored;
+            }
+            CountryYearHolidays loaded = loader.get();
+            if (loaded != null) {
+                put(key, loaded);
+            }
+            return loaded;
+        }, properties.getLoadTimeout());
+    }
+
+    public CountryYearHolidays getIfPresent(CountryYearKey key) {
+        return lookup(key, true);
+    }
+
+    //Same as getIfPresent without counting a hit or a miss, for looking again after a lookup that was already counted.
+    public CountryYearHolidays peek(CountryYearKey key) {
+        return lookup(key, false);
+    }
+
+    private CountryYearHolidays lookup(CountryYearKey key, boolean counted) {
+        long now = clock.millis();
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.expiresAt() > now) {
+                if (counted) {
+                    hits.incrementAndGet();
+                }
+                return entry.holidays();
+            }
+            //Stale-while-revalidate: an expired entry keeps being served while its background refresh is in flight.
+            if (entry != null && refreshing.contains(key)) {
+                if (counted) {
+                    staleHits.incrementAndGet();
+                }
+                return entry.holidays();
+            }
+            if (entry != null) {
+                entries.remove(key);
+                expirations.incrementAndGet();
+                notifyRemoved(key);
+            }
+        }
+        if (counted) {
+            misses.incrementAndGet();
+        }
+        return null;
+    }
+
+    //Reloads an entry in the background. Readers keep getting the current value until the new one is stored,
+    //and a failed reload leaves the current value in place.
+    public void refresh(CountryYearKey key, Supplier<CountryYearHolidays> loader) {
+        if (!refreshing.add(key)) {
+            return;
+        }
+        try {
+            CountryYearHolidays loaded = loader.get();
+            if (loaded != null) {
+                put(key, loaded);
+            }
+        } finally {
+            refreshing.remove(key);
+        }
+    }
+
+    //Expiry time in clock millis of the cached entry, or 0 when the key is not cached.
+    public long expiresAt(CountryYearKey key) {
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            return entry != null ? entry.expiresAt() : 0;
+        }
+    }
+
+    public void put(CountryYearKey key, CountryYearHolidays holidays) {
+        long now = clock.millis();
+        long expiresAt = now + ttlFor(key).toMillis();
+        synchronized (entries) {
+            entries.put(key, new Entry(holidays, now, expiresAt));
+            listeners.forEach(listener -> listener.onPut(key, holidays));
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.keySet().forEach(this::notifyRemoved);
+            entries.clear();
+        }
+    }
+
+    //Listeners are called while the cache lock is held, so they must be quick and must not call back into the cache.
+    public void addListener(HolidayCacheListener listener) {
+        listeners.add(listener);
+    }
+
+    public List<CountryYearKey> keys() {
+        synchronized (entries) {
+            return new ArrayList<>(entries.keySet());
+        }
+    }
+
+    //Copy of every cached entry, expired or not, least recently used first.
+    public Map<CountryYearKey, CountryYearHolidays> asMap() {
+        Map<CountryYearKey, CountryYearHolidays> copy = new LinkedHashMap<>();
+        synchronized (entries) {
+            entries.forEach((key, entry) -> copy.put(key, entry.holidays()));
+        }
+        return copy;
+    }
+
+    //Age of every cached entry and the time left before it expires, for observing refresh behaviour.
+    public List<CacheEntryAge> entryAges() {
+        long now = clock.millis();
+        List<CacheEntryAge> ages = new ArrayList<>();
+        synchronized (entries) {
+            entries.forEach((key, entry) -> ages.add(
+                    new CacheEntryAge(key.toString(), now - entry.loadedAt(), entry.expiresAt() - now, refreshing.contains(key))));
+        }
+        return ages;
+    }
+
+    public CacheStats stats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return new CacheStats(hits.get(), misses.get(), evictions.get(), expirations.get(),
+                loads.getCoalescedCalls(), staleHits.get(), size);
+    }
+
+    private void notifyRemoved(CountryYearKey key) {
+        listeners.forEach(listener -> listener.onRemove(key));
+    }
+
+    private Duration ttlFor(CountryYearKey key) {
+        int currentYear = LocalDate.now(clock).getYear();
+        return key.year() >= currentYear ? properties.getCurrentYearTtl() : properties.getPastYearTtl();
+    }
+
+    private record Entry(CountryYearHolidays holidays, long loadedAt, long expiresAt) {
+    }
+}
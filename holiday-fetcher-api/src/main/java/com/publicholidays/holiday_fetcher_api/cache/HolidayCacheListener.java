@@ -0,0 +1,11 @@
+package com.publicholidays.holiday_fetcher_api.cache;
+
+import com.publicholidays.holiday_fetcher_api.model.CountryYearHolidays;
+
+//Notified whenever the cached holidays of a (country, year) are stored or dropped, so derived indexes stay in sync.
+public interface HolidayCacheListener {
+
+    void onPut(CountryYearKey key, CountryYearHolidays holidays);
+
+    void onRemove(CountryYearKey key);
+}
@@ -0,0 +1,25 @@
+package com.publicholidays.holiday_fetcher_api.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "holidays.cache")
+public class HolidayCacheProperties {
+
+    //Maximum number of (country, year) entries kept before the least recently used one is evicted.
+    private int maxEntries = 1024;
+
+    //Past years never change upstream, so they can be kept for a long time.
+    private Duration pastYearTtl = Duration.ofDays(7);
+
+    //The current year can still be amended upstream, so it is refreshed more often.
+    private Duration currentYearTtl = Duration.ofHours(1);
+
+    //How long a request waits for an identical upstream fetch already in flight before giving up.
+    private Duration loadTimeout = Duration.ofSeconds(10);
+}
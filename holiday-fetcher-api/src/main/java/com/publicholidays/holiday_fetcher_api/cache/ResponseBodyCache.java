@@ -0,0 +1,193 @@
+package com.publicholidays.holiday_fetcher_api.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.publicholidays.holiday_fetcher_api.model.CountryYearHolidays;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Clock;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+//Serialized response bodies per canonical request, bounded by their total size in bytes. A hit is written as it is,
+//without building DTOs or running Jackson. Entries follow the holiday cache through HolidayCacheListener: they are
+//dropped when one of their (country, year) sources is stored or removed, and never outlive the sources' TTL.
+@Component
+public class ResponseBodyCache implements HolidayCacheListener {
+
+    private final ResponseBodyCacheProperties properties;
+    private final HolidayCache holidayCache;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+    //Access-ordered map so that the eldest entry is always the least recently used one.
+    private final Map<ResponseKey, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<CountryYearKey, Set<ResponseKey>> keysBySource = new HashMap<>();
+    private long bytes;
+    //Bumped on every invalidation, so a body computed while its sources changed is not stored.
+    private long generation;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public ResponseBodyCache(ResponseBodyCacheProperties properties, HolidayCache holidayCache, ObjectMapper objectMapper,
+                             Clock clock) {
+        this.properties = properties;
+        this.holidayCache = holidayCache;
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+        holidayCache.addListener(this);
+    }
+
+    //Returns the serialized body for the key, computing and serializing it on a miss, or null when the computed body is null.
+    public CachedResponseBody get(ResponseKey key, Supplier<?> body) {
+        if (!properties.isEnabled()) {
+            Object value = body.get();
+            return value != null ? serialize(value) : null;
+        }
+        long now = clock.millis();
+        long generationBefore;
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.expiresAt() > now) {
+                hits.incrementAndGet();
+                return entry.body();
+            }
+            if (entry != null) {
+                remove(key);
+            }
+            generationBefore = generation;
+        }
+        misses.incrementAndGet();
+
+        Object value = body.get();
+        if (value == null) {
+            return null;
+        }
+        CachedResponseBody serialized = serialize(value);
+        store(key, serialized, generationBefore);
+        return serialized;
+    }
+
+    @Override
+    public void onPut(CountryYearKey key, CountryYearHolidays holidays) {
+        invalidate(key);
+    }
+
+    @Override
+    public void onRemove(CountryYearKey key) {
+        invalidate(key);
+    }
+
+    public ResponseBodyCacheStats stats() {
+        synchronized (entries) {
+            return new ResponseBodyCacheStats(hits.get(), misses.get(), evictions.get(), invalidations.get(), entries.size(), bytes);
+        }
+    }
+
+    private void invalidate(CountryYearKey source) {
+        synchronized (entries) {
+            generation++;
+            Set<ResponseKey> keys = keysBySource.remove(source);
+            if (keys != null) {
+                keys.forEach(this::remove);
+                invalidations.addAndGet(keys.size());
+            }
+        }
+    }
+
+    //The holiday cache is read before taking the lock: its listeners run under its own lock and then take this one.
+    private void store(ResponseKey key, CachedResponseBody body, long generationBefore) {
+        long size = body.size();
+        if (size > properties.getMaxSize().toBytes()) {
+            return;
+        }
+        long expiresAt = Long.MAX_VALUE;
+        for (CountryYearKey source : key.sources()) {
+            expiresAt = Math.min(expiresAt, holidayCache.expiresAt(source));
+        }
+        if (expiresAt <= clock.millis()) {
+            return;
+        }
+        synchronized (entries) {
+            if (generation != generationBefore) {
+                return;
+            }
+            remove(key);
+            entries.put(key, new Entry(body, expiresAt));
+            for (CountryYearKey source : key.sources()) {
+                keysBySource.computeIfAbsent(source, ignored -> new HashSet<>()).add(key);
+            }
+            bytes += size;
+            evictOverflow();
+        }
+    }
+
+    private void evictOverflow() {
+        Iterator<Map.Entry<ResponseKey, Entry>> eldest = entries.entrySet().iterator();
+        while (bytes > properties.getMaxSize().toBytes() && eldest.hasNext()) {
+            Map.Entry<ResponseKey, Entry> entry = eldest.next();
+            eldest.remove();
+            forget(entry.getKey(), entry.getValue());
+            evictions.incrementAndGet();
+        }
+    }
+
+    private void remove(ResponseKey key) {
+        Entry entry = entries.remove(key);
+        if (entry != null) {
+            forget(key, entry);
+        }
+    }
+
+    private void forget(ResponseKey key, Entry entry) {
+        bytes -= entry.body().size();
+        for (CountryYearKey source : key.sources()) {
+            Set<ResponseKey> keys = keysBySource.get(source);
+            if (keys != null && keys.remove(key) && keys.isEmpty()) {
+                keysBySource.remove(source);
+            }
+        }
+    }
+
+    private CachedResponseBody serialize(Object value) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        byte[] gzip = properties.isGzip() && json.length >= properties.getGzipMinSize().toBytes() ? gzip(json) : null;
+        return new CachedResponseBody(json, etag(json), gzip, gzip != null ? etag(gzip) : null);
+    }
+
+    //Same strong ETag as ShallowEtagHeaderFilter would compute from the written bytes.
+    private static String etag(byte[] body) {
+        return "\"0" + DigestUtils.md5DigestAsHex(body) + "\"";
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4 + 32);
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+
+    private record Entry(CachedResponseBody body, long expiresAt) {
+    }
+}
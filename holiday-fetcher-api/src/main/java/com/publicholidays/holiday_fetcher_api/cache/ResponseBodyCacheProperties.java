@@ -0,0 +1,24 @@
+package com.publicholidays.holiday_fetcher_api.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "holidays.response-cache")
+public class ResponseBodyCacheProperties {
+
+    //Serialized JSON bodies of /last and /common kept per request, so hot requests skip the DTOs and Jackson.
+    private boolean enabled = true;
+
+    //Total size of the kept bodies, gzip copies included, before the least recently used ones are evicted.
+    private DataSize maxSize = DataSize.ofMegabytes(16);
+
+    //Also keep a gzip copy of each body, sent to clients accepting gzip.
+    private boolean gzip = false;
+
+    //Bodies smaller than this are always sent uncompressed; gzip does not pay off on a few holidays.
+    private DataSize gzipMinSize = DataSize.ofKilobytes(1);
+}
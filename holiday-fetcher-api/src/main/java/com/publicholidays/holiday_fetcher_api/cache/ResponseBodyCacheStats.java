@@ -0,0 +1,5 @@
+package com.publicholidays.holiday_fetcher_api.cache;
+
+//Point-in-time snapshot of the response body cache counters.
+public record ResponseBodyCacheStats(long hits, long misses, long evictions, long invalidations, int size, long bytes) {
+}
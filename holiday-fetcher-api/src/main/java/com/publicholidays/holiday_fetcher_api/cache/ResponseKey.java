@@ -0,0 +1,22 @@
+package com.publicholidays.holiday_fetcher_api.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+
+//Canonical key of a cacheable response: the endpoint, the (country, year) entries its body is computed from, and the
+//day for answers that move with the calendar. Entries are invalidated through their sources.
+public record ResponseKey(String endpoint, List<CountryYearKey> sources, long day) {
+
+    //The latest holidays before today change with the date, so the key holds the day they were computed on.
+    public static ResponseKey last(String country, int year, long today) {
+        return new ResponseKey("last", List.of(new CountryYearKey(country, year)), today);
+    }
+
+    public static ResponseKey common(List<String> countries, int year) {
+        List<CountryYearKey> sources = new ArrayList<>(countries.size());
+        for (String country : countries) {
+            sources.add(new CountryYearKey(country, year));
+        }
+        return new ResponseKey("common", List.copyOf(sources), 0);
+    }
+}
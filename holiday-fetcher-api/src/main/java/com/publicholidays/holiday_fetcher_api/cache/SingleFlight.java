@@ -0,0 +1,67 @@
+package com.publicholidays.holiday_fetcher_api.cache;
+
+import com.publicholidays.holiday_fetcher_api.exception.HolidayServiceExceptions;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+//Collapses concurrent calls for the same key into one execution whose result or error is shared by every caller.
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder coalesced = new LongAdder();
+
+    //The first caller for a key runs the loader; callers arriving meanwhile wait for its outcome up to the timeout.
+    public V execute(K key, Supplier<V> loader, Duration timeout) {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            coalesced.increment();
+            return await(key, existing, timeout);
+        }
+        try {
+            V value = loader.get();
+            call.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    public long getCoalescedCalls() {
+        return coalesced.sum();
+    }
+
+    public int getInFlightCalls() {
+        return inFlight.size();
+    }
+
+    private V await(K key, CompletableFuture<V> call, Duration timeout) {
+        try {
+            return call.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new HolidayServiceExceptions.UnknownErrorException("An unexpected error occurred while retrieving holidays.");
+        } catch (TimeoutException e) {
+            throw new HolidayServiceExceptions.UnknownErrorException("Timed out waiting for holidays of " + key + ".");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new HolidayServiceExceptions.UnknownErrorException("Interrupted while waiting for holidays of " + key + ".");
+        }
+    }
+}
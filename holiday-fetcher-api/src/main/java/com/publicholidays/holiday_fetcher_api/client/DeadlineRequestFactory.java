@@ -0,0 +1,45 @@
+package com.publicholidays.holiday_fetcher_api.client;
+
+import com.publicholidays.holiday_fetcher_api.concurrent.Deadline;
+import org.apache.hc.client5.http.classic.HttpClient;
+import org.apache.hc.client5.http.classic.methods.HttpUriRequestBase;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.core5.http.ClassicHttpRequest;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import java.time.Duration;
+
+//Request factory of the RestTemplate that bounds every upstream request by the deadline of the work it is made for:
+//waiting for a pooled connection and for the response each stop at the configured timeout or at the deadline,
+//whichever comes first. Requests are also attached to the current UpstreamAttempt, so a losing hedge can be aborted.
+public class DeadlineRequestFactory extends HttpComponentsClientHttpRequestFactory {
+
+    private final HttpClientProperties properties;
+
+    public DeadlineRequestFactory(HttpClient httpClient, HttpClientProperties properties) {
+        super(httpClient);
+        this.properties = properties;
+    }
+
+    @Override
+    protected void postProcessHttpRequest(ClassicHttpRequest request) {
+        if (!(request instanceof HttpUriRequestBase uriRequest)) {
+            return;
+        }
+        Deadline deadline = Deadline.current();
+        if (deadline != null) {
+            Duration remaining = deadline.remaining();
+            uriRequest.setConfig(RequestConfig.custom()
+                    .setConnectionRequestTimeout(timeout(properties.getConnectionRequestTimeout(), remaining))
+                    .setResponseTimeout(timeout(properties.getReadTimeout(), remaining))
+                    .build());
+        }
+        UpstreamAttempt.attach(uriRequest);
+    }
+
+    //At least a millisecond: a zero timeout means no timeout at all.
+    private static Timeout timeout(Duration configured, Duration remaining) {
+        return Timeout.ofMilliseconds(Math.max(Math.min(configured.toMillis(), remaining.toMillis()), 1));
+    }
+}
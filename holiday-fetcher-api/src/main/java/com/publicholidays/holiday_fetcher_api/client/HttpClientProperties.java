@@ -0,0 +1,29 @@
+package com.publicholidays.holiday_fetcher_api.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "holidays.http")
+public class HttpClientProperties {
+
+    //Upper bound of pooled connections, overall and towards a single host.
+    private int maxConnections = 64;
+    private int maxConnectionsPerRoute = 32;
+
+    //Connection limit of the non-blocking client used in reactive mode, where in-flight calls do not hold threads.
+    private int reactiveMaxConnections = 1000;
+
+    private Duration connectTimeout = Duration.ofSeconds(2);
+    private Duration readTimeout = Duration.ofSeconds(5);
+
+    //How long a request may wait for a free pooled connection.
+    private Duration connectionRequestTimeout = Duration.ofSeconds(2);
+
+    //Keep-alive connections idle for longer than this are closed by a background evictor.
+    private Duration idleEviction = Duration.ofSeconds(30);
+}
@@ -0,0 +1,11 @@
+package com.publicholidays.holiday_fetcher_api.client;
+
+import org.apache.hc.core5.pool.PoolStats;
+
+//Usage of the upstream connection pool: connections in use, requests waiting for one, and idle connections.
+public record HttpPoolStats(int leased, int pending, int available, int max) {
+
+    public static HttpPoolStats from(PoolStats poolStats) {
+        return new HttpPoolStats(poolStats.getLeased(), poolStats.getPending(), poolStats.getAvailable(), poolStats.getMax());
+    }
+}
@@ -0,0 +1,143 @@
+package com.publicholidays.holiday_fetcher_api.client;
+
+import com.publicholidays.holiday_fetcher_api.cache.CountryYearKey;
+import com.publicholidays.holiday_fetcher_api.exception.HolidayServiceExceptions;
+import com.publicholidays.holiday_fetcher_api.metrics.HolidayMetrics;
+import com.publicholidays.holiday_fetcher_api.model.CountryYearHolidays;
+import com.publicholidays.holiday_fetcher_api.model.UpstreamHolidays;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+//Single access point to the Nager.Date public holidays API. Answers are read straight into UpstreamHolidays.
+@Component
+public class NagerDateClient {
+    private final RestTemplate restTemplate;
+    private final String publicHolidaysUrl;
+    private final HolidayMetrics holidayMetrics;
+    //Validators of the last full answer per (country, year), with the holidays built from it, so a 304 can return them.
+    private final Map<CountryYearKey, Validated> validated;
+
+    public NagerDateClient(RestTemplate restTemplate, UpstreamProperties upstreamProperties, HolidayMetrics holidayMetrics) {
+        this.restTemplate = restTemplate;
+        this.publicHolidaysUrl = upstreamProperties.getBaseUrl() + "publicholidays/";
+        this.holidayMetrics = holidayMetrics;
+        this.validated = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CountryYearKey, Validated> eldest) {
+                return size() > upstreamProperties.getValidatorsMaxEntries();
+            }
+        };
+    }
+
+    //Fetches the holidays of a country in a year, returning null when the upstream answers with an empty body.
+    public CountryYearHolidays fetchHolidays(String country, int year) {
+        String url = publicHolidaysUrl + year + "/" + country;
+        try {
+            UpstreamHolidays response = getHolidays(url, country);
+            return response != null
+                    ? holidayMetrics.computation("ingest", () -> CountryYearHolidays.fromUpstream(year, response))
+                    : null;
+        } catch (HttpClientErrorException e) {
+            throw toServiceException(e);
+        }
+    }
+
+    //Refreshes the holidays of a country in a year with a conditional request when an earlier answer carried an ETag or
+    //Last-Modified. A 304 returns the holidays built from that answer without downloading or parsing the body again.
+    public CountryYearHolidays revalidate(String country, int year) {
+        CountryYearKey key = new CountryYearKey(country, year);
+        Validated previous;
+        synchronized (validated) {
+            previous = validated.get(key);
+        }
+        HttpHeaders headers = new HttpHeaders();
+        if (previous != null && previous.etag() != null) {
+            headers.setIfNoneMatch(previous.etag());
+        }
+        if (previous != null && previous.lastModified() != null) {
+            headers.set(HttpHeaders.IF_MODIFIED_SINCE, previous.lastModified());
+        }
+        try {
+            ResponseEntity<UpstreamHolidays> response = exchangeHolidays(publicHolidaysUrl + year + "/" + country, country, headers);
+            if (response.getStatusCode().value() == HttpStatus.NOT_MODIFIED.value() && previous != null) {
+                return previous.holidays();
+            }
+            UpstreamHolidays body = response.getBody();
+            if (body == null) {
+                return null;
+            }
+            CountryYearHolidays holidays = holidayMetrics.computation("ingest", () -> CountryYearHolidays.fromUpstream(year, body));
+            String etag = response.getHeaders().getETag();
+            String lastModified = response.getHeaders().getFirst(HttpHeaders.LAST_MODIFIED);
+            if (etag != null || lastModified != null) {
+                synchronized (validated) {
+                    validated.put(key, new Validated(etag, lastModified, holidays));
+                }
+            }
+            return holidays;
+        } catch (HttpClientErrorException e) {
+            throw toServiceException(e);
+        }
+    }
+
+    private static RuntimeException toServiceException(HttpClientErrorException e) {
+        if (e.getStatusCode().value() == 404) {
+            return new HolidayServiceExceptions.HolidayNotFoundException("No holidays found for the given country and year.");
+        } else if (e.getStatusCode().value() == 400) {
+            return new HolidayServiceExceptions.BadRequestException("Invalid request. Please insert valid data input.");
+        }
+        return new HolidayServiceExceptions.UnknownErrorException("An unexpected error occurred while retrieving holidays.");
+    }
+
+    //Times the upstream call on its own, tagged by the response status or by the kind of failure.
+    private UpstreamHolidays getHolidays(String url, String country) {
+        Timer.Sample sample = holidayMetrics.startUpstreamRequest();
+        String status = "ERROR";
+        try {
+            UpstreamHolidays response = restTemplate.getForObject(url, UpstreamHolidays.class);
+            status = "200";
+            return response;
+        } catch (HttpStatusCodeException e) {
+            status = String.valueOf(e.getStatusCode().value());
+            throw e;
+        } catch (ResourceAccessException e) {
+            status = "IO_ERROR";
+            throw e;
+        } finally {
+            holidayMetrics.stopUpstreamRequest(sample, country, status);
+        }
+    }
+
+    private ResponseEntity<UpstreamHolidays> exchangeHolidays(String url, String country, HttpHeaders headers) {
+        Timer.Sample sample = holidayMetrics.startUpstreamRequest();
+        String status = "ERROR";
+        try {
+            ResponseEntity<UpstreamHolidays> response = restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), UpstreamHolidays.class);
+            status = String.valueOf(response.getStatusCode().value());
+            return response;
+        } catch (HttpStatusCodeException e) {
+            status = String.valueOf(e.getStatusCode().value());
+            throw e;
+        } catch (ResourceAccessException e) {
+            status = "IO_ERROR";
+            throw e;
+        } finally {
+            holidayMetrics.stopUpstreamRequest(sample, country, status);
+        }
+    }
+
+    private record Validated(String etag, String lastModified, CountryYearHolidays holidays) {
+    }
+}
@@ -0,0 +1,63 @@
+package com.publicholidays.holiday_fetcher_api.client;
+
+import com.publicholidays.holiday_fetcher_api.exception.HolidayServiceExceptions;
+import com.publicholidays.holiday_fetcher_api.metrics.HolidayMetrics;
+import com.publicholidays.holiday_fetcher_api.model.CountryYearHolidays;
+import com.publicholidays.holiday_fetcher_api.model.UpstreamHolidays;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+//Non-blocking access point to the Nager.Date public holidays API, used in reactive mode.
+//Errors are mapped like in NagerDateClient: 404 and 400 become service exceptions, other client errors an unknown error,
+//and server errors are left as they are so the circuit breaker counts them.
+@Component
+@ConditionalOnProperty(name = "holidays.service.mode", havingValue = "reactive")
+public class ReactiveNagerDateClient {
+    private final WebClient webClient;
+    private final String publicHolidaysUrl;
+    private final HolidayMetrics holidayMetrics;
+
+    public ReactiveNagerDateClient(WebClient webClient, UpstreamProperties upstreamProperties, HolidayMetrics holidayMetrics) {
+        this.webClient = webClient;
+        this.publicHolidaysUrl = upstreamProperties.getBaseUrl() + "publicholidays/";
+        this.holidayMetrics = holidayMetrics;
+    }
+
+    //Completes empty when the upstream answers with an empty body.
+    public Mono<CountryYearHolidays> fetchHolidays(String country, int year) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = holidayMetrics.startUpstreamRequest();
+            return webClient.get()
+                    .uri(publicHolidaysUrl + year + "/" + country)
+                    .retrieve()
+                    .bodyToMono(UpstreamHolidays.class)
+                    .doOnSuccess(response -> holidayMetrics.stopUpstreamRequest(sample, country, "200"))
+                    .doOnError(error -> holidayMetrics.stopUpstreamRequest(sample, country, status(error)))
+                    .map(response -> holidayMetrics.computation("ingest", () -> CountryYearHolidays.fromUpstream(year, response)))
+                    .onErrorMap(WebClientResponseException.class, ReactiveNagerDateClient::toServiceException);
+        });
+    }
+
+    private static Throwable toServiceException(WebClientResponseException e) {
+        if (e.getStatusCode().value() == 404) {
+            return new HolidayServiceExceptions.HolidayNotFoundException("No holidays found for the given country and year.");
+        } else if (e.getStatusCode().value() == 400) {
+            return new HolidayServiceExceptions.BadRequestException("Invalid request. Please insert valid data input.");
+        } else if (e.getStatusCode().is4xxClientError()) {
+            return new HolidayServiceExceptions.UnknownErrorException("An unexpected error occurred while retrieving holidays.");
+        }
+        return e;
+    }
+
+    private static String status(Throwable error) {
+        if (error instanceof WebClientResponseException e) {
+            return String.valueOf(e.getStatusCode().value());
+        }
+        return error instanceof WebClientRequestException ? "IO_ERROR" : "ERROR";
+    }
+}
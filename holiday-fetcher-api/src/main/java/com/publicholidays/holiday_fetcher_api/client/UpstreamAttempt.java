@@ -0,0 +1,57 @@
+package com.publicholidays.holiday_fetcher_api.client;
+
+import org.apache.hc.core5.concurrent.Cancellable;
+
+import java.util.function.Supplier;
+
+//One attempt at an upstream request that another thread can abort: the request factory attaches the HTTP request the
+//attempt sends, and cancel() aborts it, so a thread blocked reading the response fails at once and frees its connection.
+public final class UpstreamAttempt {
+
+    private static final ThreadLocal<UpstreamAttempt> CURRENT = new ThreadLocal<>();
+
+    private Cancellable request;
+    private boolean cancelled;
+
+    //Runs the work as this attempt: the upstream requests it sends can be aborted by cancel().
+    public <T> T run(Supplier<T> work) {
+        UpstreamAttempt previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return work.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    public synchronized void cancel() {
+        cancelled = true;
+        if (request != null) {
+            request.cancel();
+        }
+    }
+
+    public synchronized boolean isCancelled() {
+        return cancelled;
+    }
+
+    //Attaches a request about to be sent to the attempt of the calling thread, if any; it is aborted at once when the
+    //attempt was already cancelled.
+    static void attach(Cancellable request) {
+        UpstreamAttempt attempt = CURRENT.get();
+        if (attempt != null) {
+            attempt.setRequest(request);
+        }
+    }
+
+    private synchronized void setRequest(Cancellable request) {
+        this.request = request;
+        if (cancelled) {
+            request.cancel();
+        }
+    }
+}
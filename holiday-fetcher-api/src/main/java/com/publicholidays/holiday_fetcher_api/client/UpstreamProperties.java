@@ -0,0 +1,17 @@
+package com.publicholidays.holiday_fetcher_api.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "holidays.upstream")
+public class UpstreamProperties {
+
+    //Root of the Nager.Date v3 API; pointed at a stub server by the load tests.
+    private String baseUrl = "https://date.nager.at/api/v3/";
+
+    //Number of (country, year) ETag/Last-Modified validators kept for conditional refreshes.
+    private int validatorsMaxEntries = 4096;
+}
@@ -0,0 +1,29 @@
+package com.publicholidays.holiday_fetcher_api.concurrent;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "holidays.async")
+public class AsyncRequestProperties {
+
+    public enum ExecutorType { PLATFORM, VIRTUAL }
+
+    //Threads running the /holidays endpoints once the servlet thread has been released.
+    //Virtual threads need a Java 21 runtime.
+    private ExecutorType executor = ExecutorType.PLATFORM;
+
+    //Size and queue of the platform thread pool; requests beyond both are rejected with a 503.
+    private int maxThreads = 200;
+    private int queueCapacity = 1000;
+
+    //Time a request may take before it is answered with a 503.
+    private Duration timeout = Duration.ofSeconds(15);
+
+    //Time a streamed bulk request may take; its rows keep flowing meanwhile, so it is much longer than the timeout above.
+    private Duration bulkTimeout = Duration.ofMinutes(5);
+}
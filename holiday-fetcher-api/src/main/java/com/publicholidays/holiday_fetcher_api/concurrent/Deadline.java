@@ -0,0 +1,73 @@
+package com.publicholidays.holiday_fetcher_api.concurrent;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+//Point in time by which the work done for a request must be over, on the monotonic clock. The deadline of the work a
+//thread is doing is kept in a thread local: RequestDeadlineInterceptor starts it when a request arrives,
+//DeadlineTaskDecorator and ParallelFanOut carry it to the threads working for the request, and upstream fetches
+//stop waiting once it has passed.
+public final class Deadline {
+
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    private final long nanoTime;
+
+    private Deadline(long nanoTime) {
+        this.nanoTime = nanoTime;
+    }
+
+    public static Deadline after(Duration timeout) {
+        return new Deadline(System.nanoTime() + timeout.toNanos());
+    }
+
+    //The deadline of the work of the calling thread, or null when it has none.
+    public static Deadline current() {
+        return CURRENT.get();
+    }
+
+    //The earlier of two deadlines, either of which may be null.
+    public static Deadline earliest(Deadline a, Deadline b) {
+        if (a == null || b == null) {
+            return a != null ? a : b;
+        }
+        return a.nanoTime - b.nanoTime <= 0 ? a : b;
+    }
+
+    //Runs the work with the deadline as the current one, restoring the previous one afterwards.
+    public static <T> T callWith(Deadline deadline, Supplier<T> work) {
+        Deadline previous = CURRENT.get();
+        set(deadline);
+        try {
+            return work.get();
+        } finally {
+            set(previous);
+        }
+    }
+
+    static void set(Deadline deadline) {
+        if (deadline != null) {
+            CURRENT.set(deadline);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    //Time left, zero once the deadline has passed.
+    public long remainingNanos() {
+        return Math.max(nanoTime - System.nanoTime(), 0);
+    }
+
+    public Duration remaining() {
+        return Duration.ofNanos(remainingNanos());
+    }
+
+    public boolean isExpired() {
+        return nanoTime - System.nanoTime() <= 0;
+    }
+
+    @Override
+    public String toString() {
+        return "Deadline[in " + remaining().toMillis() + " ms]";
+    }
+}
@@ -0,0 +1,17 @@
+package com.publicholidays.holiday_fetcher_api.concurrent;
+
+import org.springframework.core.task.TaskDecorator;
+
+//Carries the deadline of the submitting thread over to the thread running the task, like MdcTaskDecorator does for the
+//logging context, so the upstream fetches of an async request are bounded by the request's deadline.
+public class DeadlineTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        Deadline deadline = Deadline.current();
+        return () -> Deadline.callWith(deadline, () -> {
+            runnable.run();
+            return null;
+        });
+    }
+}
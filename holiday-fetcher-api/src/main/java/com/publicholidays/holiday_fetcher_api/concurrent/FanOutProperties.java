@@ -0,0 +1,26 @@
+package com.publicholidays.holiday_fetcher_api.concurrent;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "holidays.fan-out")
+public class FanOutProperties {
+
+    //Maximum number of per-country fetches running at the same time across all requests.
+    private int maxParallelism = 16;
+
+    //Time budget of a whole multi-country request.
+    private Duration deadline = Duration.ofSeconds(10);
+
+    //Threads of the pool shared by all bulk requests. Bulk fetches never run on the fan-out pool, so streams in progress
+    //cannot hold up multi-country requests, and at most this many upstream calls are made for bulk at the same time.
+    private int bulkMaxParallelism = 8;
+
+    //Fetches in flight for a single bulk request, so that concurrent bulk requests take turns in the bulk pool.
+    private int bulkParallelism = 4;
+}
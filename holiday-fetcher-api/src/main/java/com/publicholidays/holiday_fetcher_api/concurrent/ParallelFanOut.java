@@ -0,0 +1,115 @@
+package com.publicholidays.holiday_fetcher_api.concurrent;
+
+import com.publicholidays.holiday_fetcher_api.exception.HolidayServiceExceptions;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+//Runs one task per input on a dedicated executor and collects the results in input order within a deadline: the
+//fan-out deadline, or the deadline of the calling request when that is earlier. Tasks run with that deadline as theirs.
+//Bulk streams run on an executor of their own, so they cannot take the fan-out pool from interactive requests.
+@Component
+public class ParallelFanOut {
+    private final Executor executor;
+    private final Executor bulkExecutor;
+    private final FanOutProperties properties;
+
+    public ParallelFanOut(@Qualifier("fanOutExecutor") Executor executor, @Qualifier("bulkFanOutExecutor") Executor bulkExecutor,
+                          FanOutProperties properties) {
+        this.executor = executor;
+        this.bulkExecutor = bulkExecutor;
+        this.properties = properties;
+    }
+
+    //Errors keep the sequential semantics: the failure of the first failing input, in input order, is rethrown.
+    public <T, R> List<R> map(List<T> inputs, Function<T, R> task) {
+        if (inputs.size() <= 1) {
+            return inputs.stream().map(task).collect(Collectors.toList());
+        }
+        Deadline deadline = Deadline.earliest(Deadline.current(), Deadline.after(properties.getDeadline()));
+        List<CompletableFuture<R>> futures = inputs.stream()
+                .map(input -> CompletableFuture.supplyAsync(() -> Deadline.callWith(deadline, () -> task.apply(input)), executor))
+                .collect(Collectors.toList());
+
+        List<R> results = new ArrayList<>(inputs.size());
+        try {
+            for (CompletableFuture<R> future : futures) {
+                results.add(future.get(deadline.remainingNanos(), TimeUnit.NANOSECONDS));
+            }
+            return results;
+        } catch (ExecutionException e) {
+            cancelAll(futures);
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new HolidayServiceExceptions.UnknownErrorException("An unexpected error occurred while retrieving holidays.");
+        } catch (TimeoutException e) {
+            cancelAll(futures);
+            throw new HolidayServiceExceptions.UnknownErrorException("Timed out while retrieving holidays for the requested countries.");
+        } catch (InterruptedException e) {
+            cancelAll(futures);
+            Thread.currentThread().interrupt();
+            throw new HolidayServiceExceptions.UnknownErrorException("Interrupted while retrieving holidays for the requested countries.");
+        }
+    }
+
+    //Hands each result to the consumer on the calling thread as soon as it is ready, in completion order, with at most
+    //bulkParallelism tasks running on the bulk executor: only the in-flight results are ever held, however many inputs
+    //there are.
+    //There is no overall deadline. A failing task or consumer cancels the tasks still in flight and its exception is rethrown.
+    public <T, R> void forEachCompleted(List<T> inputs, Function<T, R> task, Consumer<R> consumer) {
+        int maxInFlight = properties.getBulkParallelism();
+        CompletionService<R> completionService = new ExecutorCompletionService<>(bulkExecutor);
+        Set<Future<R>> inFlight = new HashSet<>();
+        Iterator<T> pending = inputs.iterator();
+        try {
+            while (inFlight.size() < maxInFlight && pending.hasNext()) {
+                T input = pending.next();
+                inFlight.add(completionService.submit(() -> task.apply(input)));
+            }
+            while (!inFlight.isEmpty()) {
+                Future<R> completed = completionService.take();
+                inFlight.remove(completed);
+                consumer.accept(completed.get());
+                if (pending.hasNext()) {
+                    T input = pending.next();
+                    inFlight.add(completionService.submit(() -> task.apply(input)));
+                }
+            }
+        } catch (ExecutionException e) {
+            inFlight.forEach(future -> future.cancel(false));
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new HolidayServiceExceptions.UnknownErrorException("An unexpected error occurred while retrieving holidays.");
+        } catch (InterruptedException e) {
+            inFlight.forEach(future -> future.cancel(false));
+            Thread.currentThread().interrupt();
+            throw new HolidayServiceExceptions.UnknownErrorException("Interrupted while retrieving holidays for the requested countries.");
+        } catch (RuntimeException e) {
+            inFlight.forEach(future -> future.cancel(false));
+            throw e;
+        }
+    }
+
+    //Queued tasks of a cancelled future are skipped, so a failed or expired request stops consuming the pool.
+    private static void cancelAll(List<? extends CompletableFuture<?>> futures) {
+        futures.forEach(future -> future.cancel(false));
+    }
+}
@@ -0,0 +1,40 @@
+package com.publicholidays.holiday_fetcher_api.concurrent;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+//Starts the deadline of a request when it arrives: holidays.async.timeout later, when it would be answered with a 503
+//anyway. The deadline is kept in a request attribute, so the dispatch that writes an async result sees the same one,
+//and is the current deadline of the servlet thread while it runs the handler.
+public class RequestDeadlineInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String ATTRIBUTE = RequestDeadlineInterceptor.class.getName() + ".deadline";
+
+    private final AsyncRequestProperties properties;
+
+    public RequestDeadlineInterceptor(AsyncRequestProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Deadline deadline = (Deadline) request.getAttribute(ATTRIBUTE);
+        if (deadline == null) {
+            deadline = Deadline.after(properties.getTimeout());
+            request.setAttribute(ATTRIBUTE, deadline);
+        }
+        Deadline.set(deadline);
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Deadline.set(null);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Deadline.set(null);
+    }
+}
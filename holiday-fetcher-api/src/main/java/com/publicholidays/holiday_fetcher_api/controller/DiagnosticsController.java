@@ -0,0 +1,50 @@
+package com.publicholidays.holiday_fetcher_api.controller;
+
+import com.publicholidays.holiday_fetcher_api.cache.CacheEntryAge;
+import com.publicholidays.holiday_fetcher_api.cache.CacheStats;
+import com.publicholidays.holiday_fetcher_api.cache.HolidayCache;
+import com.publicholidays.holiday_fetcher_api.client.HttpPoolStats;
+import com.publicholidays.holiday_fetcher_api.warmup.HolidayWarmup;
+import com.publicholidays.holiday_fetcher_api.warmup.WarmupProgress;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+//Read-only operational endpoints exposing the internal state of the service.
+@RestController
+@RequestMapping("/diagnostics")
+public class DiagnosticsController {
+    private final HolidayCache holidayCache;
+    private final PoolingHttpClientConnectionManager httpConnectionManager;
+    private final HolidayWarmup holidayWarmup;
+
+    public DiagnosticsController(HolidayCache holidayCache, PoolingHttpClientConnectionManager httpConnectionManager,
+                                 HolidayWarmup holidayWarmup) {
+        this.holidayCache = holidayCache;
+        this.httpConnectionManager = httpConnectionManager;
+        this.holidayWarmup = holidayWarmup;
+    }
+
+    @GetMapping("/cache")
+    public CacheStats getCacheStats() {
+        return holidayCache.stats();
+    }
+
+    @GetMapping("/cache/entries")
+    public List<CacheEntryAge> getCacheEntryAges() {
+        return holidayCache.entryAges();
+    }
+
+    @GetMapping("/http-pool")
+    public HttpPoolStats getHttpPoolStats() {
+        return HttpPoolStats.from(httpConnectionManager.getTotalStats());
+    }
+
+    @GetMapping("/warmup")
+    public WarmupProgress getWarmupProgress() {
+        return holidayWarmup.progress();
+    }
+}
@@ -0,0 +1,71 @@
+package com.publicholidays.holiday_fetcher_api.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.publicholidays.holiday_fetcher_api.concurrent.AsyncRequestProperties;
+import com.publicholidays.holiday_fetcher_api.model.CountryCodes;
+import com.publicholidays.holiday_fetcher_api.service.CountryYearRows;
+import com.publicholidays.holiday_fetcher_api.service.HolidayFetcherService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+//Holidays of many countries over a range of years, streamed as NDJSON: one row per (country, year), written and flushed
+//as soon as it is ready, so memory stays flat whatever the size of the request and the first rows arrive early.
+//Without countries, every supported country is returned.
+@RestController
+@RequestMapping("/holidays")
+@ConditionalOnProperty(name = "holidays.service.mode", havingValue = "blocking", matchIfMissing = true)
+public class HolidayBulkController {
+    private final HolidayFetcherService holidayFetcherService;
+    private final ObjectMapper objectMapper;
+    private final AsyncRequestProperties asyncRequestProperties;
+
+    public HolidayBulkController(HolidayFetcherService holidayFetcherService, ObjectMapper objectMapper,
+                                 AsyncRequestProperties asyncRequestProperties) {
+        this.holidayFetcherService = holidayFetcherService;
+        this.objectMapper = objectMapper;
+        this.asyncRequestProperties = asyncRequestProperties;
+    }
+
+    //The request is validated before the response starts, so invalid input still gets the usual error response.
+    @GetMapping(value = "/bulk", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> getHolidays(@RequestParam(required = false) List<String> countries,
+                                                             @RequestParam int fromYear, @RequestParam int toYear,
+                                                             NativeWebRequest request) {
+        CountryYearRows rows = holidayFetcherService.getHolidays(countries != null ? countries : CountryCodes.all(), fromYear, toYear);
+        //The body is written on the async request executor, under the longer bulk timeout.
+        WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest().setTimeout(asyncRequestProperties.getBulkTimeout().toMillis());
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> writeRows(rows, out));
+    }
+
+    private void writeRows(CountryYearRows rows, OutputStream out) throws IOException {
+        try {
+            rows.forEach(row -> {
+                try {
+                    out.write(objectMapper.writeValueAsBytes(row));
+                    out.write('\n');
+                    out.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            //Usually the client going away; the fetches still in flight have been cancelled.
+            throw e.getCause();
+        }
+    }
+}
@@ -1,40 +1,142 @@
 package com.publicholidays.holiday_fetcher_api.controller;
 
+import com.publicholidays.holiday_fetcher_api.cache.CachedResponseBody;
+import com.publicholidays.holiday_fetcher_api.cache.ResponseBodyCache;
+import com.publicholidays.holiday_fetcher_api.cache.ResponseKey;
+import com.publicholidays.holiday_fetcher_api.concurrent.ParallelFanOut;
+import com.publicholidays.holiday_fetcher_api.dto.response.BusinessDateDTO;
+import com.publicholidays.holiday_fetcher_api.dto.response.CountriesOnHolidayDTO;
 import com.publicholidays.holiday_fetcher_api.dto.response.HolidayDTO;
 import com.publicholidays.holiday_fetcher_api.service.HolidayFetcherService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 
+//Endpoints return Callable: the work runs on the async request executor (holidays.async), which releases the Tomcat
+//thread during upstream calls and answers with a 503 after the configured timeout.
+//The /last and /common bodies are written from the response body cache (holidays.response-cache), with the ETag kept
+//alongside them and the Cache-Control of holidays.http-cache; a matching If-None-Match is answered with 304 by Spring's
+//ResponseEntity handling, and the ETag filter passes bodies that already have an ETag through without copying them.
 @RestController
 @RequestMapping("/holidays")
+@ConditionalOnProperty(name = "holidays.service.mode", havingValue = "blocking", matchIfMissing = true)
 public class HolidayFetcherController {
     @Autowired
     private final HolidayFetcherService holidayFetcherService;
+    private final ParallelFanOut parallelFanOut;
+    private final ResponseBodyCache responseBodyCache;
+    //Null when HTTP caching is disabled: cached bodies are then sent without validators.
+    private final CacheControl cacheControl;
 
-    public HolidayFetcherController(HolidayFetcherService holidayFetcherService) {
+    public HolidayFetcherController(HolidayFetcherService holidayFetcherService, ParallelFanOut parallelFanOut,
+                                    ResponseBodyCache responseBodyCache, HttpCacheProperties httpCacheProperties) {
         this.holidayFetcherService = holidayFetcherService;
+        this.parallelFanOut = parallelFanOut;
+        this.responseBodyCache = responseBodyCache;
+        this.cacheControl = httpCacheProperties.isEnabled()
+                ? CacheControl.maxAge(httpCacheProperties.getMaxAge().toSeconds(), TimeUnit.SECONDS).cachePublic()
+                : null;
     }
 
     @GetMapping("/last")
-    public List<HolidayDTO> getLastThreeCelebratedHolidays(@RequestParam String country, @RequestParam int year) {
-        return holidayFetcherService.getLastThreeCelebratedHolidays(country, year);
+    public Callable<ResponseEntity<byte[]>> getLastThreeCelebratedHolidays(@RequestParam String country, @RequestParam int year,
+                                                                           @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return () -> cachedJson(ResponseKey.last(country, year, LocalDate.now().toEpochDay()),
+                () -> holidayFetcherService.getLastThreeCelebratedHolidays(country, year), acceptEncoding);
     }
 
     @GetMapping("/non-weekends")
-    public List<Integer> getNumberOfHolidaysNotOnWeekends(@RequestParam int year, @RequestParam List<String> countries) {
-            return countries.stream()
-                    .map(country -> holidayFetcherService.getNumberOfHolidaysNotOnWeekends(country, year))
+    public Callable<List<Integer>> getNumberOfHolidaysNotOnWeekends(@RequestParam int year, @RequestParam List<String> countries) {
+            //Countries are fetched concurrently, so the request costs about as much as the slowest single fetch.
+            return () -> parallelFanOut.map(countries, country -> holidayFetcherService.getNumberOfHolidaysNotOnWeekends(country, year))
+                    .stream()
                     .sorted((a, b) -> b - a)
                     .collect(Collectors.toList());
 
     }
 
     @GetMapping("/common")
-    public List<HolidayDTO> getCommonHolidays(@RequestParam int year, @RequestParam String country1, @RequestParam String country2) {
-        return holidayFetcherService.getHolidaysInCommon(country1, country2, year);
+    public Callable<ResponseEntity<byte[]>> getCommonHolidays(@RequestParam int year, @RequestParam String country1, @RequestParam String country2,
+                                                              @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return () -> cachedJson(ResponseKey.common(List.of(country1, country2), year),
+                () -> holidayFetcherService.getHolidaysInCommon(country1, country2, year), acceptEncoding);
+    }
+
+    @GetMapping(value = "/common", params = "countries")
+    public Callable<ResponseEntity<byte[]>> getCommonHolidaysOfCountries(@RequestParam int year, @RequestParam List<String> countries,
+                                                                         @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return () -> cachedJson(ResponseKey.common(countries, year),
+                () -> holidayFetcherService.getHolidaysInCommon(countries, year), acceptEncoding);
+    }
+
+    @GetMapping(value = "/countries", params = "date")
+    public Callable<CountriesOnHolidayDTO> getCountriesOnHoliday(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return () -> holidayFetcherService.getCountriesOnHoliday(date);
+    }
+
+    @GetMapping(value = "/countries", params = {"from", "to"})
+    public Callable<List<CountriesOnHolidayDTO>> getCountriesOnHolidayBetween(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                                              @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return () -> holidayFetcherService.getCountriesOnHoliday(from, to);
+    }
+
+    @GetMapping("/business-days")
+    public Callable<Integer> getNumberOfBusinessDays(@RequestParam String country,
+                                                     @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                     @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return () -> holidayFetcherService.getNumberOfBusinessDays(country, from, to);
+    }
+
+    @GetMapping("/business-days/add")
+    public Callable<BusinessDateDTO> addBusinessDays(@RequestParam String country,
+                                                     @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+                                                     @RequestParam int days) {
+        return () -> new BusinessDateDTO(country, holidayFetcherService.addBusinessDays(country, date, days).toString());
+    }
+
+    //Writes the cached bytes as they are; only a miss builds the DTOs and runs Jackson.
+    private ResponseEntity<byte[]> cachedJson(ResponseKey key, Supplier<?> body, String acceptEncoding) {
+        CachedResponseBody cached = responseBodyCache.get(key, body);
+        if (cached == null) {
+            return ResponseEntity.ok().build();
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON);
+        if (cached.gzip() != null) {
+            response.varyBy(HttpHeaders.ACCEPT_ENCODING);
+            if (acceptsGzip(acceptEncoding)) {
+                return validated(response, cached.gzipEtag()).header(HttpHeaders.CONTENT_ENCODING, "gzip").body(cached.gzip());
+            }
+        }
+        return validated(response, cached.jsonEtag()).body(cached.json());
+    }
+
+    private ResponseEntity.BodyBuilder validated(ResponseEntity.BodyBuilder response, String etag) {
+        return cacheControl != null ? response.eTag(etag).cacheControl(cacheControl) : response;
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
     }
 }
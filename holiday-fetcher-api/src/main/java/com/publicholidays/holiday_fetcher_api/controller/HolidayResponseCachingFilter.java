@@ -0,0 +1,35 @@
+package com.publicholidays.holiday_fetcher_api.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+//Strong ETags computed from the response body, 304 answers to a matching If-None-Match, and a public Cache-Control,
+//so clients and CDNs keep reusing identical holiday lists. Only successful GET responses get the headers; errors are
+//never marked cacheable. Works across the async dispatch of the /holidays endpoints. Responses whose handler already set
+//an ETag (the cached /last and /common bodies) are written straight through, neither copied nor hashed here.
+public class HolidayResponseCachingFilter extends ShallowEtagHeaderFilter {
+    private final String cacheControl;
+
+    public HolidayResponseCachingFilter(HttpCacheProperties httpCacheProperties) {
+        this.cacheControl = CacheControl.maxAge(httpCacheProperties.getMaxAge().toSeconds(), TimeUnit.SECONDS)
+                .cachePublic()
+                .getHeaderValue();
+    }
+
+    @Override
+    protected boolean isEligibleForEtag(HttpServletRequest request, HttpServletResponse response,
+                                        int responseStatusCode, InputStream inputStream) {
+        boolean eligible = super.isEligibleForEtag(request, response, responseStatusCode, inputStream);
+        //Set here, before the ETag comparison, so a 304 carries the same Cache-Control as the full response.
+        if (eligible && response.getHeader(HttpHeaders.CACHE_CONTROL) == null) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        }
+        return eligible;
+    }
+}
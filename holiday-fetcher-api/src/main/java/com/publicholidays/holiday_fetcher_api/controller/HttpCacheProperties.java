@@ -0,0 +1,19 @@
+package com.publicholidays.holiday_fetcher_api.controller;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "holidays.http-cache")
+public class HttpCacheProperties {
+
+    //ETag, If-None-Match and Cache-Control handling of the /holidays responses.
+    private boolean enabled = true;
+
+    //How long clients and shared caches may reuse a response without revalidating it.
+    private Duration maxAge = Duration.ofHours(1);
+}
@@ -0,0 +1,72 @@
+package com.publicholidays.holiday_fetcher_api.controller;
+
+import com.publicholidays.holiday_fetcher_api.dto.response.BusinessDateDTO;
+import com.publicholidays.holiday_fetcher_api.dto.response.CountriesOnHolidayDTO;
+import com.publicholidays.holiday_fetcher_api.dto.response.HolidayDTO;
+import com.publicholidays.holiday_fetcher_api.service.ReactiveHolidayFetcherService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.List;
+
+//Same endpoints as HolidayFetcherController for the reactive mode. Returning Mono releases the request thread
+//while the upstream is being called; the response is written when the Mono completes.
+@RestController
+@RequestMapping("/holidays")
+@ConditionalOnProperty(name = "holidays.service.mode", havingValue = "reactive")
+public class ReactiveHolidayFetcherController {
+    private final ReactiveHolidayFetcherService holidayFetcherService;
+
+    public ReactiveHolidayFetcherController(ReactiveHolidayFetcherService holidayFetcherService) {
+        this.holidayFetcherService = holidayFetcherService;
+    }
+
+    @GetMapping("/last")
+    public Mono<List<HolidayDTO>> getLastThreeCelebratedHolidays(@RequestParam String country, @RequestParam int year) {
+        return holidayFetcherService.getLastThreeCelebratedHolidays(country, year);
+    }
+
+    @GetMapping("/non-weekends")
+    public Mono<List<Integer>> getNumberOfHolidaysNotOnWeekends(@RequestParam int year, @RequestParam List<String> countries) {
+        return holidayFetcherService.getNumberOfHolidaysNotOnWeekends(countries, year);
+    }
+
+    @GetMapping("/common")
+    public Mono<List<HolidayDTO>> getCommonHolidays(@RequestParam int year, @RequestParam String country1, @RequestParam String country2) {
+        return holidayFetcherService.getHolidaysInCommon(country1, country2, year);
+    }
+
+    @GetMapping(value = "/common", params = "countries")
+    public Mono<List<HolidayDTO>> getCommonHolidaysOfCountries(@RequestParam int year, @RequestParam List<String> countries) {
+        return holidayFetcherService.getHolidaysInCommon(countries, year);
+    }
+
+    @GetMapping(value = "/countries", params = "date")
+    public Mono<CountriesOnHolidayDTO> getCountriesOnHoliday(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return holidayFetcherService.getCountriesOnHoliday(date);
+    }
+
+    @GetMapping(value = "/countries", params = {"from", "to"})
+    public Mono<List<CountriesOnHolidayDTO>> getCountriesOnHolidayBetween(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                                          @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return holidayFetcherService.getCountriesOnHoliday(from, to);
+    }
+
+    @GetMapping("/business-days")
+    public Mono<Integer> getNumberOfBusinessDays(@RequestParam String country,
+                                                 @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                 @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return holidayFetcherService.getNumberOfBusinessDays(country, from, to);
+    }
+
+    @GetMapping("/business-days/add")
+    public Mono<BusinessDateDTO> addBusinessDays(@RequestParam String country,
+                                                 @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+                                                 @RequestParam int days) {
+        return holidayFetcherService.addBusinessDays(country, date, days)
+                .map(result -> new BusinessDateDTO(country, result.toString()));
+    }
+}
@@ -0,0 +1,20 @@
+package com.publicholidays.holiday_fetcher_api.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class BusinessDateDTO {
+
+    @JsonProperty
+    private String country;
+    @JsonProperty
+    private String date;
+
+    public BusinessDateDTO(String country, String date) {
+        this.country = country;
+        this.date = date;
+    }
+}
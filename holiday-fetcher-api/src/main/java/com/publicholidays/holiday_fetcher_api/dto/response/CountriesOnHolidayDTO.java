@@ -0,0 +1,22 @@
+package com.publicholidays.holiday_fetcher_api.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+public class CountriesOnHolidayDTO {
+
+    @JsonProperty
+    private String date;
+    @JsonProperty
+    private List<String> countries;
+
+    public CountriesOnHolidayDTO(String date, List<String> countries) {
+        this.date = date;
+        this.countries = countries;
+    }
+}
@@ -0,0 +1,31 @@
+package com.publicholidays.holiday_fetcher_api.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+//One row of a bulk request: the holidays of a country in a year, or the reason they could not be retrieved.
+@Getter
+@Setter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CountryYearHolidaysDTO {
+
+    @JsonProperty
+    private String country;
+    @JsonProperty
+    private int year;
+    @JsonProperty
+    private List<HolidayDTO> holidays;
+    @JsonProperty
+    private String error;
+
+    public CountryYearHolidaysDTO(String country, int year, List<HolidayDTO> holidays, String error) {
+        this.country = country;
+        this.year = year;
+        this.holidays = holidays;
+        this.error = error;
+    }
+}
@@ -0,0 +1,72 @@
+package com.publicholidays.holiday_fetcher_api.exception;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+//Error response serialized once per status and message; rendering a response only writes the timestamp between the
+//two halves: {"status":400,"error":"Bad Request","message":"...","timestamp":"2024-01-01T12:00:00.000"}
+final class ErrorResponseBody {
+
+    //yyyy-MM-ddTHH:mm:ss.SSS, as ISO_LOCAL_DATE_TIME writes it for four-digit years.
+    private static final int TIMESTAMP_LENGTH = 23;
+
+    private final byte[] prefix;
+    private final byte[] suffix;
+
+    private ErrorResponseBody(byte[] prefix, byte[] suffix) {
+        this.prefix = prefix;
+        this.suffix = suffix;
+    }
+
+    static ErrorResponseBody of(HttpStatus status, String message) {
+        JsonStringEncoder encoder = JsonStringEncoder.getInstance();
+        String prefix = "{\"status\":" + status.value()
+                + ",\"error\":\"" + new String(encoder.quoteAsString(status.getReasonPhrase()))
+                + "\",\"message\":" + (message != null ? "\"" + new String(encoder.quoteAsString(message)) + "\"" : "null")
+                + ",\"timestamp\":\"";
+        return new ErrorResponseBody(prefix.getBytes(StandardCharsets.UTF_8), "\"}".getBytes(StandardCharsets.UTF_8));
+    }
+
+    byte[] render(LocalDateTime timestamp) {
+        if (timestamp.getYear() < 1000 || timestamp.getYear() > 9999) {
+            return render(timestamp.toString().getBytes(StandardCharsets.US_ASCII));
+        }
+        byte[] body = new byte[prefix.length + TIMESTAMP_LENGTH + suffix.length];
+        System.arraycopy(prefix, 0, body, 0, prefix.length);
+        int at = prefix.length;
+        at = digits(body, at, timestamp.getYear(), 4);
+        body[at++] = '-';
+        at = digits(body, at, timestamp.getMonthValue(), 2);
+        body[at++] = '-';
+        at = digits(body, at, timestamp.getDayOfMonth(), 2);
+        body[at++] = 'T';
+        at = digits(body, at, timestamp.getHour(), 2);
+        body[at++] = ':';
+        at = digits(body, at, timestamp.getMinute(), 2);
+        body[at++] = ':';
+        at = digits(body, at, timestamp.getSecond(), 2);
+        body[at++] = '.';
+        at = digits(body, at, timestamp.getNano() / 1_000_000, 3);
+        System.arraycopy(suffix, 0, body, at, suffix.length);
+        return body;
+    }
+
+    private byte[] render(byte[] timestamp) {
+        byte[] body = new byte[prefix.length + timestamp.length + suffix.length];
+        System.arraycopy(prefix, 0, body, 0, prefix.length);
+        System.arraycopy(timestamp, 0, body, prefix.length, timestamp.length);
+        System.arraycopy(suffix, 0, body, prefix.length + timestamp.length, suffix.length);
+        return body;
+    }
+
+    private static int digits(byte[] body, int at, int value, int width) {
+        for (int i = at + width - 1; i >= at; i--) {
+            body[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        return at + width;
+    }
+}
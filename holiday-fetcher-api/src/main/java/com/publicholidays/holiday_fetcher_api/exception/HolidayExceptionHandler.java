@@ -1,37 +1,86 @@
 package com.publicholidays.holiday_fetcher_api.exception;
 
+import com.publicholidays.holiday_fetcher_api.metrics.HolidayMetrics;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
 
 import java.time.LocalDateTime;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+//Error responses are written from pre-serialized bodies (see ErrorResponseBody), so a flood of invalid requests costs
+//a byte copy each instead of a map, a JSON serialization and, with stackless exceptions, a stack walk.
+//Only fixed messages are kept: a message carrying request values (such as the year) is serialized for its response.
 @ControllerAdvice
 public class HolidayExceptionHandler {
+    private static final ErrorResponseBody TIMED_OUT =
+            ErrorResponseBody.of(HttpStatus.SERVICE_UNAVAILABLE, "The request timed out, please retry later.");
+    private static final ErrorResponseBody REJECTED =
+            ErrorResponseBody.of(HttpStatus.SERVICE_UNAVAILABLE, "Too many requests, please retry later.");
+
+    private final HolidayMetrics holidayMetrics;
+    //Bodies of fixed messages by status and message; these come from constants, so the map stays small.
+    private final Map<HttpStatus, Map<String, ErrorResponseBody>> bodies = new ConcurrentHashMap<>();
+
+    public HolidayExceptionHandler(HolidayMetrics holidayMetrics) {
+        this.holidayMetrics = holidayMetrics;
+    }
 
     @ExceptionHandler(HolidayServiceExceptions.HolidayNotFoundException.class)
-    public ResponseEntity<Map<String, Object>> handleHolidayNotFoundException(HolidayServiceExceptions.HolidayNotFoundException e) {
-        return buildErrorResponse(e.getMessage(), HttpStatus.NOT_FOUND);    }
+    public ResponseEntity<byte[]> handleHolidayNotFoundException(HolidayServiceExceptions.HolidayNotFoundException e) {
+        holidayMetrics.errorHandled(e.getClass());
+        return buildErrorResponse(e, HttpStatus.NOT_FOUND);    }
 
     @ExceptionHandler(HolidayServiceExceptions.BadRequestException.class)
-    public ResponseEntity<Map<String, Object>> handleBadRequestException(HolidayServiceExceptions.BadRequestException e) {
-        return buildErrorResponse(e.getMessage(), HttpStatus.BAD_REQUEST);
+    public ResponseEntity<byte[]> handleBadRequestException(HolidayServiceExceptions.BadRequestException e) {
+        holidayMetrics.errorHandled(e.getClass());
+        return buildErrorResponse(e, HttpStatus.BAD_REQUEST);
     }
 
     @ExceptionHandler(HolidayServiceExceptions.UnknownErrorException.class)
-    public ResponseEntity<Map<String, Object>> handleUnknownErrorException(HolidayServiceExceptions.UnknownErrorException e) {
-        return buildErrorResponse(e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+    public ResponseEntity<byte[]> handleUnknownErrorException(HolidayServiceExceptions.UnknownErrorException e) {
+        holidayMetrics.errorHandled(e.getClass());
+        return buildErrorResponse(e, HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+
+    //An async request ran past holidays.async.timeout.
+    @ExceptionHandler(AsyncRequestTimeoutException.class)
+    public ResponseEntity<byte[]> handleAsyncRequestTimeoutException(AsyncRequestTimeoutException e) {
+        holidayMetrics.errorHandled(e.getClass());
+        return buildErrorResponse(TIMED_OUT, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    //The async request executor is saturated.
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<byte[]> handleTaskRejectedException(TaskRejectedException e) {
+        holidayMetrics.errorHandled(e.getClass());
+        return buildErrorResponse(REJECTED, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    private ResponseEntity<byte[]> buildErrorResponse(HolidayServiceExceptions e, HttpStatus status) {
+        return buildErrorResponse(errorResponseBody(e, status), status);
+    }
+
+    private ResponseEntity<byte[]> buildErrorResponse(ErrorResponseBody body, HttpStatus status) {
+        return ResponseEntity.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body.render(LocalDateTime.now()));
+    }
+
+    int cachedBodyCount() {
+        return bodies.values().stream().mapToInt(Map::size).sum();
     }
 
-    private ResponseEntity<Map<String, Object>> buildErrorResponse(String message, HttpStatus status) {
-        Map<String, Object> errorResponse = new HashMap<>();
-        errorResponse.put("timestamp", LocalDateTime.now());
-        errorResponse.put("status", status.value());
-        errorResponse.put("error", status.getReasonPhrase());
-        errorResponse.put("message", message);
-        return new ResponseEntity<>(errorResponse, status);
+    private ErrorResponseBody errorResponseBody(HolidayServiceExceptions e, HttpStatus status) {
+        if (!e.isFixedMessage() || e.getMessage() == null) {
+            return ErrorResponseBody.of(status, e.getMessage());
+        }
+        return bodies.computeIfAbsent(status, ignored -> new ConcurrentHashMap<>())
+                .computeIfAbsent(e.getMessage(), message -> ErrorResponseBody.of(status, message));
     }
 }
\ No newline at end of file
@@ -5,21 +5,46 @@ import lombok.Getter;
 @Getter
 public class HolidayServiceExceptions extends RuntimeException {
     private final HolidayServiceErrorType holidayServiceErrorType;
+    //Set when the message never carries request values, so the error body for it can be serialized once and reused.
+    private final boolean fixedMessage;
 
     public HolidayServiceExceptions(String message, HolidayServiceErrorType holidayServiceErrorType) {
         super(message);
         this.holidayServiceErrorType = holidayServiceErrorType;
+        this.fixedMessage = false;
+    }
+
+    //Expected client errors skip the stack trace and suppression: filling in the stack is most of the cost of a
+    //throw, and these are answered with a message only. Without mutable state, one instance can be thrown repeatedly.
+    protected HolidayServiceExceptions(String message, HolidayServiceErrorType holidayServiceErrorType, boolean stackless) {
+        this(message, holidayServiceErrorType, stackless, false);
+    }
+
+    protected HolidayServiceExceptions(String message, HolidayServiceErrorType holidayServiceErrorType, boolean stackless,
+                                       boolean fixedMessage) {
+        super(message, null, !stackless, !stackless);
+        this.holidayServiceErrorType = holidayServiceErrorType;
+        this.fixedMessage = fixedMessage;
     }
 
     public static class HolidayNotFoundException extends HolidayServiceExceptions {
         public HolidayNotFoundException(String message) {
-            super(message, HolidayServiceErrorType.NOT_FOUND);
+            super(message, HolidayServiceErrorType.NOT_FOUND, true);
         }
     }
 
     public static class BadRequestException extends HolidayServiceExceptions {
         public BadRequestException(String message) {
-            super(message, HolidayServiceErrorType.BAD_REQUEST);
+            super(message, HolidayServiceErrorType.BAD_REQUEST, true);
+        }
+
+        private BadRequestException(String message, boolean fixedMessage) {
+            super(message, HolidayServiceErrorType.BAD_REQUEST, true, fixedMessage);
+        }
+
+        //For an instance shared by every request failing the same way: the message must not carry request values.
+        public static BadRequestException fixed(String message) {
+            return new BadRequestException(message, true);
         }
     }
 
@@ -0,0 +1,114 @@
+package com.publicholidays.holiday_fetcher_api.index;
+
+import com.publicholidays.holiday_fetcher_api.cache.CountryYearKey;
+import com.publicholidays.holiday_fetcher_api.cache.HolidayCache;
+import com.publicholidays.holiday_fetcher_api.cache.HolidayCacheListener;
+import com.publicholidays.holiday_fetcher_api.model.CountryCodes;
+import com.publicholidays.holiday_fetcher_api.model.CountryMask;
+import com.publicholidays.holiday_fetcher_api.model.CountryYearHolidays;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+//Inverted index from each day to the mask of countries having a public holiday on it, built from the cached holidays.
+//It follows the cache through HolidayCacheListener, so answering from it never causes upstream traffic.
+@Component
+public class CountryHolidayIndex implements HolidayCacheListener {
+
+    private final ConcurrentMap<Integer, YearIndex> years = new ConcurrentHashMap<>();
+
+    public CountryHolidayIndex(HolidayCache holidayCache) {
+        holidayCache.addListener(this);
+    }
+
+    @Override
+    public void onPut(CountryYearKey key, CountryYearHolidays holidays) {
+        int ordinal = CountryCodes.ordinal(key.country());
+        if (ordinal >= 0) {
+            yearIndex(key.year()).replace(ordinal, holidays);
+        }
+    }
+
+    @Override
+    public void onRemove(CountryYearKey key) {
+        int ordinal = CountryCodes.ordinal(key.country());
+        YearIndex yearIndex = years.get(key.year());
+        if (ordinal >= 0 && yearIndex != null) {
+            yearIndex.remove(ordinal);
+        }
+    }
+
+    //Records that a country has no holidays upstream for the year, so it is not fetched again to complete the index.
+    public void markCovered(int year, String country) {
+        int ordinal = CountryCodes.ordinal(country);
+        if (ordinal >= 0) {
+            yearIndex(year).markCovered(ordinal);
+        }
+    }
+
+    //Countries whose holidays for the year are present in the index.
+    public CountryMask coverage(int year) {
+        YearIndex yearIndex = years.get(year);
+        return yearIndex != null ? yearIndex.coverage() : CountryMask.EMPTY;
+    }
+
+    public CountryMask countriesOnHoliday(LocalDate date) {
+        YearIndex yearIndex = years.get(date.getYear());
+        return yearIndex != null ? yearIndex.countriesOn(date.getDayOfYear() - 1) : CountryMask.EMPTY;
+    }
+
+    private YearIndex yearIndex(int year) {
+        return years.computeIfAbsent(year, YearIndex::new);
+    }
+
+    //Two words of country mask per day of the year, plus the mask of countries already indexed.
+    private static final class YearIndex {
+        private final int firstEpochDayOfYear;
+        private final long[] days = new long[366 * 2];
+        private CountryMask coverage = CountryMask.EMPTY;
+
+        private YearIndex(int year) {
+            this.firstEpochDayOfYear = (int) LocalDate.ofYearDay(year, 1).toEpochDay();
+        }
+
+        synchronized void replace(int ordinal, CountryYearHolidays holidays) {
+            clear(ordinal);
+            int word = ordinal >>> 6;
+            long bit = 1L << ordinal;
+            for (int i = 0; i < holidays.size(); i++) {
+                int dayOfYear = holidays.epochDay(i) - firstEpochDayOfYear;
+                if (dayOfYear >= 0 && dayOfYear < 366) {
+                    days[dayOfYear * 2 + word] |= bit;
+                }
+            }
+            coverage = coverage.with(ordinal);
+        }
+
+        synchronized void remove(int ordinal) {
+            clear(ordinal);
+            coverage = coverage.andNot(CountryMask.EMPTY.with(ordinal));
+        }
+
+        synchronized void markCovered(int ordinal) {
+            coverage = coverage.with(ordinal);
+        }
+
+        synchronized CountryMask coverage() {
+            return coverage;
+        }
+
+        synchronized CountryMask countriesOn(int dayOfYear) {
+            return new CountryMask(days[dayOfYear * 2], days[dayOfYear * 2 + 1]);
+        }
+
+        private void clear(int ordinal) {
+            int word = ordinal >>> 6;
+            long mask = ~(1L << ordinal);
+            for (int dayOfYear = 0; dayOfYear < 366; dayOfYear++) {
+                days[dayOfYear * 2 + word] &= mask;
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.publicholidays.holiday_fetcher_api.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+//Lookup of the holidays of a country in a year in the holiday cache, including the upstream fetch on a miss.
+@Name("com.publicholidays.CacheLookup")
+@Label("Holiday Cache Lookup")
+@Category({"Holiday Fetcher API", "Cache"})
+@StackTrace(false)
+public class CacheLookupEvent extends jdk.jfr.Event {
+
+    @Label("Country")
+    public String country;
+
+    @Label("Year")
+    public int year;
+
+    @Label("Loaded")
+    @Description("Whether this lookup ran the upstream fetch; false for hits and for lookups joining a fetch in flight")
+    public boolean loaded;
+}
@@ -0,0 +1,19 @@
+package com.publicholidays.holiday_fetcher_api.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+//CPU-bound stage of a service method (ingest, filtering, sorting, intersections), as timed by holidays.computation.
+@Name("com.publicholidays.Computation")
+@Label("Computation")
+@Category({"Holiday Fetcher API", "Computation"})
+@StackTrace(false)
+public class ComputationEvent extends jdk.jfr.Event {
+
+    @Label("Stage")
+    @Description("Same stage name as the holidays.computation timer tag")
+    public String stage;
+}
@@ -0,0 +1,90 @@
+package com.publicholidays.holiday_fetcher_api.jfr;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.text.ParseException;
+
+//In-process continuous recording with the bundled profile, for deployments where the JVM flags cannot be changed.
+//A recording that cannot be started or dumped is logged and otherwise ignored.
+@Component
+public class HolidayFlightRecorder implements ApplicationRunner {
+    private static final Logger log = LoggerFactory.getLogger(HolidayFlightRecorder.class);
+
+    public static final String PROFILE = "jfr/holidays.jfc";
+
+    private final JfrProperties properties;
+    private Recording recording;
+
+    public HolidayFlightRecorder(JfrProperties properties) {
+        this.properties = properties;
+    }
+
+    //The bundled settings: every application event plus GC, I/O, contention and sampling events.
+    public static Configuration configuration() {
+        try (InputStream in = HolidayFlightRecorder.class.getClassLoader().getResourceAsStream(PROFILE)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing flight recorder profile " + PROFILE);
+            }
+            try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+                return Configuration.create(reader);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ParseException e) {
+            throw new IllegalStateException("Invalid flight recorder profile " + PROFILE, e);
+        }
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (properties.isEnabled()) {
+            start();
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (recording == null) {
+            return;
+        }
+        Path path = Path.of(properties.getPath());
+        try {
+            recording.dump(path);
+            log.info("Saved flight recording to {}", path);
+        } catch (IOException e) {
+            log.warn("Could not save flight recording {}: {}", path, e.getMessage());
+        } finally {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    private synchronized void start() {
+        try {
+            recording = new Recording(configuration());
+            recording.setName("holidays");
+            recording.setToDisk(true);
+            recording.setMaxAge(properties.getMaxAge());
+            recording.setMaxSize(properties.getMaxSize().toBytes());
+            recording.start();
+            log.info("Started flight recording, saved to {} on shutdown", properties.getPath());
+        } catch (RuntimeException e) {
+            log.warn("Could not start flight recording: {}", e.getMessage());
+            recording = null;
+        }
+    }
+}
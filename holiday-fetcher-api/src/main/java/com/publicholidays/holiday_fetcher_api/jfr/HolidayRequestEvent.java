@@ -0,0 +1,35 @@
+package com.publicholidays.holiday_fetcher_api.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+//One /holidays request, from its dispatch to the controller until the response is complete, async part included.
+@Name("com.publicholidays.Request")
+@Label("Holiday Request")
+@Category({"Holiday Fetcher API", "Request"})
+@StackTrace(false)
+public class HolidayRequestEvent extends jdk.jfr.Event {
+
+    @Label("Endpoint")
+    public String endpoint;
+
+    @Label("Country")
+    @Description("The country or country1 parameter, when present")
+    public String country;
+
+    @Label("Year")
+    @Description("The year or fromYear parameter, when present")
+    public int year;
+
+    @Label("Status")
+    public int status;
+
+    @Label("Body Size")
+    @Description("Response body size, or -1 when unknown, as for streamed responses")
+    @DataAmount
+    public long bytes;
+}
@@ -0,0 +1,25 @@
+package com.publicholidays.holiday_fetcher_api.jfr;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "holidays.jfr")
+public class JfrProperties {
+
+    //Start a continuous flight recording with the bundled jfr/holidays.jfc profile, dumped to path on shutdown.
+    //Recordings started with -XX:StartFlightRecording or jcmd record the same events without this.
+    private boolean enabled = false;
+
+    private String path = "holidays.jfr";
+
+    //Oldest and total size of the data kept in the recording's ring buffer.
+    private Duration maxAge = Duration.ofHours(1);
+
+    private DataSize maxSize = DataSize.ofMegabytes(100);
+}
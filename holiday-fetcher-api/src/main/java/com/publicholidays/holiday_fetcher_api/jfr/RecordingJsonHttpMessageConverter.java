@@ -0,0 +1,58 @@
+package com.publicholidays.holiday_fetcher_api.jfr;
+
+import com.publicholidays.holiday_fetcher_api.model.UpstreamHolidays;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Array;
+import java.lang.reflect.Type;
+
+//Jackson converter of the RestTemplate recording an UpstreamDeserializationEvent per response body it reads.
+//When the event is disabled it reads exactly as the default converter.
+public class RecordingJsonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage)
+            throws IOException, HttpMessageNotReadableException {
+        UpstreamDeserializationEvent event = new UpstreamDeserializationEvent();
+        if (!event.isEnabled()) {
+            return super.read(type, contextClass, inputMessage);
+        }
+        event.begin();
+        CountingInputStream body = new CountingInputStream(inputMessage.getBody());
+        Object result = null;
+        try {
+            result = super.read(type, contextClass, new HttpInputMessage() {
+                @Override
+                public InputStream getBody() {
+                    return body;
+                }
+
+                @Override
+                public HttpHeaders getHeaders() {
+                    return inputMessage.getHeaders();
+                }
+            });
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.type = type.getTypeName();
+                event.bytes = body.count();
+                event.items = items(result);
+                event.commit();
+            }
+        }
+    }
+
+    private static int items(Object result) {
+        if (result instanceof UpstreamHolidays holidays) {
+            return holidays.size();
+        }
+        return result != null && result.getClass().isArray() ? Array.getLength(result) : -1;
+    }
+}
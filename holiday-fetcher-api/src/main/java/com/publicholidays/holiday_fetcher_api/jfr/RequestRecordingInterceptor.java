@@ -0,0 +1,74 @@
+package com.publicholidays.holiday_fetcher_api.jfr;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+//Records a HolidayRequestEvent per request. The event begins on the first dispatch and is committed in afterCompletion,
+//which for Callable, Mono and streaming endpoints runs after the async dispatch, on the thread that completed it.
+//When the event is disabled nothing is stored on the request.
+public class RequestRecordingInterceptor implements HandlerInterceptor {
+
+    private static final String EVENT_ATTRIBUTE = RequestRecordingInterceptor.class.getName() + ".event";
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getAttribute(EVENT_ATTRIBUTE) == null) {
+            HolidayRequestEvent event = new HolidayRequestEvent();
+            if (event.isEnabled()) {
+                event.begin();
+                request.setAttribute(EVENT_ATTRIBUTE, event);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (!(request.getAttribute(EVENT_ATTRIBUTE) instanceof HolidayRequestEvent event)) {
+            return;
+        }
+        request.removeAttribute(EVENT_ATTRIBUTE);
+        event.end();
+        if (event.shouldCommit()) {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            event.endpoint = pattern != null ? pattern.toString() : request.getRequestURI();
+            event.country = firstParameter(request, "country", "country1");
+            event.year = yearParameter(firstParameter(request, "year", "fromYear"));
+            event.status = response.getStatus();
+            event.bytes = bodySize(response);
+            event.commit();
+        }
+    }
+
+    private static String firstParameter(HttpServletRequest request, String name, String alternative) {
+        String value = request.getParameter(name);
+        return value != null ? value : request.getParameter(alternative);
+    }
+
+    private static int yearParameter(String value) {
+        try {
+            return value != null ? Integer.parseInt(value) : 0;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    //Known exactly while the ETag filter still holds the body, otherwise only from a Content-Length header.
+    private static long bodySize(HttpServletResponse response) {
+        ContentCachingResponseWrapper cached = WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class);
+        if (cached != null && cached.getContentSize() > 0) {
+            return cached.getContentSize();
+        }
+        String contentLength = response.getHeader(HttpHeaders.CONTENT_LENGTH);
+        try {
+            return contentLength != null ? Long.parseLong(contentLength) : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
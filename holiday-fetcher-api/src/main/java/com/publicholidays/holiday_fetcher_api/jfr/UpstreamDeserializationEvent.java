@@ -0,0 +1,29 @@
+package com.publicholidays.holiday_fetcher_api.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+//Jackson binding of an upstream response body. Jackson parses while it reads, so this includes reading the rest of the
+//body from the connection.
+@Name("com.publicholidays.UpstreamDeserialization")
+@Label("Upstream Deserialization")
+@Description("Reading of an upstream response body into holidays")
+@Category({"Holiday Fetcher API", "Upstream"})
+@StackTrace(false)
+public class UpstreamDeserializationEvent extends jdk.jfr.Event {
+
+    @Label("Type")
+    public String type;
+
+    @Label("Body Size")
+    @DataAmount
+    public long bytes;
+
+    @Label("Items")
+    @Description("Number of holidays or array elements read, or -1 when the body is neither")
+    public int items;
+}
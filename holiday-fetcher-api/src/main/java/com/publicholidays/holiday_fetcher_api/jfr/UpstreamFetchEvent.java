@@ -0,0 +1,31 @@
+package com.publicholidays.holiday_fetcher_api.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+//One call to date.nager.at, from sending the request until the response is closed, so it includes reading the body.
+@Name("com.publicholidays.UpstreamFetch")
+@Label("Upstream Fetch")
+@Description("Call to the Nager.Date public holidays API")
+@Category({"Holiday Fetcher API", "Upstream"})
+@StackTrace(false)
+public class UpstreamFetchEvent extends jdk.jfr.Event {
+
+    @Label("Country")
+    public String country;
+
+    @Label("Year")
+    public int year;
+
+    @Label("Status")
+    @Description("HTTP status, or IO_ERROR when no response was received")
+    public String status;
+
+    @Label("Body Size")
+    @DataAmount
+    public long bytes;
+}
@@ -0,0 +1,95 @@
+package com.publicholidays.holiday_fetcher_api.jfr;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+
+//Records an UpstreamFetchEvent per RestTemplate call. The event is committed when the response is closed, once the
+//body has been read, so its size is known. Country and year come from the /PublicHolidays/{year}/{country} path.
+//When the event is disabled the call goes through untouched.
+public class UpstreamRecordingInterceptor implements ClientHttpRequestInterceptor {
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        UpstreamFetchEvent event = new UpstreamFetchEvent();
+        if (!event.isEnabled()) {
+            return execution.execute(request, body);
+        }
+        event.begin();
+        setCountryAndYear(event, request.getURI());
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            event.status = String.valueOf(response.getStatusCode().value());
+            return new RecordingResponse(response, event);
+        } catch (IOException | RuntimeException e) {
+            event.status = "IO_ERROR";
+            event.commit();
+            throw e;
+        }
+    }
+
+    private static void setCountryAndYear(UpstreamFetchEvent event, URI uri) {
+        String[] segments = uri.getPath().split("/");
+        if (segments.length >= 2) {
+            event.country = segments[segments.length - 1];
+            try {
+                event.year = Integer.parseInt(segments[segments.length - 2]);
+            } catch (NumberFormatException e) {
+                event.year = 0;
+            }
+        }
+    }
+
+    private static final class RecordingResponse implements ClientHttpResponse {
+        private final ClientHttpResponse response;
+        private final UpstreamFetchEvent event;
+        private CountingInputStream body;
+        private boolean closed;
+
+        RecordingResponse(ClientHttpResponse response, UpstreamFetchEvent event) {
+            this.response = response;
+            this.event = event;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return response.getStatusCode();
+        }
+
+        @Override
+        @Deprecated
+        public String getStatusText() throws IOException {
+            return response.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return response.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            if (body == null) {
+                body = new CountingInputStream(response.getBody());
+            }
+            return body;
+        }
+
+        @Override
+        public void close() {
+            response.close();
+            if (!closed) {
+                closed = true;
+                event.bytes = body != null ? body.count() : 0;
+                event.commit();
+            }
+        }
+    }
+}
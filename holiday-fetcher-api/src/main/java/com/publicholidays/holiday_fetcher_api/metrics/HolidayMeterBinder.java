@@ -0,0 +1,81 @@
+package com.publicholidays.holiday_fetcher_api.metrics;
+
+import com.publicholidays.holiday_fetcher_api.cache.CacheStats;
+import com.publicholidays.holiday_fetcher_api.cache.HolidayCache;
+import com.publicholidays.holiday_fetcher_api.cache.ResponseBodyCache;
+import com.publicholidays.holiday_fetcher_api.cache.ResponseBodyCacheStats;
+import com.publicholidays.holiday_fetcher_api.warmup.HolidayWarmup;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.springframework.stereotype.Component;
+
+import java.util.function.ToDoubleFunction;
+
+//Publishes the caches, connection pool and warmup figures already shown under /diagnostics as meters.
+@Component
+public class HolidayMeterBinder implements MeterBinder {
+
+    private final HolidayCache holidayCache;
+    private final PoolingHttpClientConnectionManager httpConnectionManager;
+    private final HolidayWarmup holidayWarmup;
+    private final ResponseBodyCache responseBodyCache;
+
+    public HolidayMeterBinder(HolidayCache holidayCache, PoolingHttpClientConnectionManager httpConnectionManager,
+                              HolidayWarmup holidayWarmup, ResponseBodyCache responseBodyCache) {
+        this.holidayCache = holidayCache;
+        this.httpConnectionManager = httpConnectionManager;
+        this.holidayWarmup = holidayWarmup;
+        this.responseBodyCache = responseBodyCache;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        cacheCounter(registry, "holidays.cache.requests", "result", "hit", CacheStats::hits);
+        cacheCounter(registry, "holidays.cache.requests", "result", "miss", CacheStats::misses);
+        cacheCounter(registry, "holidays.cache.requests", "result", "stale", CacheStats::staleHits);
+        cacheCounter(registry, "holidays.cache.removals", "cause", "eviction", CacheStats::evictions);
+        cacheCounter(registry, "holidays.cache.removals", "cause", "expiration", CacheStats::expirations);
+        FunctionCounter.builder("holidays.cache.coalesced.loads", holidayCache, cache -> cache.stats().coalescedLoads())
+                .register(registry);
+        Gauge.builder("holidays.cache.size", holidayCache, cache -> cache.stats().size()).register(registry);
+
+        responseCacheCounter(registry, "holidays.response.cache.requests", "result", "hit", ResponseBodyCacheStats::hits);
+        responseCacheCounter(registry, "holidays.response.cache.requests", "result", "miss", ResponseBodyCacheStats::misses);
+        responseCacheCounter(registry, "holidays.response.cache.removals", "cause", "eviction", ResponseBodyCacheStats::evictions);
+        responseCacheCounter(registry, "holidays.response.cache.removals", "cause", "invalidation", ResponseBodyCacheStats::invalidations);
+        Gauge.builder("holidays.response.cache.size", responseBodyCache, cache -> cache.stats().size()).register(registry);
+        Gauge.builder("holidays.response.cache.bytes", responseBodyCache, cache -> cache.stats().bytes()).register(registry);
+
+        Gauge.builder("holidays.http.pool.connections", httpConnectionManager, pool -> pool.getTotalStats().getLeased())
+                .tag("state", "leased").register(registry);
+        Gauge.builder("holidays.http.pool.connections", httpConnectionManager, pool -> pool.getTotalStats().getAvailable())
+                .tag("state", "available").register(registry);
+        Gauge.builder("holidays.http.pool.pending", httpConnectionManager, pool -> pool.getTotalStats().getPending())
+                .register(registry);
+        Gauge.builder("holidays.http.pool.max", httpConnectionManager, pool -> pool.getTotalStats().getMax())
+                .register(registry);
+
+        Gauge.builder("holidays.warmup.entries", holidayWarmup, warmup -> warmup.progress().loaded())
+                .tag("state", "loaded").register(registry);
+        Gauge.builder("holidays.warmup.entries", holidayWarmup, warmup -> warmup.progress().failed())
+                .tag("state", "failed").register(registry);
+        Gauge.builder("holidays.warmup.ready", holidayWarmup, warmup -> warmup.progress().ready() ? 1 : 0)
+                .register(registry);
+    }
+
+    private void cacheCounter(MeterRegistry registry, String name, String tag, String value, ToDoubleFunction<CacheStats> count) {
+        FunctionCounter.builder(name, holidayCache, cache -> count.applyAsDouble(cache.stats()))
+                .tag(tag, value)
+                .register(registry);
+    }
+
+    private void responseCacheCounter(MeterRegistry registry, String name, String tag, String value,
+                                      ToDoubleFunction<ResponseBodyCacheStats> count) {
+        FunctionCounter.builder(name, responseBodyCache, cache -> count.applyAsDouble(cache.stats()))
+                .tag(tag, value)
+                .register(registry);
+    }
+}
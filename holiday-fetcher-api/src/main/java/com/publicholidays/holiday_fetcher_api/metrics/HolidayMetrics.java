@@ -0,0 +1,153 @@
+package com.publicholidays.holiday_fetcher_api.metrics;
+
+import com.publicholidays.holiday_fetcher_api.jfr.ComputationEvent;
+import com.publicholidays.holiday_fetcher_api.resilience.CircuitBreaker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+
+//Application meters, kept apart from the HTTP server timers Spring records per endpoint:
+//  holidays.upstream.requests   one timing per upstream call, tagged by country and status (network and JSON binding)
+//  holidays.computation         CPU-bound stages (ingest, intersections, lookups), tagged by stage
+//  holidays.errors              handled HolidayServiceExceptions, tagged by type
+//  holidays.upstream.circuit.*  circuit breaker state and transitions
+//  holidays.upstream.fallbacks  upstream calls rejected or failed, tagged by reason and whether stale data was served
+//  holidays.upstream.retries    upstream attempts retried, tagged by reason
+//  holidays.upstream.hedges     hedged upstream attempts, tagged by outcome (won, lost, failed)
+//  holidays.upstream.hedge.delay  current delay before hedging, in seconds (-1 while not hedging)
+//  holidays.upstream.deadline.exceeded  upstream fetches given up on at their deadline
+//Timers publish percentile histograms, so upstream latency can be compared with our own time per request.
+@Component
+public class HolidayMetrics {
+
+    public static final String UPSTREAM_REQUESTS = "holidays.upstream.requests";
+    public static final String COMPUTATION = "holidays.computation";
+    public static final String ERRORS = "holidays.errors";
+    public static final String CIRCUIT_STATE = "holidays.upstream.circuit.state";
+    public static final String CIRCUIT_TRANSITIONS = "holidays.upstream.circuit.transitions";
+    public static final String FALLBACKS = "holidays.upstream.fallbacks";
+    public static final String RETRIES = "holidays.upstream.retries";
+    public static final String HEDGES = "holidays.upstream.hedges";
+    public static final String HEDGE_DELAY = "holidays.upstream.hedge.delay";
+    public static final String DEADLINE_EXCEEDED = "holidays.upstream.deadline.exceeded";
+
+    private final MeterRegistry registry;
+    //Meters by tag values, registered on first use, so recording on the hot path does not build the meter id again.
+    private final Map<String, Map<String, Timer>> upstreamTimers = new ConcurrentHashMap<>();
+    private final Map<String, Timer> computationTimers = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Counter> errorCounters = new ConcurrentHashMap<>();
+    private final Map<CircuitBreaker.State, Map<CircuitBreaker.State, Counter>> transitionCounters = new ConcurrentHashMap<>();
+    private final Map<String, Map<Boolean, Counter>> fallbackCounters = new ConcurrentHashMap<>();
+    private final Map<String, Counter> retryCounters = new ConcurrentHashMap<>();
+    private final Map<String, Counter> hedgeCounters = new ConcurrentHashMap<>();
+    private final Counter deadlineExceeded;
+
+    public HolidayMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.deadlineExceeded = Counter.builder(DEADLINE_EXCEEDED)
+                .description("Upstream fetches given up on at the deadline of the work they were made for")
+                .register(registry);
+    }
+
+    public Timer.Sample startUpstreamRequest() {
+        return Timer.start(registry);
+    }
+
+    public void stopUpstreamRequest(Timer.Sample sample, String country, String status) {
+        sample.stop(upstreamTimers.computeIfAbsent(country, ignored -> new ConcurrentHashMap<>())
+                .computeIfAbsent(status, ignored -> Timer.builder(UPSTREAM_REQUESTS)
+                        .description("Upstream public holidays requests")
+                        .tag("country", country)
+                        .tag("status", status)
+                        .publishPercentileHistogram()
+                        .register(registry)));
+    }
+
+    //Also recorded as a ComputationEvent when flight recording is on.
+    public <T> T computation(String stage, Supplier<T> work) {
+        ComputationEvent event = new ComputationEvent();
+        event.begin();
+        try {
+            return computationTimers.computeIfAbsent(stage, ignored -> Timer.builder(COMPUTATION)
+                            .description("Parsing and computation time, excluding upstream requests")
+                            .tag("stage", stage)
+                            .publishPercentileHistogram()
+                            .register(registry))
+                    .record(work);
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.stage = stage;
+                event.commit();
+            }
+        }
+    }
+
+    public void circuitStateGauge(CircuitBreaker circuitBreaker) {
+        Gauge.builder(CIRCUIT_STATE, circuitBreaker, breaker -> breaker.state().ordinal())
+                .description("Upstream circuit breaker state: 0 closed, 1 open, 2 half open")
+                .register(registry);
+    }
+
+    public void circuitTransition(CircuitBreaker.State from, CircuitBreaker.State to) {
+        transitionCounters.computeIfAbsent(from, ignored -> new ConcurrentHashMap<>())
+                .computeIfAbsent(to, ignored -> Counter.builder(CIRCUIT_TRANSITIONS)
+                        .description("Upstream circuit breaker state transitions")
+                        .tag("from", from.name())
+                        .tag("to", to.name())
+                        .register(registry))
+                .increment();
+    }
+
+    public void upstreamFallback(String reason, boolean served) {
+        fallbackCounters.computeIfAbsent(reason, ignored -> new ConcurrentHashMap<>())
+                .computeIfAbsent(served, ignored -> Counter.builder(FALLBACKS)
+                        .description("Upstream calls rejected by the bulkhead or breaker, or failed")
+                        .tag("reason", reason)
+                        .tag("served", String.valueOf(served))
+                        .register(registry))
+                .increment();
+    }
+
+    public void upstreamRetry(String reason) {
+        retryCounters.computeIfAbsent(reason, ignored -> Counter.builder(RETRIES)
+                        .description("Upstream attempts retried after a 5xx answer, a timeout or an I/O error")
+                        .tag("reason", reason)
+                        .register(registry))
+                .increment();
+    }
+
+    public void upstreamHedge(String outcome) {
+        hedgeCounters.computeIfAbsent(outcome, ignored -> Counter.builder(HEDGES)
+                        .description("Duplicate upstream requests sent for slow attempts, by whether they answered first")
+                        .tag("outcome", outcome)
+                        .register(registry))
+                .increment();
+    }
+
+    public <T> void hedgeDelayGauge(T source, ToDoubleFunction<T> seconds) {
+        Gauge.builder(HEDGE_DELAY, source, seconds)
+                .description("Time an upstream attempt may take before it is hedged, -1 while not hedging")
+                .baseUnit("seconds")
+                .register(registry);
+    }
+
+    public void upstreamDeadlineExceeded() {
+        deadlineExceeded.increment();
+    }
+
+    public void errorHandled(Class<? extends RuntimeException> type) {
+        errorCounters.computeIfAbsent(type, ignored -> Counter.builder(ERRORS)
+                        .description("Errors returned to clients by the exception handler")
+                        .tag("type", type.getSimpleName())
+                        .register(registry))
+                .increment();
+    }
+}
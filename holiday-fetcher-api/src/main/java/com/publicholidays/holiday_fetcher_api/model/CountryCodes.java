@@ -0,0 +1,69 @@
+package com.publicholidays.holiday_fetcher_api.model;
+
+import java.util.Arrays;
+import java.util.List;
+
+//Country codes supported by Nager.Date. The position of a code in the sorted list is its ordinal,
+//which fits in the two words of a CountryMask.
+//Lookups index a 26x26 table by the two letters, so checking a code costs two range checks and an array read, without
+//hashing the string; invalid codes from bots are rejected just as cheaply.
+public final class CountryCodes {
+
+    private static final String[] CODES = {
+            "AD", "AL", "AM", "AR", "AT", "AU", "AX", "BA", "BB", "BE", "BG", "BJ", "BO", "BR", "BS", "BW", "BY", "BZ",
+            "CA", "CH", "CL", "CN", "CO", "CR", "CU", "CY", "CZ", "DE", "DK", "DO", "EC", "EE", "EG", "ES", "FI", "FO",
+            "FR", "GA", "GB", "GD", "GE", "GG", "GI", "GL", "GM", "GR", "GT", "GU", "GY", "HK", "HN", "HR", "HT", "HU",
+            "ID", "IE", "IL", "IM", "IN", "IS", "IT", "JE", "JM", "JP", "KZ", "LB", "LI", "LK", "LT", "LU", "LV", "MA",
+            "MC", "MD", "ME", "MG", "MK", "MN", "MO", "MS", "MT", "MU", "MV", "MX", "MY", "MZ", "NA", "NE", "NG", "NI",
+            "NL", "NO", "NZ", "PA", "PE", "PG", "PH", "PK", "PL", "PR", "PT", "PY", "RO", "RS", "RU", "SG", "SI", "SK",
+            "SM", "SR", "SV", "SY", "TH", "TN", "TR", "TT", "UA", "US", "UY", "VA", "VE", "VN", "ZA"
+    };
+
+    //Ordinal of each two-letter code at (first - 'A') * 26 + (second - 'A'), -1 for unsupported codes.
+    private static final short[] ORDINALS = new short[26 * 26];
+
+    static {
+        Arrays.fill(ORDINALS, (short) -1);
+        for (int i = 0; i < CODES.length; i++) {
+            ORDINALS[slot(CODES[i])] = (short) i;
+        }
+    }
+
+    private CountryCodes() {
+    }
+
+    public static int count() {
+        return CODES.length;
+    }
+
+    public static boolean isValid(String country) {
+        return ordinal(country) >= 0;
+    }
+
+    //Ordinal of the country code, or -1 when it is not supported.
+    public static int ordinal(String country) {
+        int slot = slot(country);
+        return slot >= 0 ? ORDINALS[slot] : -1;
+    }
+
+    public static String code(int ordinal) {
+        return CODES[ordinal];
+    }
+
+    public static List<String> all() {
+        return List.of(CODES);
+    }
+
+    //Index of a code of two capital letters in the table, -1 for anything else.
+    private static int slot(String country) {
+        if (country == null || country.length() != 2) {
+            return -1;
+        }
+        int first = country.charAt(0) - 'A';
+        int second = country.charAt(1) - 'A';
+        if (first < 0 || first >= 26 || second < 0 || second >= 26) {
+            return -1;
+        }
+        return first * 26 + second;
+    }
+}
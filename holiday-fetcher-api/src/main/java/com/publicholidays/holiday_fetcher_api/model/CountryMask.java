@@ -0,0 +1,53 @@
+package com.publicholidays.holiday_fetcher_api.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+//Set of countries as a 128-bit mask indexed by CountryCodes ordinal.
+public record CountryMask(long low, long high) {
+
+    public static final CountryMask EMPTY = new CountryMask(0L, 0L);
+
+    public static CountryMask all() {
+        CountryMask mask = EMPTY;
+        for (int ordinal = 0; ordinal < CountryCodes.count(); ordinal++) {
+            mask = mask.with(ordinal);
+        }
+        return mask;
+    }
+
+    public CountryMask with(int ordinal) {
+        return ordinal < 64 ? new CountryMask(low | 1L << ordinal, high) : new CountryMask(low, high | 1L << (ordinal - 64));
+    }
+
+    public CountryMask or(CountryMask other) {
+        return new CountryMask(low | other.low, high | other.high);
+    }
+
+    public CountryMask andNot(CountryMask other) {
+        return new CountryMask(low & ~other.low, high & ~other.high);
+    }
+
+    public boolean contains(int ordinal) {
+        return ordinal < 64 ? (low & 1L << ordinal) != 0 : (high & 1L << (ordinal - 64)) != 0;
+    }
+
+    public boolean isEmpty() {
+        return low == 0 && high == 0;
+    }
+
+    public int size() {
+        return Long.bitCount(low) + Long.bitCount(high);
+    }
+
+    public List<String> toCountryCodes() {
+        List<String> countries = new ArrayList<>(size());
+        for (long bits = low; bits != 0; bits &= bits - 1) {
+            countries.add(CountryCodes.code(Long.numberOfTrailingZeros(bits)));
+        }
+        for (long bits = high; bits != 0; bits &= bits - 1) {
+            countries.add(CountryCodes.code(64 + Long.numberOfTrailingZeros(bits)));
+        }
+        return countries;
+    }
+}
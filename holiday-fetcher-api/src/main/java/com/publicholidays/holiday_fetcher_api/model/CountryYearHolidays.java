@@ -0,0 +1,188 @@
+package com.publicholidays.holiday_fetcher_api.model;
+
+import com.publicholidays.holiday_fetcher_api.dto.response.HolidayDTO;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+//Compact, immutable holidays of one country in one year: dates are parsed once at ingest into sorted epoch days,
+//and names point into the shared HolidayNames table; upstream answers are read straight into both by UpstreamHolidays.
+//HolidayDTOs are only built at the response edge.
+//A day-of-year bitset indexes the dates, so intersecting countries is a word-wise AND.
+public final class CountryYearHolidays {
+
+    //One bit per day of a leap year.
+    public static final int DAY_OF_YEAR_WORDS = (366 + 63) / 64;
+
+    private final int year;
+    private final int firstEpochDayOfYear;
+    private final int[] epochDays;
+    private final String[] names;
+    private final long[] dayOfYearBits;
+    private final long[] businessDayBits;
+    private final int daysInYear;
+    private final CountryYearSummary summary;
+
+    private CountryYearHolidays(int year, int[] epochDays, String[] names) {
+        this.year = year;
+        LocalDate firstDayOfYear = LocalDate.ofYearDay(year, 1);
+        this.firstEpochDayOfYear = (int) firstDayOfYear.toEpochDay();
+        this.epochDays = epochDays;
+        this.names = names;
+        this.dayOfYearBits = new long[DAY_OF_YEAR_WORDS];
+        //Only dates inside the year are indexed; the sorted arrays still keep every holiday.
+        this.daysInYear = firstDayOfYear.lengthOfYear();
+        for (int epochDay : epochDays) {
+            int dayOfYear = epochDay - firstEpochDayOfYear;
+            if (dayOfYear >= 0 && dayOfYear < daysInYear) {
+                dayOfYearBits[dayOfYear >>> 6] |= 1L << dayOfYear;
+            }
+        }
+        //Business days are the weekdays that are not holidays, with the same weekend rule as countNotOnWeekends.
+        this.businessDayBits = new long[DAY_OF_YEAR_WORDS];
+        for (int dayOfYear = 0; dayOfYear < daysInYear; dayOfYear++) {
+            if (!isWeekend(firstEpochDayOfYear + dayOfYear)) {
+                businessDayBits[dayOfYear >>> 6] |= 1L << dayOfYear;
+            }
+        }
+        for (int word = 0; word < DAY_OF_YEAR_WORDS; word++) {
+            businessDayBits[word] &= ~dayOfYearBits[word];
+        }
+        this.summary = CountryYearSummary.of(epochDays);
+    }
+
+    //Holidays without a date are dropped. Holidays sharing a date keep their upstream order.
+    public static CountryYearHolidays fromHolidayDTOs(int year, HolidayDTO[] holidays) {
+        return fromUpstream(year, UpstreamHolidays.fromHolidayDTOs(holidays));
+    }
+
+    //Holidays of one upstream answer, whose arrays are used as they are.
+    public static CountryYearHolidays fromUpstream(int year, UpstreamHolidays holidays) {
+        return new CountryYearHolidays(year, holidays.epochDays(), holidays.names());
+    }
+
+    //Rebuilds holidays from already sorted epoch days and their names, as stored in a snapshot; no date parsing involved.
+    public static CountryYearHolidays fromSortedEpochDays(int year, int[] epochDays, String[] names) {
+        String[] interned = new String[names.length];
+        for (int i = 0; i < names.length; i++) {
+            interned[i] = HolidayNames.intern(names[i]);
+        }
+        return new CountryYearHolidays(year, epochDays.clone(), interned);
+    }
+
+    //Days of the year that are holidays in every given country-year, as a day-of-year bitset.
+    public static long[] commonDaysOfYear(List<CountryYearHolidays> countryYears) {
+        long[] common = new long[DAY_OF_YEAR_WORDS];
+        Arrays.fill(common, -1L);
+        for (CountryYearHolidays countryYear : countryYears) {
+            for (int word = 0; word < DAY_OF_YEAR_WORDS; word++) {
+                common[word] &= countryYear.dayOfYearBits[word];
+            }
+        }
+        return common;
+    }
+
+    public int year() {
+        return year;
+    }
+
+    public int daysInYear() {
+        return daysInYear;
+    }
+
+    //Business days between the two days of year (0-based), both included.
+    public int countBusinessDays(int fromDayOfYear, int toDayOfYear) {
+        return DayOfYearBits.count(businessDayBits, fromDayOfYear, toDayOfYear);
+    }
+
+    //Day of year of the n-th business day at or after fromDayOfYear, or -1 when the year has fewer left.
+    public int nthBusinessDayFrom(int fromDayOfYear, int n) {
+        return DayOfYearBits.selectForward(businessDayBits, fromDayOfYear, n);
+    }
+
+    //Day of year of the n-th business day at or before toDayOfYear going backwards, or -1 when the year has fewer left.
+    public int nthBusinessDayBackFrom(int toDayOfYear, int n) {
+        return DayOfYearBits.selectBackward(businessDayBits, toDayOfYear, n);
+    }
+
+    public int size() {
+        return epochDays.length;
+    }
+
+    public boolean isEmpty() {
+        return epochDays.length == 0;
+    }
+
+    public int epochDay(int index) {
+        return epochDays[index];
+    }
+
+    public String name(int index) {
+        return names[index];
+    }
+
+    public CountryYearSummary summary() {
+        return summary;
+    }
+
+    //Indexes of the latest holidays strictly before the given day, latest first.
+    public int[] latestBefore(int epochDay, int limit) {
+        return summary.latestBefore(epochDay, limit);
+    }
+
+    public int countNotOnWeekends() {
+        return summary.nonWeekendCount();
+    }
+
+    //Indexes of the holidays whose date is also a holiday in the other country.
+    public int[] indexesInCommonWith(CountryYearHolidays other) {
+        return indexesOnDaysOfYear(other.dayOfYearBits);
+    }
+
+    //Indexes of the holidays falling on a day set in the given day-of-year bitset.
+    public int[] indexesOnDaysOfYear(long[] daysOfYear) {
+        int[] result = new int[epochDays.length];
+        int count = 0;
+        for (int i = 0; i < epochDays.length; i++) {
+            if (isSet(daysOfYear, epochDays[i] - firstEpochDayOfYear)) {
+                result[count++] = i;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    public boolean isHoliday(long epochDay) {
+        return isSet(dayOfYearBits, epochDay - firstEpochDayOfYear);
+    }
+
+    public HolidayDTO toHolidayDTO(int index) {
+        return new HolidayDTO(LocalDate.ofEpochDay(epochDays[index]).toString(), names[index]);
+    }
+
+    public List<HolidayDTO> toHolidayDTOs(int[] indexes) {
+        List<HolidayDTO> holidays = new ArrayList<>(indexes.length);
+        for (int index : indexes) {
+            holidays.add(toHolidayDTO(index));
+        }
+        return holidays;
+    }
+
+    public List<HolidayDTO> toHolidayDTOs() {
+        List<HolidayDTO> holidays = new ArrayList<>(epochDays.length);
+        for (int i = 0; i < epochDays.length; i++) {
+            holidays.add(toHolidayDTO(i));
+        }
+        return holidays;
+    }
+
+    private static boolean isSet(long[] daysOfYear, long dayOfYear) {
+        return dayOfYear >= 0 && dayOfYear < DAY_OF_YEAR_WORDS * 64L && (daysOfYear[(int) (dayOfYear >>> 6)] & (1L << dayOfYear)) != 0;
+    }
+
+    //1970-01-01 was a Thursday, so shifting by 3 maps Monday to 0 and the weekend to 5 and 6.
+    public static boolean isWeekend(long epochDay) {
+        return Math.floorMod(epochDay + 3, 7) >= 5;
+    }
+}
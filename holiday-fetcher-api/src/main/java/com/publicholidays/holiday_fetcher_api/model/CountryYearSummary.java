@@ -0,0 +1,64 @@
+package com.publicholidays.holiday_fetcher_api.model;
+
+import java.util.Arrays;
+
+//Aggregates derived once per ingested country-year, so /last is a binary search and /non-weekends a field read.
+public final class CountryYearSummary {
+
+    //Holiday indexes latest first; holidays sharing a date keep their upstream order, as a stable descending sort would.
+    private final int[] descendingIndexes;
+    private final int[] descendingEpochDays;
+    private final int nonWeekendCount;
+
+    private CountryYearSummary(int[] descendingIndexes, int[] descendingEpochDays, int nonWeekendCount) {
+        this.descendingIndexes = descendingIndexes;
+        this.descendingEpochDays = descendingEpochDays;
+        this.nonWeekendCount = nonWeekendCount;
+    }
+
+    //Built from the ascending epoch days of a CountryYearHolidays.
+    static CountryYearSummary of(int[] epochDays) {
+        int[] descendingIndexes = new int[epochDays.length];
+        int[] descendingEpochDays = new int[epochDays.length];
+        int count = 0;
+        int end = epochDays.length;
+        while (end > 0) {
+            int start = end - 1;
+            while (start > 0 && epochDays[start - 1] == epochDays[end - 1]) {
+                start--;
+            }
+            for (int i = start; i < end; i++) {
+                descendingIndexes[count] = i;
+                descendingEpochDays[count++] = epochDays[i];
+            }
+            end = start;
+        }
+
+        int nonWeekendCount = 0;
+        for (int epochDay : epochDays) {
+            if (!CountryYearHolidays.isWeekend(epochDay)) {
+                nonWeekendCount++;
+            }
+        }
+        return new CountryYearSummary(descendingIndexes, descendingEpochDays, nonWeekendCount);
+    }
+
+    public int nonWeekendCount() {
+        return nonWeekendCount;
+    }
+
+    //Indexes of the latest holidays strictly before the given day, latest first.
+    public int[] latestBefore(int epochDay, int limit) {
+        int low = 0;
+        int high = descendingEpochDays.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (descendingEpochDays[mid] >= epochDay) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return Arrays.copyOfRange(descendingIndexes, low, Math.min(low + limit, descendingIndexes.length));
+    }
+}
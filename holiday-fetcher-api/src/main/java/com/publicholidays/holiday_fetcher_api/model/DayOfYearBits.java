@@ -0,0 +1,69 @@
+package com.publicholidays.holiday_fetcher_api.model;
+
+//Word-at-a-time operations on day-of-year bitsets, so counting and stepping through days costs O(words), not O(days).
+public final class DayOfYearBits {
+
+    private DayOfYearBits() {
+    }
+
+    //Number of days set between the two days of year, both included.
+    public static int count(long[] bits, int fromDay, int toDay) {
+        if (fromDay > toDay) {
+            return 0;
+        }
+        int fromWord = fromDay >>> 6;
+        int toWord = toDay >>> 6;
+        int count = 0;
+        for (int word = fromWord; word <= toWord; word++) {
+            long value = bits[word];
+            if (word == fromWord) {
+                value &= -1L << fromDay;
+            }
+            if (word == toWord) {
+                value &= -1L >>> (63 - (toDay & 63));
+            }
+            count += Long.bitCount(value);
+        }
+        return count;
+    }
+
+    //Day of year of the n-th (1-based) set day at or after fromDay, or -1 when there are fewer than n.
+    public static int selectForward(long[] bits, int fromDay, int n) {
+        for (int word = fromDay >>> 6; word < bits.length; word++) {
+            long value = bits[word];
+            if (word == fromDay >>> 6) {
+                value &= -1L << fromDay;
+            }
+            int available = Long.bitCount(value);
+            if (n > available) {
+                n -= available;
+                continue;
+            }
+            for (int i = 1; i < n; i++) {
+                value &= value - 1;
+            }
+            return (word << 6) + Long.numberOfTrailingZeros(value);
+        }
+        return -1;
+    }
+
+    //Day of year of the n-th (1-based) set day at or before toDay, going backwards, or -1 when there are fewer than n.
+    public static int selectBackward(long[] bits, int toDay, int n) {
+        for (int word = toDay >>> 6; word >= 0; word--) {
+            long value = bits[word];
+            if (word == toDay >>> 6) {
+                value &= -1L >>> (63 - (toDay & 63));
+            }
+            int available = Long.bitCount(value);
+            if (n > available) {
+                n -= available;
+                continue;
+            }
+            for (int i = 1; i < n; i++) {
+                value &= ~Long.highestOneBit(value);
+            }
+            return (word << 6) + 63 - Long.numberOfLeadingZeros(value);
+        }
+        return -1;
+    }
+}
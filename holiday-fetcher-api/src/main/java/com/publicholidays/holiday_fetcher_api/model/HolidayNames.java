@@ -0,0 +1,106 @@
+package com.publicholidays.holiday_fetcher_api.model;
+
+//Process-wide table of holiday names, so that every cached country-year shares one instance per distinct name.
+//Names can be looked up from a parser's character buffer, so a name already known costs no String at all.
+//Open addressing with linear probing, at most half full. Slots are only ever filled, never cleared, so lookups run
+//without locking; a lookup that misses, possibly on a stale table, retries under the lock before adding the name.
+public final class HolidayNames {
+    private static final Object LOCK = new Object();
+    private static volatile String[] table = new String[1024];
+    private static int size;
+
+    private HolidayNames() {
+    }
+
+    public static String intern(String name) {
+        if (name == null) {
+            return null;
+        }
+        int hash = name.hashCode();
+        String existing = find(table, hash, name);
+        return existing != null ? existing : add(hash, name);
+    }
+
+    //The name held in chars[offset, offset + length), as String.hashCode() and equals() see it.
+    public static String intern(char[] chars, int offset, int length) {
+        int hash = 0;
+        for (int i = offset; i < offset + length; i++) {
+            hash = 31 * hash + chars[i];
+        }
+        String[] current = table;
+        int mask = current.length - 1;
+        for (int slot = spread(hash) & mask; current[slot] != null; slot = (slot + 1) & mask) {
+            String candidate = current[slot];
+            if (candidate.hashCode() == hash && matches(candidate, chars, offset, length)) {
+                return candidate;
+            }
+        }
+        return add(hash, new String(chars, offset, length));
+    }
+
+    public static int size() {
+        synchronized (LOCK) {
+            return size;
+        }
+    }
+
+    private static String add(int hash, String name) {
+        synchronized (LOCK) {
+            String[] current = table;
+            String existing = find(current, hash, name);
+            if (existing != null) {
+                return existing;
+            }
+            if (2 * (size + 1) > current.length) {
+                String[] larger = new String[current.length * 2];
+                for (String known : current) {
+                    if (known != null) {
+                        insert(larger, known.hashCode(), known);
+                    }
+                }
+                current = larger;
+                table = larger;
+            }
+            insert(current, hash, name);
+            size++;
+            return name;
+        }
+    }
+
+    private static String find(String[] current, int hash, String name) {
+        int mask = current.length - 1;
+        for (int slot = spread(hash) & mask; current[slot] != null; slot = (slot + 1) & mask) {
+            String candidate = current[slot];
+            if (candidate.hashCode() == hash && candidate.equals(name)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private static void insert(String[] current, int hash, String name) {
+        int mask = current.length - 1;
+        int slot = spread(hash) & mask;
+        while (current[slot] != null) {
+            slot = (slot + 1) & mask;
+        }
+        current[slot] = name;
+    }
+
+    private static boolean matches(String candidate, char[] chars, int offset, int length) {
+        if (candidate.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (candidate.charAt(i) != chars[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    //Mixes the high bits of the hash into the low bits the slot is taken from, as HashMap does.
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,187 @@
+package com.publicholidays.holiday_fetcher_api.model;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.publicholidays.holiday_fetcher_api.dto.response.HolidayDTO;
+
+import java.io.IOException;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+//Holidays of one upstream answer, sorted by date, as epoch days and names from the HolidayNames table: the arrays a
+//CountryYearHolidays is built on, before a year is attached. Read from JSON by Deserializer, straight from the token
+//stream, so ingesting an answer builds no DTO, date String or LocalDate.
+@JsonDeserialize(using = UpstreamHolidays.Deserializer.class)
+public final class UpstreamHolidays {
+
+    private final int[] epochDays;
+    private final String[] names;
+
+    private UpstreamHolidays(int[] epochDays, String[] names) {
+        this.epochDays = epochDays;
+        this.names = names;
+    }
+
+    //Holidays without a date are dropped. Holidays sharing a date keep their upstream order.
+    public static UpstreamHolidays fromHolidayDTOs(HolidayDTO... holidays) {
+        Builder builder = new Builder(holidays.length);
+        for (HolidayDTO holiday : holidays) {
+            if (holiday != null && holiday.getDate() != null) {
+                builder.add(LocalDate.parse(holiday.getDate()).toEpochDay(), HolidayNames.intern(holiday.getLocalName()));
+            }
+        }
+        return builder.build();
+    }
+
+    public int size() {
+        return epochDays.length;
+    }
+
+    int[] epochDays() {
+        return epochDays;
+    }
+
+    String[] names() {
+        return names;
+    }
+
+    //Collects holidays in upstream order; only an answer that is not already sorted by date pays for sorting.
+    private static final class Builder {
+        private int[] epochDays;
+        private String[] names;
+        private int count;
+        private boolean sorted = true;
+
+        Builder(int capacity) {
+            epochDays = new int[capacity];
+            names = new String[capacity];
+        }
+
+        void add(long epochDay, String name) {
+            if (count == epochDays.length) {
+                epochDays = Arrays.copyOf(epochDays, Math.max(count * 2, 8));
+                names = Arrays.copyOf(names, epochDays.length);
+            }
+            sorted &= count == 0 || epochDays[count - 1] <= epochDay;
+            epochDays[count] = (int) epochDay;
+            names[count++] = name;
+        }
+
+        UpstreamHolidays build() {
+            if (sorted) {
+                return new UpstreamHolidays(epochDays.length == count ? epochDays : Arrays.copyOf(epochDays, count),
+                        names.length == count ? names : Arrays.copyOf(names, count));
+            }
+            //Day and original position packed in one long, so a primitive sort is also a stable sort.
+            long[] packed = new long[count];
+            for (int i = 0; i < count; i++) {
+                packed[i] = ((long) epochDays[i] << 32) | i;
+            }
+            Arrays.sort(packed);
+            int[] sortedDays = new int[count];
+            String[] sortedNames = new String[count];
+            for (int i = 0; i < count; i++) {
+                sortedDays[i] = (int) (packed[i] >> 32);
+                sortedNames[i] = names[(int) packed[i]];
+            }
+            return new UpstreamHolidays(sortedDays, sortedNames);
+        }
+    }
+
+    //Reads the Nager.Date array of holidays token by token. Only date and localName are decoded: the date from the
+    //parser's character buffer into an epoch day, the name into the HolidayNames table, which hands back the shared
+    //instance without building a String once the name is known. Every other field is skipped undecoded.
+    //Null entries and holidays without a date are dropped, like the DTO path does.
+    public static final class Deserializer extends StdDeserializer<UpstreamHolidays> {
+
+        private static final long NO_DATE = Long.MIN_VALUE;
+
+        public Deserializer() {
+            super(UpstreamHolidays.class);
+        }
+
+        @Override
+        public UpstreamHolidays deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            if (!parser.isExpectedStartArrayToken()) {
+                return (UpstreamHolidays) context.handleUnexpectedToken(UpstreamHolidays.class, parser);
+            }
+            Builder builder = new Builder(32);
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == JsonToken.START_OBJECT) {
+                    readHoliday(parser, context, builder);
+                } else if (token != JsonToken.VALUE_NULL) {
+                    context.reportInputMismatch(this, "Expected a holiday object but found %s", token);
+                }
+            }
+            return builder.build();
+        }
+
+        private void readHoliday(JsonParser parser, DeserializationContext context, Builder builder) throws IOException {
+            long epochDay = NO_DATE;
+            String name = null;
+            String field;
+            while ((field = parser.nextFieldName()) != null) {
+                JsonToken value = parser.nextToken();
+                if (field.equals("date")) {
+                    epochDay = value == JsonToken.VALUE_NULL ? NO_DATE : epochDay(parser, context);
+                } else if (field.equals("localName")) {
+                    name = value == JsonToken.VALUE_NULL ? null : name(parser, context);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            if (epochDay != NO_DATE) {
+                builder.add(epochDay, name);
+            }
+        }
+
+        private long epochDay(JsonParser parser, DeserializationContext context) throws IOException {
+            if (parser.currentToken() != JsonToken.VALUE_STRING) {
+                context.reportInputMismatch(this, "Expected a yyyy-MM-dd holiday date but found %s", parser.currentToken());
+            }
+            char[] chars = parser.getTextCharacters();
+            int offset = parser.getTextOffset();
+            boolean plain = parser.getTextLength() == 10 && chars[offset + 4] == '-' && chars[offset + 7] == '-';
+            int year = plain ? digits(chars, offset, 4) : -1;
+            int month = plain ? digits(chars, offset + 5, 2) : -1;
+            int day = plain ? digits(chars, offset + 8, 2) : -1;
+            try {
+                //Anything but a plain yyyy-MM-dd, such as an extended year, takes the general parser.
+                return year >= 0 && month >= 0 && day >= 0
+                        ? LocalDate.of(year, month, day).toEpochDay()
+                        : LocalDate.parse(parser.getText()).toEpochDay();
+            } catch (DateTimeException e) {
+                context.reportInputMismatch(this, "Invalid holiday date '%s'", parser.getText());
+                return NO_DATE;
+            }
+        }
+
+        private String name(JsonParser parser, DeserializationContext context) throws IOException {
+            if (parser.currentToken() == JsonToken.VALUE_STRING) {
+                return HolidayNames.intern(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+            }
+            if (!parser.currentToken().isScalarValue()) {
+                context.reportInputMismatch(this, "Expected a holiday name but found %s", parser.currentToken());
+            }
+            return HolidayNames.intern(parser.getText());
+        }
+
+        //The decimal number in chars[offset, offset + count), or -1 when one of them is not a digit.
+        private static int digits(char[] chars, int offset, int count) {
+            int value = 0;
+            for (int i = offset; i < offset + count; i++) {
+                int digit = chars[i] - '0';
+                if (digit < 0 || digit > 9) {
+                    return -1;
+                }
+                value = value * 10 + digit;
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.publicholidays.holiday_fetcher_api.resilience;
+
+import java.time.Clock;
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+
+//Count-based circuit breaker: the outcomes of the last calls are kept in a ring, and the breaker opens when too many
+//of them failed or were slow. After the open duration a limited number of trial calls decide whether it closes again.
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final ResilienceProperties properties;
+    private final Clock clock;
+    private final BiConsumer<State, State> onTransition;
+    private final boolean[] failed;
+    private final boolean[] slow;
+
+    private State state = State.CLOSED;
+    private int next;
+    private int recorded;
+    private int failedCount;
+    private int slowCount;
+    private long openedAt;
+    private int halfOpenPermitted;
+    private int halfOpenSucceeded;
+
+    //The transition callback runs under the breaker lock, so it must be quick.
+    public CircuitBreaker(ResilienceProperties properties, Clock clock, BiConsumer<State, State> onTransition) {
+        this.properties = properties;
+        this.clock = clock;
+        this.onTransition = onTransition;
+        this.failed = new boolean[properties.getSlidingWindowSize()];
+        this.slow = new boolean[properties.getSlidingWindowSize()];
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+
+    //Every granted permission must be followed by onResult.
+    public synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN) {
+            if (clock.millis() - openedAt < properties.getOpenDuration().toMillis()) {
+                return false;
+            }
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenPermitted >= properties.getHalfOpenCalls()) {
+                return false;
+            }
+            halfOpenPermitted++;
+        }
+        return true;
+    }
+
+    public synchronized void onResult(long durationMillis, boolean failure) {
+        boolean slowCall = durationMillis >= properties.getSlowCallDuration().toMillis();
+        if (state == State.HALF_OPEN) {
+            if (failure || slowCall) {
+                transitionTo(State.OPEN);
+            } else if (++halfOpenSucceeded >= properties.getHalfOpenCalls()) {
+                transitionTo(State.CLOSED);
+            }
+            return;
+        }
+        //Calls started before the breaker opened are not counted again.
+        if (state == State.OPEN) {
+            return;
+        }
+        if (recorded == failed.length) {
+            failedCount -= failed[next] ? 1 : 0;
+            slowCount -= slow[next] ? 1 : 0;
+        } else {
+            recorded++;
+        }
+        failed[next] = failure;
+        slow[next] = slowCall;
+        failedCount += failure ? 1 : 0;
+        slowCount += slowCall ? 1 : 0;
+        next = (next + 1) % failed.length;
+
+        if (recorded >= properties.getMinimumCalls()
+                && (failedCount * 100 >= properties.getFailureRateThreshold() * recorded
+                || slowCount * 100 >= properties.getSlowCallRateThreshold() * recorded)) {
+            transitionTo(State.OPEN);
+        }
+    }
+
+    private void transitionTo(State target) {
+        State previous = state;
+        state = target;
+        openedAt = clock.millis();
+        halfOpenPermitted = 0;
+        halfOpenSucceeded = 0;
+        next = 0;
+        recorded = 0;
+        failedCount = 0;
+        slowCount = 0;
+        Arrays.fill(failed, false);
+        Arrays.fill(slow, false);
+        onTransition.accept(previous, target);
+    }
+}
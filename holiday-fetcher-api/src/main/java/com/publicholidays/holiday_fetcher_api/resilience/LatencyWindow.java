@@ -0,0 +1,37 @@
+package com.publicholidays.holiday_fetcher_api.resilience;
+
+import java.util.Arrays;
+
+//Latencies of the last successful upstream attempts, in a ring buffer, from which UpstreamCaller reads its hedge delay.
+//The percentile sorts a copy of the window; at a few hundred entries that is cheaper than keeping a sorted structure
+//updated on every attempt.
+final class LatencyWindow {
+
+    private final long[] nanos;
+    private int next;
+    private int size;
+
+    LatencyWindow(int capacity) {
+        this.nanos = new long[Math.max(capacity, 1)];
+    }
+
+    synchronized void record(long latencyNanos) {
+        nanos[next] = latencyNanos;
+        next = (next + 1) % nanos.length;
+        size = Math.min(size + 1, nanos.length);
+    }
+
+    //The latency below which the given percent of the recorded ones are, or -1 with fewer than minSamples recorded.
+    long percentile(double percent, int minSamples) {
+        long[] sorted;
+        synchronized (this) {
+            if (size == 0 || size < minSamples) {
+                return -1;
+            }
+            sorted = Arrays.copyOf(nanos, size);
+        }
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percent / 100 * sorted.length) - 1;
+        return sorted[Math.min(Math.max(index, 0), sorted.length - 1)];
+    }
+}
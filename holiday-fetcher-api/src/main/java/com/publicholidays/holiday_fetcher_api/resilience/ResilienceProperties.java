@@ -0,0 +1,51 @@
+package com.publicholidays.holiday_fetcher_api.resilience;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "holidays.resilience")
+public class ResilienceProperties {
+
+    //The breaker opens when, over the last sliding-window-size calls (and at least minimum-calls), the share of failed
+    //or of slow calls reaches its threshold, in percent.
+    private int slidingWindowSize = 20;
+    private int minimumCalls = 10;
+    private int failureRateThreshold = 50;
+    private int slowCallRateThreshold = 80;
+    private Duration slowCallDuration = Duration.ofSeconds(2);
+
+    //Time spent open before a few trial calls are let through to decide whether to close again.
+    private Duration openDuration = Duration.ofSeconds(30);
+    private int halfOpenCalls = 3;
+
+    //Bulkhead: upstream calls running at the same time, and how long a call may wait for a free slot.
+    private int maxConcurrentCalls = 20;
+    private Duration maxWait = Duration.ofMillis(100);
+
+    //Last known good holidays kept to answer while the upstream is failing or the breaker is open.
+    private int fallbackMaxEntries = 4096;
+
+    //Time budget of a fetch made outside a request, such as the warmup. A fetch made for a request stops at the
+    //request's deadline (holidays.async.timeout after it arrived) when that is earlier.
+    private Duration fetchDeadline = Duration.ofSeconds(10);
+
+    //Hedging: an attempt still unanswered after the hedge-percentile of the latencies of the last latency-window
+    //successful attempts (and at least hedge-min-delay) gets a duplicate request; the first answer wins and the other
+    //request is aborted. There is no hedging before hedge-min-samples latencies have been seen.
+    private boolean hedgingEnabled = true;
+    private double hedgePercentile = 95;
+    private Duration hedgeMinDelay = Duration.ofMillis(50);
+    private int latencyWindow = 200;
+    private int hedgeMinSamples = 20;
+
+    //Retries of 5xx answers, timeouts and I/O errors, after a random backoff of up to retry-backoff, doubled on every
+    //retry and capped at retry-max-backoff. There is no retry that could not finish before the deadline.
+    private int maxRetries = 2;
+    private Duration retryBackoff = Duration.ofMillis(100);
+    private Duration retryMaxBackoff = Duration.ofSeconds(1);
+}
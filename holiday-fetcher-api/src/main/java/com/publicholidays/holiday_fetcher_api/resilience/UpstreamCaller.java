@@ -0,0 +1,246 @@
+package com.publicholidays.holiday_fetcher_api.resilience;
+
+import com.publicholidays.holiday_fetcher_api.client.UpstreamAttempt;
+import com.publicholidays.holiday_fetcher_api.concurrent.Deadline;
+import com.publicholidays.holiday_fetcher_api.concurrent.MdcTaskDecorator;
+import com.publicholidays.holiday_fetcher_api.exception.HolidayServiceExceptions;
+import com.publicholidays.holiday_fetcher_api.metrics.HolidayMetrics;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+//Makes the upstream call of a fetch within its deadline: the deadline of the work it is made for, or
+//holidays.resilience.fetch-deadline from now when that is earlier or there is none.
+//  A slow attempt is hedged: once it has taken longer than most recent attempts did, the same request is sent again,
+//  the first answer is used and the other request is aborted, so one stray slow answer does not set the tail latency.
+//  A 5xx answer, a timeout or an I/O error is retried after a jittered exponential backoff, when there is time left.
+//  No attempt outlives the deadline: the request factory cuts its timeouts to the time left, and the caller stops
+//  waiting for it.
+//Upstream fetches are GETs, so repeating them is safe.
+@Component
+public class UpstreamCaller {
+
+    private final ResilienceProperties properties;
+    private final HolidayMetrics holidayMetrics;
+    //Runs the attempts of hedged fetches; without one, every attempt runs on the calling thread and none is hedged.
+    private final Executor attemptExecutor;
+    private final LatencyWindow latencies;
+    private final MdcTaskDecorator mdcTaskDecorator = new MdcTaskDecorator();
+
+    public UpstreamCaller(ResilienceProperties properties, HolidayMetrics holidayMetrics,
+                          @Qualifier("upstreamAttemptExecutor") Executor attemptExecutor) {
+        this.properties = properties;
+        this.holidayMetrics = holidayMetrics;
+        this.attemptExecutor = attemptExecutor;
+        this.latencies = new LatencyWindow(properties.getLatencyWindow());
+        holidayMetrics.hedgeDelayGauge(this, caller -> {
+            long delay = caller.hedgeDelayNanos();
+            return delay >= 0 ? delay / 1e9 : -1;
+        });
+    }
+
+    public <T> T call(Supplier<T> fetch) {
+        Deadline deadline = Deadline.earliest(Deadline.current(), Deadline.after(properties.getFetchDeadline()));
+        for (int retry = 0; ; retry++) {
+            try {
+                return Deadline.callWith(deadline, () -> attempt(fetch, deadline));
+            } catch (RuntimeException e) {
+                String reason = retryReason(e);
+                if (reason == null || retry >= properties.getMaxRetries()) {
+                    throw e;
+                }
+                long backoff = backoffNanos(retry);
+                if (backoff >= deadline.remainingNanos()) {
+                    holidayMetrics.upstreamDeadlineExceeded();
+                    throw e;
+                }
+                holidayMetrics.upstreamRetry(reason);
+                sleep(backoff);
+            }
+        }
+    }
+
+    //Time an attempt may take before it is hedged, or -1 while hedging is off or too few latencies are known.
+    long hedgeDelayNanos() {
+        if (!properties.isHedgingEnabled()) {
+            return -1;
+        }
+        long percentile = latencies.percentile(properties.getHedgePercentile(), properties.getHedgeMinSamples());
+        return percentile >= 0 ? Math.max(percentile, properties.getHedgeMinDelay().toNanos()) : -1;
+    }
+
+    private <T> T attempt(Supplier<T> fetch, Deadline deadline) {
+        if (deadline.isExpired()) {
+            throw deadlineExceeded();
+        }
+        long hedgeDelay = hedgeDelayNanos();
+        if (attemptExecutor == null || hedgeDelay < 0 || hedgeDelay >= deadline.remainingNanos()) {
+            long start = System.nanoTime();
+            T result = fetch.get();
+            latencies.record(System.nanoTime() - start);
+            return result;
+        }
+        return new HedgedFetch<>(fetch, deadline).get(hedgeDelay);
+    }
+
+    //Failures that say nothing about the request itself, so the same request may well succeed when sent again.
+    private static String retryReason(RuntimeException e) {
+        if (e instanceof HttpServerErrorException) {
+            return "server-error";
+        }
+        if (e instanceof ResourceAccessException) {
+            return e.getCause() instanceof SocketTimeoutException ? "timeout" : "io-error";
+        }
+        return null;
+    }
+
+    //Full jitter: uniformly random up to the exponential backoff, so clients failing together do not retry together.
+    private long backoffNanos(int retry) {
+        long ceiling = Math.min(properties.getRetryBackoff().toNanos() << Math.min(retry, 20),
+                properties.getRetryMaxBackoff().toNanos());
+        return ThreadLocalRandom.current().nextLong(Math.max(ceiling, 0) + 1);
+    }
+
+    private static void sleep(long nanos) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new HolidayServiceExceptions.UnknownErrorException("Interrupted while waiting for the public holidays service.");
+        }
+    }
+
+    private RuntimeException deadlineExceeded() {
+        holidayMetrics.upstreamDeadlineExceeded();
+        return new HolidayServiceExceptions.UnknownErrorException("Timed out waiting for the public holidays service.");
+    }
+
+    //The attempts of one hedged fetch. The first answer completes the result; a failure only does once no other
+    //attempt is running, so a failed primary still leaves the hedge its chance. Attempts left running are aborted.
+    private final class HedgedFetch<T> {
+        private final Supplier<T> fetch;
+        private final Deadline deadline;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private final List<UpstreamAttempt> running = new ArrayList<>(2);
+        private boolean hedged;
+        //Set by the attempt that settles the result, before it completes it.
+        private boolean settled;
+
+        HedgedFetch(Supplier<T> fetch, Deadline deadline) {
+            this.fetch = fetch;
+            this.deadline = deadline;
+        }
+
+        T get(long hedgeDelayNanos) {
+            UpstreamAttempt primary = new UpstreamAttempt();
+            synchronized (this) {
+                running.add(primary);
+            }
+            execute(primary, false);
+            try {
+                try {
+                    return result.get(hedgeDelayNanos, TimeUnit.NANOSECONDS);
+                } catch (TimeoutException slow) {
+                    hedge();
+                    return result.get(deadline.remainingNanos(), TimeUnit.NANOSECONDS);
+                }
+            } catch (TimeoutException e) {
+                throw deadlineExceeded();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw new HolidayServiceExceptions.UnknownErrorException("An unexpected error occurred while retrieving holidays.");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new HolidayServiceExceptions.UnknownErrorException("Interrupted while waiting for the public holidays service.");
+            } finally {
+                cancelRunning();
+            }
+        }
+
+        private void hedge() {
+            UpstreamAttempt attempt = new UpstreamAttempt();
+            synchronized (this) {
+                if (settled) {
+                    return;
+                }
+                hedged = true;
+                running.add(attempt);
+            }
+            execute(attempt, true);
+        }
+
+        private void execute(UpstreamAttempt attempt, boolean hedge) {
+            try {
+                attemptExecutor.execute(mdcTaskDecorator.decorate(() -> run(attempt, hedge)));
+            } catch (RejectedExecutionException e) {
+                failed(attempt, e);
+            }
+        }
+
+        private void run(UpstreamAttempt attempt, boolean hedge) {
+            long start = System.nanoTime();
+            T value;
+            try {
+                value = attempt.run(() -> Deadline.callWith(deadline, fetch));
+            } catch (RuntimeException | Error e) {
+                failed(attempt, e);
+                return;
+            }
+            latencies.record(System.nanoTime() - start);
+            boolean first;
+            boolean wasHedged;
+            synchronized (this) {
+                running.remove(attempt);
+                first = !settled;
+                settled = true;
+                wasHedged = hedged;
+            }
+            if (first) {
+                if (wasHedged) {
+                    holidayMetrics.upstreamHedge(hedge ? "won" : "lost");
+                }
+                result.complete(value);
+            }
+        }
+
+        private void failed(UpstreamAttempt attempt, Throwable error) {
+            boolean last;
+            boolean wasHedged;
+            synchronized (this) {
+                running.remove(attempt);
+                last = running.isEmpty() && !settled;
+                settled |= last;
+                wasHedged = hedged;
+            }
+            if (last) {
+                if (wasHedged) {
+                    holidayMetrics.upstreamHedge("failed");
+                }
+                result.completeExceptionally(error);
+            }
+        }
+
+        private void cancelRunning() {
+            List<UpstreamAttempt> attempts;
+            synchronized (this) {
+                attempts = List.copyOf(running);
+            }
+            attempts.forEach(UpstreamAttempt::cancel);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.publicholidays.holiday_fetcher_api.resilience;
+
+import com.publicholidays.holiday_fetcher_api.cache.CountryYearKey;
+import com.publicholidays.holiday_fetcher_api.exception.HolidayServiceExceptions;
+import com.publicholidays.holiday_fetcher_api.metrics.HolidayMetrics;
+import com.publicholidays.holiday_fetcher_api.model.CountryYearHolidays;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+//Protects the service from a slow or failing upstream:
+//  a bulkhead caps the concurrent upstream calls, so a slow upstream cannot hold every request thread,
+//  a circuit breaker stops calling an upstream that keeps failing or answering slowly,
+//  and rejected or failed calls are answered with the last known good holidays of that (country, year) when there are any.
+//Within the guard, UpstreamCaller hedges slow calls and retries failed ones, up to the deadline; the breaker sees one
+//outcome per fetch.
+//"Not found" and "bad request" answers mean the upstream is healthy, so they are not counted as failures.
+@Component
+public class UpstreamGuard {
+
+    private final ResilienceProperties properties;
+    private final Clock clock;
+    private final HolidayMetrics holidayMetrics;
+    private final UpstreamCaller upstreamCaller;
+    private final Semaphore bulkhead;
+    private final CircuitBreaker circuitBreaker;
+    private final Map<CountryYearKey, CountryYearHolidays> lastKnownGood;
+
+    public UpstreamGuard(ResilienceProperties properties, HolidayMetrics holidayMetrics, UpstreamCaller upstreamCaller,
+                         Clock clock) {
+        this.properties = properties;
+        this.clock = clock;
+        this.holidayMetrics = holidayMetrics;
+        this.upstreamCaller = upstreamCaller;
+        this.bulkhead = new Semaphore(properties.getMaxConcurrentCalls());
+        this.circuitBreaker = new CircuitBreaker(properties, clock, holidayMetrics::circuitTransition);
+        holidayMetrics.circuitStateGauge(circuitBreaker);
+        this.lastKnownGood = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CountryYearKey, CountryYearHolidays> eldest) {
+                return size() > properties.getFallbackMaxEntries();
+            }
+        };
+    }
+
+    public CircuitBreaker.State circuitState() {
+        return circuitBreaker.state();
+    }
+
+    public CountryYearHolidays fetch(String country, int year, Supplier<CountryYearHolidays> loader) {
+        CountryYearKey key = new CountryYearKey(country, year);
+        if (!acquireBulkhead()) {
+            return fallback(key, "bulkhead-full",
+                    new HolidayServiceExceptions.UnknownErrorException("Too many requests to the public holidays service, please retry later."));
+        }
+        try {
+            if (!circuitBreaker.tryAcquirePermission()) {
+                return fallback(key, "circuit-open",
+                        new HolidayServiceExceptions.UnknownErrorException("The public holidays service is unavailable, please retry later."));
+            }
+            long start = clock.millis();
+            boolean failure = true;
+            try {
+                CountryYearHolidays holidays = upstreamCaller.call(loader);
+                failure = false;
+                if (holidays != null) {
+                    remember(key, holidays);
+                }
+                return holidays;
+            } catch (HolidayServiceExceptions.HolidayNotFoundException | HolidayServiceExceptions.BadRequestException e) {
+                failure = false;
+                throw e;
+            } catch (RuntimeException e) {
+                return fallback(key, "failure", e);
+            } finally {
+                circuitBreaker.onResult(clock.millis() - start, failure);
+            }
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    private boolean acquireBulkhead() {
+        try {
+            return bulkhead.tryAcquire(properties.getMaxWait().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new HolidayServiceExceptions.UnknownErrorException("Interrupted while waiting for the public holidays service.");
+        }
+    }
+
+    //Non-blocking variant for the reactive service: a full bulkhead is not waited for, and the breaker records the
+    //outcome when the upstream answer arrives.
+    public Mono<CountryYearHolidays> fetchReactive(String country, int year, Supplier<Mono<CountryYearHolidays>> loader) {
+        CountryYearKey key = new CountryYearKey(country, year);
+        return Mono.defer(() -> {
+            if (!bulkhead.tryAcquire()) {
+                return fallbackReactive(key, "bulkhead-full",
+                        new HolidayServiceExceptions.UnknownErrorException("Too many requests to the public holidays service, please retry later."));
+            }
+            if (!circuitBreaker.tryAcquirePermission()) {
+                bulkhead.release();
+                return fallbackReactive(key, "circuit-open",
+                        new HolidayServiceExceptions.UnknownErrorException("The public holidays service is unavailable, please retry later."));
+            }
+            long start = clock.millis();
+            return loader.get()
+                    .doOnNext(holidays -> remember(key, holidays))
+                    .doOnSuccess(holidays -> circuitBreaker.onResult(clock.millis() - start, false))
+                    .doOnCancel(() -> circuitBreaker.onResult(clock.millis() - start, false))
+                    .onErrorResume(error -> {
+                        boolean failure = !(error instanceof HolidayServiceExceptions.HolidayNotFoundException
+                                || error instanceof HolidayServiceExceptions.BadRequestException);
+                        circuitBreaker.onResult(clock.millis() - start, failure);
+                        return failure ? fallbackReactive(key, "failure", error) : Mono.error(error);
+                    })
+                    .doFinally(signal -> bulkhead.release());
+        });
+    }
+
+    private CountryYearHolidays fallback(CountryYearKey key, String reason, RuntimeException error) {
+        CountryYearHolidays holidays = lastKnownGood(key, reason);
+        if (holidays == null) {
+            throw error;
+        }
+        return holidays;
+    }
+
+    private Mono<CountryYearHolidays> fallbackReactive(CountryYearKey key, String reason, Throwable error) {
+        CountryYearHolidays holidays = lastKnownGood(key, reason);
+        return holidays != null ? Mono.just(holidays) : Mono.error(error);
+    }
+
+    private CountryYearHolidays lastKnownGood(CountryYearKey key, String reason) {
+        CountryYearHolidays holidays;
+        synchronized (lastKnownGood) {
+            holidays = lastKnownGood.get(key);
+        }
+        holidayMetrics.upstreamFallback(reason, holidays != null);
+        return holidays;
+    }
+
+    //Makes holidays obtained without this guard, such as a snapshot's, the fallback for their (country, year).
+    public void seedLastKnownGood(CountryYearKey key, CountryYearHolidays holidays) {
+        remember(key, holidays);
+    }
+
+    private void remember(CountryYearKey key, CountryYearHolidays holidays) {
+        synchronized (lastKnownGood) {
+            lastKnownGood.put(key, holidays);
+        }
+    }
+}
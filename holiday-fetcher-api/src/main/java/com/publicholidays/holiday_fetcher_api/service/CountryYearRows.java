@@ -0,0 +1,13 @@
+package com.publicholidays.holiday_fetcher_api.service;
+
+import com.publicholidays.holiday_fetcher_api.dto.response.CountryYearHolidaysDTO;
+
+import java.util.function.Consumer;
+
+//Rows of a bulk request, handed over one at a time as each (country, year) becomes ready; forEach returns once every
+//row has been handed over, and stops early when the consumer throws.
+@FunctionalInterface
+public interface CountryYearRows {
+
+    void forEach(Consumer<CountryYearHolidaysDTO> consumer);
+}
@@ -1,6 +1,9 @@
 package com.publicholidays.holiday_fetcher_api.service;
 
+import com.publicholidays.holiday_fetcher_api.dto.response.CountriesOnHolidayDTO;
 import com.publicholidays.holiday_fetcher_api.dto.response.HolidayDTO;
+
+import java.time.LocalDate;
 import java.util.List;
 
 public interface HolidayFetcherService {
@@ -10,4 +13,17 @@ public interface HolidayFetcherService {
     public int getNumberOfHolidaysNotOnWeekends(String country, int year);
 
     public List<HolidayDTO> getHolidaysInCommon(String country1, String country2, int year);
+
+    public List<HolidayDTO> getHolidaysInCommon(List<String> countries, int year);
+
+    public CountriesOnHolidayDTO getCountriesOnHoliday(LocalDate date);
+
+    public List<CountriesOnHolidayDTO> getCountriesOnHoliday(LocalDate from, LocalDate to);
+
+    public int getNumberOfBusinessDays(String country, LocalDate from, LocalDate to);
+
+    public LocalDate addBusinessDays(String country, LocalDate date, int days);
+
+    //Validates the request immediately; the rows are only fetched while they are being consumed.
+    public CountryYearRows getHolidays(List<String> countries, int fromYear, int toYear);
 }
@@ -0,0 +1,32 @@
+package com.publicholidays.holiday_fetcher_api.service;
+
+import com.publicholidays.holiday_fetcher_api.dto.response.CountriesOnHolidayDTO;
+import com.publicholidays.holiday_fetcher_api.dto.response.HolidayDTO;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.List;
+
+//Non-blocking counterpart of HolidayFetcherService: the same operations and errors, completing when the upstream answers.
+//Results the blocking service returns as null complete empty.
+public interface ReactiveHolidayFetcherService {
+
+    public Mono<List<HolidayDTO>> getLastThreeCelebratedHolidays(String country, int year);
+
+    public Mono<Integer> getNumberOfHolidaysNotOnWeekends(String country, int year);
+
+    //Counts of every country, largest first.
+    public Mono<List<Integer>> getNumberOfHolidaysNotOnWeekends(List<String> countries, int year);
+
+    public Mono<List<HolidayDTO>> getHolidaysInCommon(String country1, String country2, int year);
+
+    public Mono<List<HolidayDTO>> getHolidaysInCommon(List<String> countries, int year);
+
+    public Mono<CountriesOnHolidayDTO> getCountriesOnHoliday(LocalDate date);
+
+    public Mono<List<CountriesOnHolidayDTO>> getCountriesOnHoliday(LocalDate from, LocalDate to);
+
+    public Mono<Integer> getNumberOfBusinessDays(String country, LocalDate from, LocalDate to);
+
+    public Mono<LocalDate> addBusinessDays(String country, LocalDate date, int days);
+}
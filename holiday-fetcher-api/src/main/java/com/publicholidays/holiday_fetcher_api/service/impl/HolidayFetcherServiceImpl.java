@@ -1,139 +1,130 @@
 package com.publicholidays.holiday_fetcher_api.service.impl;
 
+import com.publicholidays.holiday_fetcher_api.cache.CountryYearKey;
+import com.publicholidays.holiday_fetcher_api.cache.HolidayCache;
+import com.publicholidays.holiday_fetcher_api.client.NagerDateClient;
+import com.publicholidays.holiday_fetcher_api.concurrent.ParallelFanOut;
 import com.publicholidays.holiday_fetcher_api.exception.HolidayServiceExceptions;
+import com.publicholidays.holiday_fetcher_api.dto.response.CountriesOnHolidayDTO;
+import com.publicholidays.holiday_fetcher_api.dto.response.CountryYearHolidaysDTO;
 import com.publicholidays.holiday_fetcher_api.dto.response.HolidayDTO;
+import com.publicholidays.holiday_fetcher_api.index.CountryHolidayIndex;
+import com.publicholidays.holiday_fetcher_api.jfr.CacheLookupEvent;
+import com.publicholidays.holiday_fetcher_api.metrics.HolidayMetrics;
+import com.publicholidays.holiday_fetcher_api.model.CountryMask;
+import com.publicholidays.holiday_fetcher_api.model.CountryYearHolidays;
+import com.publicholidays.holiday_fetcher_api.resilience.UpstreamGuard;
+import com.publicholidays.holiday_fetcher_api.service.CountryYearRows;
 import com.publicholidays.holiday_fetcher_api.service.HolidayFetcherService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.Objects;
-import java.util.Set;
-import java.util.stream.Collectors;
 import java.util.List;
 
 import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.client.RestTemplate;
+
+import static com.publicholidays.holiday_fetcher_api.service.impl.HolidayValidation.*;
 
 
 @Service
 public class HolidayFetcherServiceImpl implements HolidayFetcherService {
-    private final RestTemplate restTemplate;
+    private static final Logger log = LoggerFactory.getLogger(HolidayFetcherServiceImpl.class);
 
-    //Constructor Injection of Rest Template.
-    public HolidayFetcherServiceImpl(RestTemplate restTemplate) {
-        this.restTemplate = restTemplate;
-    }
-    private final Set<String> validCountryCodes = Set.of(
-            "AD", "AL", "AM", "AR", "AT", "AU", "AX", "BA", "BB", "BE", "BG", "BJ", "BO", "BR", "BS", "BW", "BY", "BZ",
-            "CA", "CH", "CL", "CN", "CO", "CR", "CU", "CY", "CZ", "DE", "DK", "DO", "EC", "EE", "EG", "ES", "FI", "FO",
-            "FR", "GA", "GB", "GD", "GE", "GG", "GI", "GL", "GM", "GR", "GT", "GU", "GY", "HK", "HN", "HR", "HT", "HU",
-            "ID", "IE", "IL", "IM", "IN", "IS", "IT", "JE", "JM", "JP", "KZ", "LB", "LI", "LK", "LT", "LU", "LV", "MA",
-            "MC", "MD", "ME", "MG", "MK", "MN", "MO", "MS", "MT", "MU", "MV", "MX", "MY", "MZ", "NA", "NE", "NG", "NI",
-            "NL", "NO", "NZ", "PA", "PE", "PG", "PH", "PK", "PL", "PR", "PT", "PY", "RO", "RS", "RU", "SG", "SI", "SK",
-            "SM", "SR", "SV", "SY", "TH", "TN", "TR", "TT", "UA", "US", "UY", "VA", "VE", "VN", "ZA"
-    );
+    private final NagerDateClient nagerDateClient;
+    private final HolidayCache holidayCache;
+    private final ParallelFanOut parallelFanOut;
+    private final CountryHolidayIndex countryHolidayIndex;
+    private final UpstreamGuard upstreamGuard;
+    private final HolidayMetrics holidayMetrics;
 
-    //Validation method for country codes.
-    private void validateCountryCode(String country) {
-        if (!validCountryCodes.contains(country)) {
-            throw new HolidayServiceExceptions.BadRequestException("One or both country codes are invalid. Country codes must be composed of two valid characters in capital letters.");
-        }
+    //Constructor Injection of the upstream client and its guard, the holiday cache, the multi-country fan-out, the date index
+    //and the metrics.
+    public HolidayFetcherServiceImpl(NagerDateClient nagerDateClient, HolidayCache holidayCache, ParallelFanOut parallelFanOut,
+                                     CountryHolidayIndex countryHolidayIndex, UpstreamGuard upstreamGuard, HolidayMetrics holidayMetrics) {
+        this.nagerDateClient = nagerDateClient;
+        this.holidayCache = holidayCache;
+        this.parallelFanOut = parallelFanOut;
+        this.countryHolidayIndex = countryHolidayIndex;
+        this.upstreamGuard = upstreamGuard;
+        this.holidayMetrics = holidayMetrics;
     }
 
-    //Validation method for years: also handles the case in which the year selected is in the future.
-    private void validateYear(int year) {
-        int currentYear = LocalDate.now().getYear();
-        if (year < 1000 || year > 9999) {
-            throw new HolidayServiceExceptions.BadRequestException("Invalid year format: " + year);
+    //Shared fetch path for every operation, so a single cached entry serves /last, /non-weekends and /common.
+    //Cache misses reach the upstream through the guard (bulkhead, circuit breaker and last-known-good fallback).
+    //When the lookup event is disabled nothing captures it, so it does not escape and costs no allocation.
+    private CountryYearHolidays loadHolidays(String country, int year) {
+        CacheLookupEvent event = new CacheLookupEvent();
+        if (!event.isEnabled()) {
+            return holidayCache.get(new CountryYearKey(country, year), () -> fetchHolidays(country, year));
         }
-        if (year > currentYear) {
-            throw new HolidayServiceExceptions.BadRequestException("The year cannot be in the future: " + year);
+        boolean[] loaded = new boolean[1];
+        event.begin();
+        try {
+            return holidayCache.get(new CountryYearKey(country, year), () -> {
+                loaded[0] = true;
+                return fetchHolidays(country, year);
+            });
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.country = country;
+                event.year = year;
+                event.loaded = loaded[0];
+                event.commit();
+            }
         }
     }
 
-    //Method to retrieve the last 3 holidays given a country and a year.
-    public List<HolidayDTO> getLastThreeCelebratedHolidays(String country, int year) {
+    private CountryYearHolidays fetchHolidays(String country, int year) {
+        return upstreamGuard.fetch(country, year, () -> nagerDateClient.fetchHolidays(country, year));
+    }
+
+    private CountryYearHolidays getValidatedHolidays(String country, int year) {
         validateCountryCode(country);
         validateYear(year);
-        String url = "https://date.nager.at/api/v3/publicholidays/" + year + "/" + country;
-
-        try {
-            HolidayDTO[] response = restTemplate.getForObject(url, HolidayDTO[].class);
-            if (response != null) {
-                if (response.length == 0) {
-                    throw new HolidayServiceExceptions.HolidayNotFoundException("No holidays found for the given country and year.");
-                }
+        return loadHolidays(country, year);
+    }
 
-                DateTimeFormatter formatter = DateTimeFormatter.ISO_LOCAL_DATE;
-
-                // Filter holidays by valid date and past dates, then sort them in descending order.
-                return Arrays.stream(response)
-                        .filter(holiday -> holiday.getDate() != null)
-                        .filter(holiday -> {
-                            LocalDate holidayDate = LocalDate.parse(holiday.getDate(), formatter);
-                            return holidayDate.isBefore(LocalDate.now()); // Only include past holidays.
-                        })
-                        .sorted((h1, h2) -> {
-                            LocalDate date1 = LocalDate.parse(h1.getDate(), formatter);
-                            LocalDate date2 = LocalDate.parse(h2.getDate(), formatter);
-                            return date2.compareTo(date1); // Sort in descending order by date,
-                        })
-                        .limit(3) // Limit to the last 3 holidays.
-                        .collect(Collectors.toList());
-            }
-        } catch (HttpClientErrorException e) {
-            if (e.getStatusCode().value() == 404) {
-                throw new HolidayServiceExceptions.HolidayNotFoundException("No holidays found for the given country and year.");
-            } else if (e.getStatusCode().value() == 400) {
-                throw new HolidayServiceExceptions.BadRequestException("Invalid request. Please insert valid data input.");
-            } else if (e.getStatusCode().value() == 500) {
-                throw new HolidayServiceExceptions.UnknownErrorException("An unexpected error occurred while retrieving holidays.");
-            }
+    //Method to retrieve the last 3 holidays given a country and a year.
+    public List<HolidayDTO> getLastThreeCelebratedHolidays(String country, int year) {
+        CountryYearHolidays holidays = getValidatedHolidays(country, year);
+        if (holidays == null) {
+            return null;
+        }
+        if (holidays.isEmpty()) {
+            throw new HolidayServiceExceptions.HolidayNotFoundException("No holidays found for the given country and year.");
         }
-        return null;
+
+        // The summary keeps the dates latest first, so only past holidays is a binary search for today.
+        int today = (int) LocalDate.now().toEpochDay();
+        return holidayMetrics.computation("last", () -> holidays.toHolidayDTOs(holidays.latestBefore(today, 3)));
     }
 
 
 
     public int getNumberOfHolidaysNotOnWeekends (String country, int year){
-        validateCountryCode(country);
-        validateYear(year);
-        String url = "https://date.nager.at/api/v3/publicholidays/" + year + "/" + country;
-        try {
-            HolidayDTO[] response = restTemplate.getForObject(url, HolidayDTO[].class);
-            if (response != null) {
-                DateTimeFormatter formatter = DateTimeFormatter.ISO_LOCAL_DATE;
-                return (int) Arrays.stream(response)
-                        .filter(holiday -> {
-                            LocalDate date = LocalDate.parse(holiday.getDate(), formatter);
-                            int dayOfWeek = date.getDayOfWeek().getValue();
-                            return dayOfWeek != 6 && dayOfWeek != 7;
-                        })
-                        .count();
-            }
-        } catch (HttpClientErrorException e) {
-            if (e.getStatusCode().value() == 404) {
-                throw new HolidayServiceExceptions.HolidayNotFoundException("No holidays found for the given country and year.");
-            } else if (e.getStatusCode().value() == 500){
-                throw new HolidayServiceExceptions.UnknownErrorException("An unexpected error occurred while retrieving holidays.");
-            }
+        CountryYearHolidays holidays = getValidatedHolidays(country, year);
+        if (holidays == null) {
+            return 0;
         }
-        return 0;
+        return holidays.countNotOnWeekends();
     }
 
     public List<HolidayDTO> getHolidaysInCommon(String country1, String country2, int year) {
-        //The countries and year have already been validated in getHolidaysByCountryAndYear.
+        //The countries and year are validated in getValidatedHolidays.
         if (Objects.equals(country1, country2)) {
             throw new HolidayServiceExceptions.BadRequestException("You cannot compare the same country!");
         }
-        List<HolidayDTO> holidays1;
-        List<HolidayDTO> holidays2;
+        CountryYearHolidays holidays1;
+        CountryYearHolidays holidays2;
 
         try {
-            holidays1 = getHolidaysByCountryAndYear(country1, year);
-            holidays2 = getHolidaysByCountryAndYear(country2, year);
+            holidays1 = getValidatedHolidays(country1, year);
+            holidays2 = getValidatedHolidays(country2, year);
         } catch (HttpClientErrorException e) {
             if (e.getStatusCode().value() == 404) {
                 throw new HolidayServiceExceptions.HolidayNotFoundException("Holidays not found for one or both countries: " + country1 + ", " + country2);
@@ -145,32 +136,177 @@ public class HolidayFetcherServiceImpl implements HolidayFetcherService {
             throw new HolidayServiceExceptions.BadRequestException("Holidays list is null for one or both countries: " + country1 + ", " + country2);
         }
 
-        return holidays1.stream()
-                .filter(holiday1 -> holidays2
-                .stream()
-                .anyMatch(holiday2 -> holiday1
-                .getDate()
-                .equals(holiday2.getDate())))
-                .collect(Collectors.toList());
+        CountryYearHolidays first = holidays1;
+        CountryYearHolidays second = holidays2;
+        return holidayMetrics.computation("common", () -> first.toHolidayDTOs(first.indexesInCommonWith(second)));
 
     }
-    public List<HolidayDTO> getHolidaysByCountryAndYear (String country, int year){
+    //Holidays shared by all the given countries, intersecting their day-of-year bitsets.
+    //Names are taken from the first country, as in the two-country comparison.
+    public List<HolidayDTO> getHolidaysInCommon(List<String> countries, int year) {
+        validateCommonCountries(countries, year);
+
+        List<CountryYearHolidays> holidays = parallelFanOut.map(countries, country -> loadHolidays(country, year));
+        if (holidays.contains(null)) {
+            throw new HolidayServiceExceptions.BadRequestException("Holidays list is null for one or more countries: " + String.join(", ", countries));
+        }
+
+        CountryYearHolidays first = holidays.get(0);
+        return holidayMetrics.computation("common-countries",
+                () -> first.toHolidayDTOs(first.indexesOnDaysOfYear(CountryYearHolidays.commonDaysOfYear(holidays))));
+    }
+
+    public CountriesOnHolidayDTO getCountriesOnHoliday(LocalDate date) {
+        validateYear(date.getYear());
+        ensureIndexed(date.getYear());
+        return holidayMetrics.computation("countries",
+                () -> new CountriesOnHolidayDTO(date.toString(), countryHolidayIndex.countriesOnHoliday(date).toCountryCodes()));
+    }
+
+    //Only the dates on which at least one country has a holiday are returned.
+    public List<CountriesOnHolidayDTO> getCountriesOnHoliday(LocalDate from, LocalDate to) {
+        validateDateRange(from, to);
+        for (int year = from.getYear(); year <= to.getYear(); year++) {
+            validateYear(year);
+            ensureIndexed(year);
+        }
+
+        return holidayMetrics.computation("countries-range", () -> countriesOnHolidayBetween(countryHolidayIndex, from, to));
+    }
+
+    static List<CountriesOnHolidayDTO> countriesOnHolidayBetween(CountryHolidayIndex countryHolidayIndex, LocalDate from, LocalDate to) {
+        List<CountriesOnHolidayDTO> result = new ArrayList<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            CountryMask countries = countryHolidayIndex.countriesOnHoliday(date);
+            if (!countries.isEmpty()) {
+                result.add(new CountriesOnHolidayDTO(date.toString(), countries.toCountryCodes()));
+            }
+        }
+        return result;
+    }
+
+    //Loads every supported country missing from the index for the year; once warm this does nothing.
+    //A country whose load fails is left out of the answer and stays uncovered, so the next request tries it again.
+    private void ensureIndexed(int year) {
+        CountryMask missing = CountryMask.all().andNot(countryHolidayIndex.coverage(year));
+        if (missing.isEmpty()) {
+            return;
+        }
+        parallelFanOut.map(missing.toCountryCodes(), country -> {
+            try {
+                if (loadHolidays(country, year) == null) {
+                    countryHolidayIndex.markCovered(year, country);
+                }
+            } catch (HolidayServiceExceptions.HolidayNotFoundException e) {
+                countryHolidayIndex.markCovered(year, country);
+            } catch (RuntimeException e) {
+                log.warn("Could not index holidays of {} for {}, answering without them: {}", country, year, e.getMessage());
+            }
+            return country;
+        });
+    }
+
+    //Working days between the two dates, both included, excluding weekends and the country's public holidays.
+    //Each year contributes one popcount over its business-day bitset, so the cost grows with years, not days.
+    public int getNumberOfBusinessDays(String country, LocalDate from, LocalDate to) {
+        validateBusinessDayRange(country, from, to);
+
+        List<CountryYearHolidays> years = new ArrayList<>();
+        for (int year = from.getYear(); year <= to.getYear(); year++) {
+            years.add(getCalendarYear(country, year));
+        }
+        return holidayMetrics.computation("business-days", () -> countBusinessDays(years, from, to));
+    }
+
+    //Business days between the dates in the given consecutive calendar years, which span exactly the dates' years.
+    static int countBusinessDays(List<CountryYearHolidays> years, LocalDate from, LocalDate to) {
+        int count = 0;
+        for (CountryYearHolidays holidays : years) {
+            int firstDay = holidays.year() == from.getYear() ? from.getDayOfYear() - 1 : 0;
+            int lastDay = holidays.year() == to.getYear() ? to.getDayOfYear() - 1 : holidays.daysInYear() - 1;
+            count += holidays.countBusinessDays(firstDay, lastDay);
+        }
+        return count;
+    }
+
+    //Date reached by moving the given number of business days from the date, forwards or backwards when negative.
+    //Whole years are skipped by their business-day counts, so the cost grows with years, not days.
+    public LocalDate addBusinessDays(String country, LocalDate date, int days) {
         validateCountryCode(country);
-        validateYear(year);
-        String url = "https://date.nager.at/api/v3/publicholidays/" + year + "/" + country;
-        try {
-            HolidayDTO[] response = restTemplate.getForObject(url, HolidayDTO[].class);
-            if (response != null) {
-                return Arrays.asList(response);
+        validateYearFormat(date.getYear());
+        validateBusinessDayCount(days);
+        if (days == 0) {
+            return date;
+        }
+        int remaining = Math.abs(days);
+        int year = date.getYear();
+        CountryYearHolidays holidays = getCalendarYear(country, year);
+        if (days > 0) {
+            int fromDay = date.getDayOfYear();
+            while (true) {
+                int available = holidays.countBusinessDays(fromDay, holidays.daysInYear() - 1);
+                if (remaining <= available) {
+                    return LocalDate.ofYearDay(year, holidays.nthBusinessDayFrom(fromDay, remaining) + 1);
+                }
+                remaining -= available;
+                year++;
+                validateBusinessDaySpan(date.getYear(), year);
+                holidays = getCalendarYear(country, year);
+                fromDay = 0;
             }
-        } catch (HttpClientErrorException e) {
-            if (e.getStatusCode().value() == 404) {
-                throw new HolidayServiceExceptions.HolidayNotFoundException("No holidays found for the given country and year.");
-            } else {
-                throw new HolidayServiceExceptions.UnknownErrorException("An unexpected error occurred while retrieving holidays.");
+        }
+        int toDay = date.getDayOfYear() - 2;
+        while (true) {
+            int available = holidays.countBusinessDays(0, toDay);
+            if (remaining <= available) {
+                return LocalDate.ofYearDay(year, holidays.nthBusinessDayBackFrom(toDay, remaining) + 1);
             }
+            remaining -= available;
+            year--;
+            validateBusinessDaySpan(year, date.getYear());
+            holidays = getCalendarYear(country, year);
+            toDay = holidays.daysInYear() - 1;
+        }
+    }
+
+    //Holidays of a year for calendar calculations, which cannot proceed without them.
+    private CountryYearHolidays getCalendarYear(String country, int year) {
+        CountryYearHolidays holidays = loadHolidays(country, year);
+        if (holidays == null) {
+            throw new HolidayServiceExceptions.HolidayNotFoundException("No holidays found for the given country and year.");
+        }
+        return holidays;
+    }
+
+    //Rows come in completion order, fetched with the bounded bulk parallelism of the fan-out. A country-year that cannot be
+    //retrieved becomes an error row, so one failure does not end a long stream.
+    public CountryYearRows getHolidays(List<String> countries, int fromYear, int toYear) {
+        validateBulkRequest(countries, fromYear, toYear);
+        List<CountryYearKey> keys = new ArrayList<>(countries.size() * (toYear - fromYear + 1));
+        for (String country : countries) {
+            for (int year = fromYear; year <= toYear; year++) {
+                keys.add(new CountryYearKey(country, year));
+            }
+        }
+        return consumer -> parallelFanOut.forEachCompleted(keys, this::getCountryYearRow, consumer);
+    }
+
+    private CountryYearHolidaysDTO getCountryYearRow(CountryYearKey key) {
+        try {
+            CountryYearHolidays holidays = loadHolidays(key.country(), key.year());
+            if (holidays == null) {
+                return new CountryYearHolidaysDTO(key.country(), key.year(), null, "No holidays found for the given country and year.");
+            }
+            return new CountryYearHolidaysDTO(key.country(), key.year(), holidays.toHolidayDTOs(), null);
+        } catch (HolidayServiceExceptions e) {
+            return new CountryYearHolidaysDTO(key.country(), key.year(), null, e.getMessage());
+        } catch (RuntimeException e) {
+            return new CountryYearHolidaysDTO(key.country(), key.year(), null, "An unexpected error occurred while retrieving holidays.");
         }
-        return null;
     }
-}
 
+    public List<HolidayDTO> getHolidaysByCountryAndYear (String country, int year){
+        CountryYearHolidays holidays = getValidatedHolidays(country, year);
+        return holidays != null ? holidays.toHolidayDTOs() : null;
+    }
+}
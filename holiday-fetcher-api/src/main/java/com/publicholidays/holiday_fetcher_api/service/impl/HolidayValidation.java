@@ -0,0 +1,117 @@
+package com.publicholidays.holiday_fetcher_api.service.impl;
+
+import com.publicholidays.holiday_fetcher_api.exception.HolidayServiceExceptions;
+import com.publicholidays.holiday_fetcher_api.model.CountryCodes;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.HashSet;
+import java.util.List;
+
+//Request validation shared by the blocking and the reactive service, so both modes reject the same input the same way.
+final class HolidayValidation {
+
+    //Longest date range answered by a single countries-on-holiday request.
+    static final int MAX_DATE_RANGE_DAYS = 366;
+    //Number of calendar years a business-day calculation may span.
+    static final int MAX_BUSINESS_DAY_SPAN_YEARS = 50;
+    //Most weekdays a year can have: 52 full weeks plus the two extra days of a leap year.
+    static final int MAX_WEEKDAYS_PER_YEAR = 262;
+    //Largest number of business days that can be added or subtracted: the most the span could ever hold, so a larger
+    //count is rejected before it loads every year of the span.
+    static final int MAX_BUSINESS_DAYS = MAX_BUSINESS_DAY_SPAN_YEARS * MAX_WEEKDAYS_PER_YEAR;
+    //Number of (country, year) rows a single bulk request may ask for: every country over 40 years.
+    static final int MAX_BULK_ROWS = 5000;
+
+    //Thrown for every invalid country code: the exception is stackless, so one instance serves the whole invalid-input flood.
+    private static final HolidayServiceExceptions.BadRequestException INVALID_COUNTRY_CODE = HolidayServiceExceptions.BadRequestException.fixed(
+            "One or both country codes are invalid. Country codes must be composed of two valid characters in capital letters.");
+
+    private HolidayValidation() {
+    }
+
+    //Validation method for country codes.
+    static void validateCountryCode(String country) {
+        if (!CountryCodes.isValid(country)) {
+            throw INVALID_COUNTRY_CODE;
+        }
+    }
+
+    //Validation method for years: also handles the case in which the year selected is in the future.
+    static void validateYear(int year) {
+        int currentYear = LocalDate.now().getYear();
+        validateYearFormat(year);
+        if (year > currentYear) {
+            throw new HolidayServiceExceptions.BadRequestException("The year cannot be in the future: " + year);
+        }
+    }
+
+    //Business-day calculations also need future years, so they only check the format.
+    static void validateYearFormat(int year) {
+        if (year < 1000 || year > 9999) {
+            throw new HolidayServiceExceptions.BadRequestException("Invalid year format: " + year);
+        }
+    }
+
+    static void validateCommonCountries(List<String> countries, int year) {
+        if (countries.size() < 2) {
+            throw new HolidayServiceExceptions.BadRequestException("At least two countries are required to find common holidays.");
+        }
+        if (new HashSet<>(countries).size() != countries.size()) {
+            throw new HolidayServiceExceptions.BadRequestException("You cannot compare the same country!");
+        }
+        countries.forEach(HolidayValidation::validateCountryCode);
+        validateYear(year);
+    }
+
+    static void validateDateRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new HolidayServiceExceptions.BadRequestException("The start date cannot be after the end date.");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_DATE_RANGE_DAYS) {
+            throw new HolidayServiceExceptions.BadRequestException("The date range cannot exceed " + MAX_DATE_RANGE_DAYS + " days.");
+        }
+    }
+
+    static void validateBusinessDayRange(String country, LocalDate from, LocalDate to) {
+        validateCountryCode(country);
+        if (from.isAfter(to)) {
+            throw new HolidayServiceExceptions.BadRequestException("The start date cannot be after the end date.");
+        }
+        validateBusinessDaySpan(from.getYear(), to.getYear());
+    }
+
+    static void validateBusinessDaySpan(int fromYear, int toYear) {
+        validateYearFormat(fromYear);
+        validateYearFormat(toYear);
+        if (toYear - fromYear >= MAX_BUSINESS_DAY_SPAN_YEARS) {
+            throw new HolidayServiceExceptions.BadRequestException("Business-day calculations cannot span more than " + MAX_BUSINESS_DAY_SPAN_YEARS + " years.");
+        }
+    }
+
+    //Checked before any year is loaded, so an out-of-range count costs no upstream fetch. Integer.MIN_VALUE has no
+    //absolute value, hence the check on both sides.
+    static void validateBusinessDayCount(int days) {
+        if (days < -MAX_BUSINESS_DAYS || days > MAX_BUSINESS_DAYS) {
+            throw new HolidayServiceExceptions.BadRequestException("The number of business days cannot exceed " + MAX_BUSINESS_DAYS + ".");
+        }
+    }
+
+    static void validateBulkRequest(List<String> countries, int fromYear, int toYear) {
+        if (countries.isEmpty()) {
+            throw new HolidayServiceExceptions.BadRequestException("At least one country is required.");
+        }
+        if (new HashSet<>(countries).size() != countries.size()) {
+            throw new HolidayServiceExceptions.BadRequestException("Each country can only be requested once.");
+        }
+        countries.forEach(HolidayValidation::validateCountryCode);
+        validateYear(fromYear);
+        validateYear(toYear);
+        if (fromYear > toYear) {
+            throw new HolidayServiceExceptions.BadRequestException("The start year cannot be after the end year.");
+        }
+        if ((long) countries.size() * (toYear - fromYear + 1) > MAX_BULK_ROWS) {
+            throw new HolidayServiceExceptions.BadRequestException("A bulk request cannot exceed " + MAX_BULK_ROWS + " country-years.");
+        }
+    }
+}
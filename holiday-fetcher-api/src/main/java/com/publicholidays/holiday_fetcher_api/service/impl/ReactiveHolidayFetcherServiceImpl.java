@@ -0,0 +1,248 @@
+package com.publicholidays.holiday_fetcher_api.service.impl;
+
+import com.publicholidays.holiday_fetcher_api.cache.CountryYearKey;
+import com.publicholidays.holiday_fetcher_api.cache.HolidayCache;
+import com.publicholidays.holiday_fetcher_api.client.ReactiveNagerDateClient;
+import com.publicholidays.holiday_fetcher_api.concurrent.FanOutProperties;
+import com.publicholidays.holiday_fetcher_api.dto.response.CountriesOnHolidayDTO;
+import com.publicholidays.holiday_fetcher_api.dto.response.HolidayDTO;
+import com.publicholidays.holiday_fetcher_api.exception.HolidayServiceExceptions;
+import com.publicholidays.holiday_fetcher_api.index.CountryHolidayIndex;
+import com.publicholidays.holiday_fetcher_api.metrics.HolidayMetrics;
+import com.publicholidays.holiday_fetcher_api.model.CountryMask;
+import com.publicholidays.holiday_fetcher_api.model.CountryYearHolidays;
+import com.publicholidays.holiday_fetcher_api.resilience.UpstreamGuard;
+import com.publicholidays.holiday_fetcher_api.service.ReactiveHolidayFetcherService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeoutException;
+
+import static com.publicholidays.holiday_fetcher_api.service.impl.HolidayValidation.*;
+
+//Reactive mode of the service: the same cache, index and upstream guard as the blocking one, but no thread waits
+//for the upstream, so the number of concurrent cold requests is bounded by connections rather than by threads.
+@Service
+@ConditionalOnProperty(name = "holidays.service.mode", havingValue = "reactive")
+public class ReactiveHolidayFetcherServiceImpl implements ReactiveHolidayFetcherService {
+    private static final Logger log = LoggerFactory.getLogger(ReactiveHolidayFetcherServiceImpl.class);
+
+    //Stands for the last day of a year whose length is only known once its holidays are loaded.
+    private static final int LAST_DAY_OF_YEAR = Integer.MAX_VALUE;
+
+    private final ReactiveNagerDateClient nagerDateClient;
+    private final HolidayCache holidayCache;
+    private final CountryHolidayIndex countryHolidayIndex;
+    private final UpstreamGuard upstreamGuard;
+    private final HolidayMetrics holidayMetrics;
+    private final FanOutProperties fanOutProperties;
+    //Concurrent misses on the same key share one upstream call, like the SingleFlight behind HolidayCache.get.
+    private final ConcurrentMap<CountryYearKey, Mono<CountryYearHolidays>> inFlight = new ConcurrentHashMap<>();
+
+    //Constructor Injection of the non-blocking upstream client and its guard, the holiday cache, the date index,
+    //the metrics and the fan-out settings, whose deadline also bounds multi-country requests here.
+    public ReactiveHolidayFetcherServiceImpl(ReactiveNagerDateClient nagerDateClient, HolidayCache holidayCache,
+                                             CountryHolidayIndex countryHolidayIndex, UpstreamGuard upstreamGuard,
+                                             HolidayMetrics holidayMetrics, FanOutProperties fanOutProperties) {
+        this.nagerDateClient = nagerDateClient;
+        this.holidayCache = holidayCache;
+        this.countryHolidayIndex = countryHolidayIndex;
+        this.upstreamGuard = upstreamGuard;
+        this.holidayMetrics = holidayMetrics;
+        this.fanOutProperties = fanOutProperties;
+    }
+
+    //Cache hits complete immediately; misses go through the guard and are stored once the upstream answers.
+    //Completes empty when the upstream has no body, where the blocking service gets null.
+    private Mono<CountryYearHolidays> loadHolidays(String country, int year) {
+        CountryYearKey key = new CountryYearKey(country, year);
+        return Mono.defer(() -> {
+            CountryYearHolidays cached = holidayCache.getIfPresent(key);
+            if (cached != null) {
+                return Mono.just(cached);
+            }
+            //The call looks at the cache again once subscribed, in case the previous call stored the key meanwhile.
+            return inFlight.computeIfAbsent(key, k -> Mono.defer(() -> Mono.justOrEmpty(holidayCache.peek(k)))
+                    .switchIfEmpty(upstreamGuard
+                            .fetchReactive(country, year, () -> nagerDateClient.fetchHolidays(country, year))
+                            .doOnNext(holidays -> holidayCache.put(k, holidays)))
+                    .doFinally(signal -> inFlight.remove(k))
+                    .cache());
+        });
+    }
+
+    private Mono<CountryYearHolidays> getValidatedHolidays(String country, int year) {
+        return Mono.defer(() -> {
+            validateCountryCode(country);
+            validateYear(year);
+            return loadHolidays(country, year);
+        });
+    }
+
+    public Mono<List<HolidayDTO>> getLastThreeCelebratedHolidays(String country, int year) {
+        return getValidatedHolidays(country, year).map(holidays -> {
+            if (holidays.isEmpty()) {
+                throw new HolidayServiceExceptions.HolidayNotFoundException("No holidays found for the given country and year.");
+            }
+            int today = (int) LocalDate.now().toEpochDay();
+            return holidayMetrics.computation("last", () -> holidays.toHolidayDTOs(holidays.latestBefore(today, 3)));
+        });
+    }
+
+    public Mono<Integer> getNumberOfHolidaysNotOnWeekends(String country, int year) {
+        return getValidatedHolidays(country, year)
+                .map(CountryYearHolidays::countNotOnWeekends)
+                .defaultIfEmpty(0);
+    }
+
+    //At most max-parallelism countries are fetched at once, within the fan-out deadline, as in the blocking fan-out.
+    public Mono<List<Integer>> getNumberOfHolidaysNotOnWeekends(List<String> countries, int year) {
+        return withDeadline(Flux.fromIterable(countries)
+                .flatMapSequential(country -> getNumberOfHolidaysNotOnWeekends(country, year), fanOutProperties.getMaxParallelism())
+                .sort(Comparator.reverseOrder())
+                .collectList());
+    }
+
+    public Mono<List<HolidayDTO>> getHolidaysInCommon(String country1, String country2, int year) {
+        if (Objects.equals(country1, country2)) {
+            return Mono.error(new HolidayServiceExceptions.BadRequestException("You cannot compare the same country!"));
+        }
+        String missing = "Holidays list is null for one or both countries: " + country1 + ", " + country2;
+        return getValidatedHolidays(country1, year)
+                .switchIfEmpty(Mono.error(() -> new HolidayServiceExceptions.BadRequestException(missing)))
+                .zipWith(getValidatedHolidays(country2, year)
+                        .switchIfEmpty(Mono.error(() -> new HolidayServiceExceptions.BadRequestException(missing))))
+                .map(pair -> holidayMetrics.computation("common",
+                        () -> pair.getT1().toHolidayDTOs(pair.getT1().indexesInCommonWith(pair.getT2()))));
+    }
+
+    public Mono<List<HolidayDTO>> getHolidaysInCommon(List<String> countries, int year) {
+        return Mono.defer(() -> {
+            validateCommonCountries(countries, year);
+            String missing = "Holidays list is null for one or more countries: " + String.join(", ", countries);
+            return withDeadline(Flux.fromIterable(countries)
+                    .flatMapSequential(country -> loadHolidays(country, year)
+                            .switchIfEmpty(Mono.error(() -> new HolidayServiceExceptions.BadRequestException(missing))),
+                            fanOutProperties.getMaxParallelism())
+                    .collectList());
+        }).map(holidays -> {
+            CountryYearHolidays first = holidays.get(0);
+            return holidayMetrics.computation("common-countries",
+                    () -> first.toHolidayDTOs(first.indexesOnDaysOfYear(CountryYearHolidays.commonDaysOfYear(holidays))));
+        });
+    }
+
+    public Mono<CountriesOnHolidayDTO> getCountriesOnHoliday(LocalDate date) {
+        return Mono.defer(() -> {
+            validateYear(date.getYear());
+            return ensureIndexed(date.getYear());
+        }).then(Mono.fromCallable(() -> holidayMetrics.computation("countries",
+                () -> new CountriesOnHolidayDTO(date.toString(), countryHolidayIndex.countriesOnHoliday(date).toCountryCodes()))));
+    }
+
+    public Mono<List<CountriesOnHolidayDTO>> getCountriesOnHoliday(LocalDate from, LocalDate to) {
+        return Mono.defer(() -> {
+            validateDateRange(from, to);
+            for (int year = from.getYear(); year <= to.getYear(); year++) {
+                validateYear(year);
+            }
+            return Flux.range(from.getYear(), to.getYear() - from.getYear() + 1)
+                    .concatMap(this::ensureIndexed)
+                    .then();
+        }).then(Mono.fromCallable(() -> holidayMetrics.computation("countries-range",
+                () -> HolidayFetcherServiceImpl.countriesOnHolidayBetween(countryHolidayIndex, from, to))));
+    }
+
+    //Loads every supported country missing from the index for the year; once warm this completes immediately.
+    //At most max-parallelism loads are in flight, as in the blocking fan-out, so a cold index does not fill the bulkhead.
+    //A country whose load fails is left out of the answer and stays uncovered, so the next request tries it again.
+    private Mono<Void> ensureIndexed(int year) {
+        CountryMask missing = CountryMask.all().andNot(countryHolidayIndex.coverage(year));
+        if (missing.isEmpty()) {
+            return Mono.empty();
+        }
+        return withDeadline(Flux.fromIterable(missing.toCountryCodes())
+                .flatMap(country -> loadHolidays(country, year)
+                        .switchIfEmpty(Mono.fromRunnable(() -> countryHolidayIndex.markCovered(year, country)))
+                        .onErrorResume(e -> {
+                            if (e instanceof HolidayServiceExceptions.HolidayNotFoundException) {
+                                countryHolidayIndex.markCovered(year, country);
+                            } else {
+                                log.warn("Could not index holidays of {} for {}, answering without them: {}",
+                                        country, year, e.getMessage());
+                            }
+                            return Mono.empty();
+                        }), fanOutProperties.getMaxParallelism())
+                .then());
+    }
+
+    public Mono<Integer> getNumberOfBusinessDays(String country, LocalDate from, LocalDate to) {
+        return Mono.defer(() -> {
+            validateBusinessDayRange(country, from, to);
+            return withDeadline(Flux.range(from.getYear(), to.getYear() - from.getYear() + 1)
+                    .flatMapSequential(year -> getCalendarYear(country, year), fanOutProperties.getMaxParallelism())
+                    .collectList());
+        }).map(years -> holidayMetrics.computation("business-days",
+                () -> HolidayFetcherServiceImpl.countBusinessDays(years, from, to)));
+    }
+
+    //Same walk as the blocking service, with each further year loaded only once the previous one is exhausted.
+    public Mono<LocalDate> addBusinessDays(String country, LocalDate date, int days) {
+        return Mono.defer(() -> {
+            validateCountryCode(country);
+            validateYearFormat(date.getYear());
+            validateBusinessDayCount(days);
+            if (days == 0) {
+                return Mono.just(date);
+            }
+            if (days > 0) {
+                return addForward(country, date.getYear(), date.getYear(), date.getDayOfYear(), days);
+            }
+            return addBackward(country, date.getYear(), date.getYear(), date.getDayOfYear() - 2, -days);
+        });
+    }
+
+    private Mono<LocalDate> addForward(String country, int startYear, int year, int fromDay, int remaining) {
+        return getCalendarYear(country, year).flatMap(holidays -> {
+            int available = holidays.countBusinessDays(fromDay, holidays.daysInYear() - 1);
+            if (remaining <= available) {
+                return Mono.just(LocalDate.ofYearDay(year, holidays.nthBusinessDayFrom(fromDay, remaining) + 1));
+            }
+            validateBusinessDaySpan(startYear, year + 1);
+            return addForward(country, startYear, year + 1, 0, remaining - available);
+        });
+    }
+
+    private Mono<LocalDate> addBackward(String country, int startYear, int year, int toDay, int remaining) {
+        return getCalendarYear(country, year).flatMap(holidays -> {
+            int lastDay = toDay == LAST_DAY_OF_YEAR ? holidays.daysInYear() - 1 : toDay;
+            int available = holidays.countBusinessDays(0, lastDay);
+            if (remaining <= available) {
+                return Mono.just(LocalDate.ofYearDay(year, holidays.nthBusinessDayBackFrom(lastDay, remaining) + 1));
+            }
+            validateBusinessDaySpan(year - 1, startYear);
+            return addBackward(country, startYear, year - 1, LAST_DAY_OF_YEAR, remaining - available);
+        });
+    }
+
+    private Mono<CountryYearHolidays> getCalendarYear(String country, int year) {
+        return loadHolidays(country, year).switchIfEmpty(Mono.error(() ->
+                new HolidayServiceExceptions.HolidayNotFoundException("No holidays found for the given country and year.")));
+    }
+
+    private <T> Mono<T> withDeadline(Mono<T> mono) {
+        return mono.timeout(fanOutProperties.getDeadline())
+                .onErrorMap(TimeoutException.class, e ->
+                        new HolidayServiceExceptions.UnknownErrorException("Timed out while retrieving holidays for the requested countries."));
+    }
+}
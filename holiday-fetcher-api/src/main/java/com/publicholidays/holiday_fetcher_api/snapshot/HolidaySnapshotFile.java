@@ -0,0 +1,139 @@
+package com.publicholidays.holiday_fetcher_api.snapshot;
+
+import com.publicholidays.holiday_fetcher_api.cache.CountryYearKey;
+import com.publicholidays.holiday_fetcher_api.model.CountryYearHolidays;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+//Binary snapshot of cached holidays, read through a memory mapping so a restart needs no JSON or date parsing.
+//Layout, little-endian:
+//  header   magic, version, entry count, record count, string count
+//  index    per (country, year): 2 ASCII country bytes, year as short, first record, record count
+//  records  per holiday: epoch day, string index (fixed width, 8 bytes)
+//  strings  per name: byte offset into the string data, then the UTF-8 string data
+public final class HolidaySnapshotFile {
+
+    static final int MAGIC = 0x484F4C53;
+    static final int VERSION = 1;
+    private static final int HEADER_BYTES = 5 * Integer.BYTES;
+    private static final int INDEX_ENTRY_BYTES = 12;
+    private static final int RECORD_BYTES = 8;
+
+    private HolidaySnapshotFile() {
+    }
+
+    //Writes to a temporary file first and moves it in place, so readers never see a partial snapshot.
+    public static void write(Path path, Map<CountryYearKey, CountryYearHolidays> holidays) throws IOException {
+        Map<String, Integer> stringIndexes = new HashMap<>();
+        List<byte[]> strings = new ArrayList<>();
+        int recordCount = 0;
+        for (CountryYearHolidays countryYear : holidays.values()) {
+            for (int i = 0; i < countryYear.size(); i++) {
+                String name = countryYear.name(i) != null ? countryYear.name(i) : "";
+                stringIndexes.computeIfAbsent(name, key -> {
+                    strings.add(key.getBytes(StandardCharsets.UTF_8));
+                    return strings.size() - 1;
+                });
+            }
+            recordCount += countryYear.size();
+        }
+        int stringBytes = strings.stream().mapToInt(bytes -> bytes.length).sum();
+
+        int size = HEADER_BYTES + holidays.size() * INDEX_ENTRY_BYTES + recordCount * RECORD_BYTES
+                + (strings.size() + 1) * Integer.BYTES + stringBytes;
+        ByteBuffer buffer = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(holidays.size()).putInt(recordCount).putInt(strings.size());
+
+        int firstRecord = 0;
+        for (Map.Entry<CountryYearKey, CountryYearHolidays> entry : holidays.entrySet()) {
+            String country = entry.getKey().country();
+            buffer.put((byte) country.charAt(0)).put((byte) country.charAt(1));
+            buffer.putShort((short) entry.getKey().year());
+            buffer.putInt(firstRecord).putInt(entry.getValue().size());
+            firstRecord += entry.getValue().size();
+        }
+        for (CountryYearHolidays countryYear : holidays.values()) {
+            for (int i = 0; i < countryYear.size(); i++) {
+                String name = countryYear.name(i) != null ? countryYear.name(i) : "";
+                buffer.putInt(countryYear.epochDay(i)).putInt(stringIndexes.get(name));
+            }
+        }
+        int offset = 0;
+        for (byte[] string : strings) {
+            buffer.putInt(offset);
+            offset += string.length;
+        }
+        buffer.putInt(offset);
+        strings.forEach(buffer::put);
+
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        Files.write(temporary, buffer.array());
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public static Map<CountryYearKey, CountryYearHolidays> read(Path path) throws IOException {
+        MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        ByteBuffer buffer = mapped.order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.remaining() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a holiday snapshot: " + path);
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IOException("Unsupported holiday snapshot version " + buffer.getInt(4) + ": " + path);
+        }
+        int entryCount = buffer.getInt(8);
+        int recordCount = buffer.getInt(12);
+        int stringCount = buffer.getInt(16);
+        int indexStart = HEADER_BYTES;
+        int recordStart = indexStart + entryCount * INDEX_ENTRY_BYTES;
+        int offsetStart = recordStart + recordCount * RECORD_BYTES;
+        int stringStart = offsetStart + (stringCount + 1) * Integer.BYTES;
+
+        //Each name is decoded once, however many holidays share it.
+        String[] strings = new String[stringCount];
+        byte[] scratch = new byte[0];
+        for (int i = 0; i < stringCount; i++) {
+            int from = buffer.getInt(offsetStart + i * Integer.BYTES);
+            int length = buffer.getInt(offsetStart + (i + 1) * Integer.BYTES) - from;
+            if (scratch.length < length) {
+                scratch = new byte[length];
+            }
+            buffer.get(stringStart + from, scratch, 0, length);
+            strings[i] = new String(scratch, 0, length, StandardCharsets.UTF_8);
+        }
+
+        Map<CountryYearKey, CountryYearHolidays> holidays = new LinkedHashMap<>();
+        for (int entry = 0; entry < entryCount; entry++) {
+            int position = indexStart + entry * INDEX_ENTRY_BYTES;
+            String country = new String(new char[]{(char) buffer.get(position), (char) buffer.get(position + 1)});
+            int year = buffer.getShort(position + 2);
+            int firstRecord = buffer.getInt(position + 4);
+            int size = buffer.getInt(position + 8);
+            int[] epochDays = new int[size];
+            String[] names = new String[size];
+            for (int i = 0; i < size; i++) {
+                int record = recordStart + (firstRecord + i) * RECORD_BYTES;
+                epochDays[i] = buffer.getInt(record);
+                names[i] = strings[buffer.getInt(record + Integer.BYTES)];
+            }
+            holidays.put(new CountryYearKey(country, year), CountryYearHolidays.fromSortedEpochDays(year, epochDays, names));
+        }
+        return holidays;
+    }
+}
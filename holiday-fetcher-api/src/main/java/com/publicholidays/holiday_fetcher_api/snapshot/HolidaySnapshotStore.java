@@ -0,0 +1,87 @@
+package com.publicholidays.holiday_fetcher_api.snapshot;
+
+import com.publicholidays.holiday_fetcher_api.cache.CountryYearKey;
+import com.publicholidays.holiday_fetcher_api.cache.HolidayCache;
+import com.publicholidays.holiday_fetcher_api.model.CountryYearHolidays;
+import com.publicholidays.holiday_fetcher_api.resilience.UpstreamGuard;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+//Keeps the cache warm across restarts: the snapshot is loaded before any other runner (the warmup then finds those
+//entries cached) and the cache is written back on shutdown. With a snapshot in place the service can also answer
+//while the upstream is unreachable: the loaded entries are the upstream guard's last known good holidays, so they are
+//still served once they expire from the cache and their reload fails.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class HolidaySnapshotStore implements ApplicationRunner {
+    private static final Logger log = LoggerFactory.getLogger(HolidaySnapshotStore.class);
+
+    private final HolidayCache holidayCache;
+    private final UpstreamGuard upstreamGuard;
+    private final SnapshotProperties properties;
+
+    public HolidaySnapshotStore(HolidayCache holidayCache, UpstreamGuard upstreamGuard, SnapshotProperties properties) {
+        this.holidayCache = holidayCache;
+        this.upstreamGuard = upstreamGuard;
+        this.properties = properties;
+    }
+
+    //Runs after every bean is created, so the cache listeners (such as the date index) see the loaded entries.
+    @Override
+    public void run(ApplicationArguments args) {
+        if (properties.isEnabled()) {
+            load();
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        if (properties.isEnabled()) {
+            save();
+        }
+    }
+
+    //A missing or unreadable snapshot only means a cold start.
+    public int load() {
+        Path path = Path.of(properties.getPath());
+        if (!Files.exists(path)) {
+            return 0;
+        }
+        try {
+            Map<CountryYearKey, CountryYearHolidays> holidays = HolidaySnapshotFile.read(path);
+            holidays.forEach((key, value) -> {
+                holidayCache.put(key, value);
+                upstreamGuard.seedLastKnownGood(key, value);
+            });
+            log.info("Loaded {} cached holiday entries from {}", holidays.size(), path);
+            return holidays.size();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not load holiday snapshot {}: {}", path, e.getMessage());
+            return 0;
+        }
+    }
+
+    public int save() {
+        Path path = Path.of(properties.getPath());
+        Map<CountryYearKey, CountryYearHolidays> holidays = holidayCache.asMap();
+        try {
+            HolidaySnapshotFile.write(path, holidays);
+            log.info("Saved {} cached holiday entries to {}", holidays.size(), path);
+            return holidays.size();
+        } catch (IOException e) {
+            log.warn("Could not save holiday snapshot {}: {}", path, e.getMessage());
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.publicholidays.holiday_fetcher_api.snapshot;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "holidays.snapshot")
+public class SnapshotProperties {
+
+    //Load the snapshot into the cache at startup and write the cache back to it on shutdown.
+    private boolean enabled = false;
+
+    private String path = "holidays.snapshot";
+}
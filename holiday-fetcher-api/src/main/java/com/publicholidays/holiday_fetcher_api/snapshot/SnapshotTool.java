@@ -0,0 +1,61 @@
+package com.publicholidays.holiday_fetcher_api.snapshot;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.publicholidays.holiday_fetcher_api.cache.CountryYearKey;
+import com.publicholidays.holiday_fetcher_api.dto.response.HolidayDTO;
+import com.publicholidays.holiday_fetcher_api.model.CountryYearHolidays;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+//Command line conversion between holiday snapshots and JSON, keyed by "country/year" with the upstream holiday format:
+//  {"NL/2024": [{"date": "2024-01-01", "localName": "Nieuwjaarsdag"}, ...], ...}
+//Usage: SnapshotTool import <json> <snapshot> | export <snapshot> <json>
+public final class SnapshotTool {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().findAndRegisterModules();
+
+    private SnapshotTool() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3 || !(args[0].equals("import") || args[0].equals("export"))) {
+            System.err.println("Usage: SnapshotTool import <json> <snapshot> | export <snapshot> <json>");
+            System.exit(2);
+        }
+        int entries = args[0].equals("import")
+                ? importJson(Path.of(args[1]), Path.of(args[2]))
+                : exportJson(Path.of(args[1]), Path.of(args[2]));
+        System.out.println(entries + " country-year entries written to " + args[2]);
+    }
+
+    public static int importJson(Path json, Path snapshot) throws IOException {
+        Map<String, HolidayDTO[]> source = OBJECT_MAPPER.readValue(json.toFile(), new TypeReference<>() {
+        });
+        Map<CountryYearKey, CountryYearHolidays> holidays = new LinkedHashMap<>();
+        source.forEach((key, value) -> {
+            CountryYearKey countryYear = parseKey(key);
+            holidays.put(countryYear, CountryYearHolidays.fromHolidayDTOs(countryYear.year(), value));
+        });
+        HolidaySnapshotFile.write(snapshot, holidays);
+        return holidays.size();
+    }
+
+    public static int exportJson(Path snapshot, Path json) throws IOException {
+        Map<String, Object> target = new LinkedHashMap<>();
+        HolidaySnapshotFile.read(snapshot).forEach((key, value) -> target.put(key.toString(), value.toHolidayDTOs()));
+        OBJECT_MAPPER.writerWithDefaultPrettyPrinter().writeValue(json.toFile(), target);
+        return target.size();
+    }
+
+    private static CountryYearKey parseKey(String key) {
+        int separator = key.indexOf('/');
+        if (separator != 2 || key.length() != 7) {
+            throw new IllegalArgumentException("Expected a country/year key such as NL/2024, got: " + key);
+        }
+        return new CountryYearKey(key.substring(0, separator), Integer.parseInt(key.substring(separator + 1)));
+    }
+}
@@ -0,0 +1,149 @@
+package com.publicholidays.holiday_fetcher_api.warmup;
+
+import com.publicholidays.holiday_fetcher_api.cache.CountryYearKey;
+import com.publicholidays.holiday_fetcher_api.cache.HolidayCache;
+import com.publicholidays.holiday_fetcher_api.client.NagerDateClient;
+import com.publicholidays.holiday_fetcher_api.model.CountryCodes;
+import com.publicholidays.holiday_fetcher_api.model.CountryYearHolidays;
+import com.publicholidays.holiday_fetcher_api.resilience.UpstreamGuard;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+//Preloads the cache at startup and keeps current-year entries fresh in the background.
+//Spring Boot reports the application ready only after its runners return, so blocking in run() until enough of the
+//preload is done gates readiness without a latency cliff on the first requests.
+@Component
+public class HolidayWarmup implements ApplicationRunner {
+    private static final Logger log = LoggerFactory.getLogger(HolidayWarmup.class);
+
+    private final HolidayCache holidayCache;
+    private final NagerDateClient nagerDateClient;
+    private final UpstreamGuard upstreamGuard;
+    private final WarmupProperties properties;
+    private final ScheduledExecutorService warmupExecutor;
+
+    private int total;
+    private int loaded;
+    private int failed;
+    private boolean ready;
+    private long startedAt;
+    private long finishedAt;
+
+    public HolidayWarmup(HolidayCache holidayCache, NagerDateClient nagerDateClient, UpstreamGuard upstreamGuard,
+                         WarmupProperties properties, @Qualifier("warmupExecutor") ScheduledExecutorService warmupExecutor) {
+        this.holidayCache = holidayCache;
+        this.nagerDateClient = nagerDateClient;
+        this.upstreamGuard = upstreamGuard;
+        this.properties = properties;
+        this.warmupExecutor = warmupExecutor;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws InterruptedException {
+        if (properties.isRefreshEnabled()) {
+            long interval = properties.getRefreshInterval().toMillis();
+            warmupExecutor.scheduleWithFixedDelay(this::refreshCurrentYear, interval, interval, TimeUnit.MILLISECONDS);
+        }
+        if (!properties.isEnabled()) {
+            synchronized (this) {
+                ready = true;
+            }
+            return;
+        }
+        preload();
+        awaitReadiness();
+    }
+
+    public synchronized WarmupProgress progress() {
+        long end = finishedAt != 0 ? finishedAt : System.currentTimeMillis();
+        return new WarmupProgress(total, loaded, failed, ready, startedAt != 0 ? end - startedAt : 0);
+    }
+
+    //Submits the current and previous year of every supported country; the executor bounds the concurrency.
+    void preload() {
+        int currentYear = LocalDate.now().getYear();
+        List<CountryYearKey> keys = new ArrayList<>();
+        for (String country : CountryCodes.all()) {
+            keys.add(new CountryYearKey(country, currentYear));
+            keys.add(new CountryYearKey(country, currentYear - 1));
+        }
+        synchronized (this) {
+            total = keys.size();
+            startedAt = System.currentTimeMillis();
+        }
+        log.info("Preloading holidays for {} countries and years", keys.size());
+        keys.forEach(key -> warmupExecutor.execute(() -> preload(key)));
+    }
+
+    //Waits until the configured fraction is loaded, everything has been attempted, or the timeout passes.
+    synchronized void awaitReadiness() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + properties.getReadinessTimeout().toMillis();
+        int required = (int) Math.ceil(total * properties.getReadinessFraction());
+        while (loaded < required && loaded + failed < total) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                log.warn("Holiday preload not finished after {}: {} of {} loaded, becoming ready anyway",
+                        properties.getReadinessTimeout(), loaded, total);
+                break;
+            }
+            wait(remaining);
+        }
+        ready = true;
+        log.info("Holiday preload gate passed: {} of {} loaded, {} failed", loaded, total, failed);
+    }
+
+    //Renews the cached current-year entries; readers are served the previous value while each refresh runs.
+    void refreshCurrentYear() {
+        int currentYear = LocalDate.now().getYear();
+        for (CountryYearKey key : holidayCache.keys()) {
+            if (key.year() == currentYear) {
+                warmupExecutor.execute(() -> refresh(key));
+            }
+        }
+    }
+
+    private void preload(CountryYearKey key) {
+        boolean success = false;
+        try {
+            holidayCache.get(key, () -> fetch(key));
+            success = true;
+        } catch (RuntimeException e) {
+            log.debug("Could not preload holidays for {}: {}", key, e.getMessage());
+        }
+        synchronized (this) {
+            if (success) {
+                loaded++;
+            } else {
+                failed++;
+            }
+            if (loaded + failed == total) {
+                finishedAt = System.currentTimeMillis();
+            }
+            notifyAll();
+        }
+    }
+
+    //Same guarded path as the service, so the warmup respects the bulkhead and the circuit breaker.
+    //Goes through revalidate, so the validators of the preload answers make every later refresh a conditional request.
+    private CountryYearHolidays fetch(CountryYearKey key) {
+        return upstreamGuard.fetch(key.country(), key.year(), () -> nagerDateClient.revalidate(key.country(), key.year()));
+    }
+
+    private void refresh(CountryYearKey key) {
+        try {
+            holidayCache.refresh(key, () -> fetch(key));
+        } catch (RuntimeException e) {
+            log.warn("Could not refresh holidays for {}, keeping the cached value: {}", key, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.publicholidays.holiday_fetcher_api.warmup;
+
+//Startup preload progress: how many (country, year) entries are loaded or failed out of the total, and whether
+//the readiness gate has been passed.
+public record WarmupProgress(int total, int loaded, int failed, boolean ready, long elapsedMillis) {
+}
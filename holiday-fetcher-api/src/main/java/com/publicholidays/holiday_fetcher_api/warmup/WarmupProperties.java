@@ -0,0 +1,30 @@
+package com.publicholidays.holiday_fetcher_api.warmup;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "holidays.warmup")
+public class WarmupProperties {
+
+    //Preload every supported country for the current and the previous year at startup.
+    private boolean enabled = true;
+
+    //Number of preload and refresh fetches running at the same time.
+    private int concurrency = 8;
+
+    //Share of the preload that must succeed before the application reports itself ready.
+    private double readinessFraction = 0.9;
+
+    //Longest time startup waits for the preload before becoming ready anyway.
+    private Duration readinessTimeout = Duration.ofSeconds(60);
+
+    //Periodic background refresh of the cached current-year entries. Keep it below holidays.cache.current-year-ttl
+    //so entries are renewed before they expire.
+    private boolean refreshEnabled = true;
+    private Duration refreshInterval = Duration.ofMinutes(30);
+}
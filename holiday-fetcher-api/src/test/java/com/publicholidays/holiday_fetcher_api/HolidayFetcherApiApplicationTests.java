@@ -1,13 +1,66 @@
 package com.publicholidays.holiday_fetcher_api;
 
+import com.publicholidays.holiday_fetcher_api.concurrent.ParallelFanOut;
 import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
-@SpringBootTest
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "holidays.warmup.enabled=false")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
 class HolidayFetcherApiApplicationTests {
 
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ParallelFanOut parallelFanOut;
+
 	@Test
 	void contextLoads() {
 	}
 
+	@Test
+	void metricsAreExportedInPrometheusFormat() throws Exception {
+		MvcResult result = mockMvc.perform(get("/holidays/last").param("country", "nl").param("year", "2024"))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		mockMvc.perform(asyncDispatch(result))
+				.andExpect(status().isBadRequest());
+
+		mockMvc.perform(get("/actuator/prometheus"))
+				.andExpect(status().isOk())
+				.andExpect(content().string(containsString("holidays_errors_total{type=\"BadRequestException\"}")))
+				.andExpect(content().string(containsString("holidays_cache_requests_total")));
+	}
+
+	@Test
+	void fanOutTasksKeepTheLoggingContextOfTheRequest() {
+		MDC.put("requestId", "42");
+		try {
+			assertEquals(List.of("42", "42", "42"), parallelFanOut.map(List.of("NL", "IT", "US"), country -> MDC.get("requestId")));
+			List<String> streamed = new CopyOnWriteArrayList<>();
+			parallelFanOut.forEachCompleted(List.of("NL", "IT"), country -> MDC.get("requestId"), streamed::add);
+			assertEquals(List.of("42", "42"), streamed);
+		} finally {
+			MDC.clear();
+		}
+	}
+
 }
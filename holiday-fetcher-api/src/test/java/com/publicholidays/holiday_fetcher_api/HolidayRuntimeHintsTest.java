@@ -0,0 +1,27 @@
+package com.publicholidays.holiday_fetcher_api;
+
+import com.publicholidays.holiday_fetcher_api.dto.response.CountryYearHolidaysDTO;
+import com.publicholidays.holiday_fetcher_api.dto.response.HolidayDTO;
+import com.publicholidays.holiday_fetcher_api.jfr.HolidayFlightRecorder;
+import com.publicholidays.holiday_fetcher_api.model.UpstreamHolidays;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HolidayRuntimeHintsTest {
+
+    @Test
+    void upstreamAndStreamedTypesAndTheRecordingProfileAreRegistered() {
+        RuntimeHints hints = new RuntimeHints();
+        new HolidayRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        assertTrue(RuntimeHintsPredicates.reflection().onType(HolidayDTO.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(UpstreamHolidays.Deserializer.class)
+                .withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(CountryYearHolidaysDTO.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.resource().forResource(HolidayFlightRecorder.PROFILE).test(hints));
+    }
+}
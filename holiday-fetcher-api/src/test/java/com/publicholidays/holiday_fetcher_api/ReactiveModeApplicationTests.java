@@ -0,0 +1,80 @@
+package com.publicholidays.holiday_fetcher_api;
+
+import com.publicholidays.holiday_fetcher_api.controller.HolidayFetcherController;
+import com.publicholidays.holiday_fetcher_api.controller.ReactiveHolidayFetcherController;
+import com.publicholidays.holiday_fetcher_api.stub.StubUpstreamServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {"holidays.warmup.enabled=false", "holidays.service.mode=reactive"})
+@AutoConfigureMockMvc
+class ReactiveModeApplicationTests {
+
+	private static final StubUpstreamServer UPSTREAM = startUpstream();
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ApplicationContext applicationContext;
+
+	@DynamicPropertySource
+	static void upstreamProperties(DynamicPropertyRegistry registry) {
+		registry.add("holidays.upstream.base-url", UPSTREAM::baseUrl);
+	}
+
+	@AfterAll
+	static void stopUpstream() {
+		UPSTREAM.close();
+	}
+
+	@Test
+	void onlyTheReactiveControllerIsRegistered() {
+		assertEquals(1, applicationContext.getBeansOfType(ReactiveHolidayFetcherController.class).size());
+		assertTrue(applicationContext.getBeansOfType(HolidayFetcherController.class).isEmpty());
+	}
+
+	@Test
+	void requestsCompleteAsynchronously() throws Exception {
+		MvcResult result = mockMvc.perform(get("/holidays/non-weekends").param("year", "2023").param("countries", "NL", "IN"))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+
+		mockMvc.perform(asyncDispatch(result))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(2));
+	}
+
+	@Test
+	void validationErrorsAreHandledLikeInBlockingMode() throws Exception {
+		MvcResult result = mockMvc.perform(get("/holidays/last").param("country", "nl").param("year", "2023"))
+				.andReturn();
+
+		mockMvc.perform(asyncDispatch(result))
+				.andExpect(status().isBadRequest());
+	}
+
+	private static StubUpstreamServer startUpstream() {
+		try {
+			return new StubUpstreamServer(0, 0, 0);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
@@ -0,0 +1,57 @@
+package com.publicholidays.holiday_fetcher_api;
+
+import com.publicholidays.holiday_fetcher_api.cache.HolidayCache;
+import com.publicholidays.holiday_fetcher_api.client.NagerDateClient;
+import com.publicholidays.holiday_fetcher_api.client.UpstreamProperties;
+import com.publicholidays.holiday_fetcher_api.concurrent.ParallelFanOut;
+import com.publicholidays.holiday_fetcher_api.index.CountryHolidayIndex;
+import com.publicholidays.holiday_fetcher_api.metrics.HolidayMetrics;
+import com.publicholidays.holiday_fetcher_api.resilience.ResilienceProperties;
+import com.publicholidays.holiday_fetcher_api.resilience.UpstreamCaller;
+import com.publicholidays.holiday_fetcher_api.resilience.UpstreamGuard;
+import com.publicholidays.holiday_fetcher_api.service.impl.HolidayFetcherServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Clock;
+
+//Components wired by hand for tests running without the application context. Meters go to a registry of their own,
+//which tests asserting on meters create themselves.
+public final class TestComponents {
+
+    private TestComponents() {
+    }
+
+    public static HolidayMetrics metrics() {
+        return new HolidayMetrics(new SimpleMeterRegistry());
+    }
+
+    //A client of the default upstream URL, for tests mocking the RestTemplate.
+    public static NagerDateClient nagerDateClient(RestTemplate restTemplate) {
+        return new NagerDateClient(restTemplate, new UpstreamProperties(), metrics());
+    }
+
+    //Makes one attempt per fetch on the calling thread, without hedging or retries.
+    public static UpstreamCaller directCaller() {
+        ResilienceProperties properties = new ResilienceProperties();
+        properties.setHedgingEnabled(false);
+        properties.setMaxRetries(0);
+        return new UpstreamCaller(properties, metrics(), null);
+    }
+
+    public static UpstreamGuard upstreamGuard() {
+        return new UpstreamGuard(new ResilienceProperties(), metrics(), directCaller(), Clock.systemDefaultZone());
+    }
+
+    public static HolidayFetcherServiceImpl service(NagerDateClient nagerDateClient, HolidayCache holidayCache,
+                                                    ParallelFanOut parallelFanOut, CountryHolidayIndex countryHolidayIndex) {
+        return service(nagerDateClient, holidayCache, parallelFanOut, countryHolidayIndex, upstreamGuard());
+    }
+
+    public static HolidayFetcherServiceImpl service(NagerDateClient nagerDateClient, HolidayCache holidayCache,
+                                                    ParallelFanOut parallelFanOut, CountryHolidayIndex countryHolidayIndex,
+                                                    UpstreamGuard upstreamGuard) {
+        return new HolidayFetcherServiceImpl(nagerDateClient, holidayCache, parallelFanOut, countryHolidayIndex,
+                upstreamGuard, metrics());
+    }
+}
@@ -0,0 +1,126 @@
+package com.publicholidays.holiday_fetcher_api.cache;
+
+import com.publicholidays.holiday_fetcher_api.MutableClock;
+import com.publicholidays.holiday_fetcher_api.dto.response.HolidayDTO;
+import com.publicholidays.holiday_fetcher_api.model.CountryYearHolidays;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HolidayCacheTest {
+
+    private MutableClock clock;
+    private HolidayCacheProperties properties;
+    private HolidayCache holidayCache;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2024-06-01T00:00:00Z"));
+        properties = new HolidayCacheProperties();
+        properties.setMaxEntries(2);
+        properties.setPastYearTtl(Duration.ofDays(7));
+        properties.setCurrentYearTtl(Duration.ofHours(1));
+        holidayCache = new HolidayCache(properties, clock);
+    }
+
+    @Test
+    void secondLookupIsServedFromCache() {
+        AtomicInteger loads = new AtomicInteger();
+        CountryYearKey key = new CountryYearKey("NL", 2023);
+
+        holidayCache.get(key, () -> holidays(loads));
+        holidayCache.get(key, () -> holidays(loads));
+
+        assertEquals(1, loads.get());
+        CacheStats stats = holidayCache.stats();
+        assertEquals(1, stats.hits());
+        assertEquals(1, stats.misses());
+    }
+
+    @Test
+    void currentYearExpiresBeforePastYear() {
+        AtomicInteger loads = new AtomicInteger();
+        CountryYearKey pastYear = new CountryYearKey("NL", 2023);
+        CountryYearKey currentYear = new CountryYearKey("NL", 2024);
+        holidayCache.get(pastYear, () -> holidays(loads));
+        holidayCache.get(currentYear, () -> holidays(loads));
+
+        clock.advance(Duration.ofHours(2));
+        holidayCache.get(pastYear, () -> holidays(loads));
+        holidayCache.get(currentYear, () -> holidays(loads));
+
+        assertEquals(3, loads.get());
+        assertEquals(1, holidayCache.stats().expirations());
+    }
+
+    @Test
+    void leastRecentlyUsedEntryIsEvictedWhenFull() {
+        AtomicInteger loads = new AtomicInteger();
+        holidayCache.get(new CountryYearKey("NL", 2023), () -> holidays(loads));
+        holidayCache.get(new CountryYearKey("IT", 2023), () -> holidays(loads));
+        holidayCache.get(new CountryYearKey("NL", 2023), () -> holidays(loads));
+        holidayCache.get(new CountryYearKey("US", 2023), () -> holidays(loads));
+
+        assertNotNull(holidayCache.getIfPresent(new CountryYearKey("NL", 2023)));
+        assertNull(holidayCache.getIfPresent(new CountryYearKey("IT", 2023)));
+        assertEquals(1, holidayCache.stats().evictions());
+        assertEquals(2, holidayCache.stats().size());
+    }
+
+    @Test
+    void nullResultsAreNotCached() {
+        AtomicInteger loads = new AtomicInteger();
+        CountryYearKey key = new CountryYearKey("NL", 2023);
+
+        holidayCache.get(key, () -> {
+            loads.incrementAndGet();
+            return null;
+        });
+        holidayCache.get(key, () -> holidays(loads));
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void expiredEntryIsServedWhileRefreshIsInFlight() {
+        AtomicInteger loads = new AtomicInteger();
+        CountryYearKey key = new CountryYearKey("NL", 2024);
+        CountryYearHolidays original = holidayCache.get(key, () -> holidays(loads));
+        clock.advance(Duration.ofHours(2));
+
+        holidayCache.refresh(key, () -> {
+            assertSame(original, holidayCache.getIfPresent(key));
+            return holidays(loads);
+        });
+
+        assertEquals(1, holidayCache.stats().staleHits());
+        assertEquals(0, holidayCache.stats().expirations());
+        CountryYearHolidays refreshed = holidayCache.getIfPresent(key);
+        assertNotNull(refreshed);
+        assertNotSame(original, refreshed);
+    }
+
+    @Test
+    void failedRefreshKeepsCachedValue() {
+        AtomicInteger loads = new AtomicInteger();
+        CountryYearKey key = new CountryYearKey("NL", 2024);
+        CountryYearHolidays original = holidayCache.get(key, () -> holidays(loads));
+
+        assertThrows(IllegalStateException.class, () -> holidayCache.refresh(key, () -> {
+            throw new IllegalStateException("upstream down");
+        }));
+
+        assertSame(original, holidayCache.getIfPresent(key));
+        assertFalse(holidayCache.entryAges().get(0).refreshing());
+    }
+
+    private static CountryYearHolidays holidays(AtomicInteger loads) {
+        loads.incrementAndGet();
+        return CountryYearHolidays.fromHolidayDTOs(2023, new HolidayDTO[]{new HolidayDTO("2023-01-01", "Nieuwjaarsdag")});
+    }
+}
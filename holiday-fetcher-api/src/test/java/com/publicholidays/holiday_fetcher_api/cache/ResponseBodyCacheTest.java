@@ -0,0 +1,141 @@
+package com.publicholidays.holiday_fetcher_api.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.publicholidays.holiday_fetcher_api.dto.response.HolidayDTO;
+import com.publicholidays.holiday_fetcher_api.model.CountryYearHolidays;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseBodyCacheTest {
+
+    private ResponseBodyCacheProperties properties;
+    private HolidayCache holidayCache;
+    private ResponseBodyCache responseBodyCache;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ResponseBodyCacheProperties();
+        holidayCache = new HolidayCache(new HolidayCacheProperties(), Clock.systemDefaultZone());
+        responseBodyCache = new ResponseBodyCache(properties, holidayCache, new ObjectMapper(), Clock.systemDefaultZone());
+        for (String country : List.of("NL", "IT", "US")) {
+            holidayCache.put(new CountryYearKey(country, 2023), holidays());
+        }
+    }
+
+    @Test
+    void secondRequestIsServedFromTheSerializedBody() {
+        AtomicInteger computations = new AtomicInteger();
+        ResponseKey key = ResponseKey.last("NL", 2023, 19_700);
+
+        CachedResponseBody first = responseBodyCache.get(key, () -> body(computations));
+        CachedResponseBody second = responseBodyCache.get(key, () -> body(computations));
+
+        assertEquals(1, computations.get());
+        assertSame(first, second);
+        assertEquals("[{\"date\":\"2023-01-01\",\"localName\":\"Nieuwjaarsdag\"}]", new String(first.json(), StandardCharsets.UTF_8));
+        assertEquals(1, responseBodyCache.stats().hits());
+    }
+
+    @Test
+    void lastHolidaysAreCachedPerDay() {
+        AtomicInteger computations = new AtomicInteger();
+
+        responseBodyCache.get(ResponseKey.last("NL", 2023, 19_700), () -> body(computations));
+        responseBodyCache.get(ResponseKey.last("NL", 2023, 19_701), () -> body(computations));
+
+        assertEquals(2, computations.get());
+    }
+
+    @Test
+    void storingOrRemovingAnySourceInvalidatesTheBody() {
+        AtomicInteger computations = new AtomicInteger();
+        ResponseKey common = ResponseKey.common(List.of("NL", "IT"), 2023);
+        ResponseKey unrelated = ResponseKey.last("US", 2023, 19_700);
+        responseBodyCache.get(common, () -> body(computations));
+        responseBodyCache.get(unrelated, () -> body(computations));
+
+        holidayCache.put(new CountryYearKey("IT", 2023), holidays());
+        responseBodyCache.get(common, () -> body(computations));
+        holidayCache.invalidateAll();
+        responseBodyCache.get(unrelated, () -> body(computations));
+
+        assertEquals(4, computations.get());
+        assertEquals(3, responseBodyCache.stats().invalidations());
+    }
+
+    @Test
+    void bodiesBuiltFromUncachedHolidaysAreNotKept() {
+        AtomicInteger computations = new AtomicInteger();
+        ResponseKey key = ResponseKey.last("FR", 2023, 19_700);
+
+        responseBodyCache.get(key, () -> body(computations));
+        responseBodyCache.get(key, () -> body(computations));
+
+        assertEquals(2, computations.get());
+        assertEquals(0, responseBodyCache.stats().size());
+    }
+
+    @Test
+    void leastRecentlyUsedBodiesAreEvictedBeyondTheByteBudget() {
+        int bodySize = responseBodyCache.get(ResponseKey.last("NL", 2023, 1), () -> body(new AtomicInteger())).size();
+        properties.setMaxSize(DataSize.ofBytes(2L * bodySize));
+
+        responseBodyCache.get(ResponseKey.last("NL", 2023, 2), () -> body(new AtomicInteger()));
+        responseBodyCache.get(ResponseKey.last("NL", 2023, 1), () -> body(new AtomicInteger()));
+        responseBodyCache.get(ResponseKey.last("NL", 2023, 3), () -> body(new AtomicInteger()));
+
+        ResponseBodyCacheStats stats = responseBodyCache.stats();
+        assertEquals(1, stats.evictions());
+        assertEquals(2, stats.size());
+        assertEquals(2L * bodySize, stats.bytes());
+        AtomicInteger computations = new AtomicInteger();
+        responseBodyCache.get(ResponseKey.last("NL", 2023, 1), () -> body(computations));
+        assertEquals(0, computations.get());
+    }
+
+    @Test
+    void nullBodiesAreNotCached() {
+        ResponseKey key = ResponseKey.last("NL", 2023, 19_700);
+
+        assertNull(responseBodyCache.get(key, () -> null));
+        assertEquals(0, responseBodyCache.stats().size());
+    }
+
+    @Test
+    void gzipCopyIsKeptForLargeBodies() throws IOException {
+        properties.setGzip(true);
+        properties.setGzipMinSize(DataSize.ofBytes(100));
+        List<HolidayDTO> large = Collections.nCopies(20, new HolidayDTO("2023-01-01", "Nieuwjaarsdag"));
+
+        CachedResponseBody small = responseBodyCache.get(ResponseKey.last("NL", 2023, 1), () -> body(new AtomicInteger()));
+        CachedResponseBody compressed = responseBodyCache.get(ResponseKey.last("NL", 2023, 2), () -> large);
+
+        assertNull(small.gzip());
+        assertNotNull(compressed.gzip());
+        assertTrue(compressed.gzip().length < compressed.json().length);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed.gzip()))) {
+            assertArrayEquals(compressed.json(), in.readAllBytes());
+        }
+    }
+
+    private static List<HolidayDTO> body(AtomicInteger computations) {
+        computations.incrementAndGet();
+        return List.of(new HolidayDTO("2023-01-01", "Nieuwjaarsdag"));
+    }
+
+    private static CountryYearHolidays holidays() {
+        return CountryYearHolidays.fromHolidayDTOs(2023, new HolidayDTO[]{new HolidayDTO("2023-01-01", "Nieuwjaarsdag")});
+    }
+}
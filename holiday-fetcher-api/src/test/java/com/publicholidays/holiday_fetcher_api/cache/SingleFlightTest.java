@@ -0,0 +1,186 @@
+package com.publicholidays.holiday_fetcher_api.cache;
+
+import com.publicholidays.holiday_fetcher_api.dto.response.HolidayDTO;
+import com.publicholidays.holiday_fetcher_api.exception.HolidayServiceExceptions;
+import com.publicholidays.holiday_fetcher_api.model.CountryYearHolidays;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private static final int CONCURRENT_REQUESTS = 50;
+
+    @Test
+    void concurrentIdenticalRequestsWithoutCoalescingEachHitUpstream() throws Exception {
+        AtomicInteger upstreamCalls = new AtomicInteger();
+        Supplier<CountryYearHolidays> slowUpstream = slowUpstream(upstreamCalls);
+
+        runConcurrently(slowUpstream::get);
+
+        assertEquals(CONCURRENT_REQUESTS, upstreamCalls.get());
+    }
+
+    @Test
+    void concurrentIdenticalRequestsThroughCacheHitUpstreamOnce() throws Exception {
+        AtomicInteger upstreamCalls = new AtomicInteger();
+        Supplier<CountryYearHolidays> slowUpstream = slowUpstream(upstreamCalls);
+        HolidayCache holidayCache = new HolidayCache(new HolidayCacheProperties(), Clock.systemDefaultZone());
+        CountryYearKey key = new CountryYearKey("US", 2025);
+
+        List<CountryYearHolidays> results = runConcurrently(() -> holidayCache.get(key, slowUpstream));
+
+        assertEquals(1, upstreamCalls.get());
+        results.forEach(result -> assertEquals(1, result.size()));
+        assertEquals(CONCURRENT_REQUESTS - 1, holidayCache.stats().coalescedLoads() + holidayCache.stats().hits());
+    }
+
+    @Test
+    void callerMissingJustBeforeTheLoadIsStoredDoesNotLoadAgain() throws Exception {
+        CountDownLatch lateCallerMissed = new CountDownLatch(1);
+        CountDownLatch leaderDone = new CountDownLatch(1);
+        AtomicReference<Thread> lateCaller = new AtomicReference<>();
+        //The load timeout is read between a caller's miss and its entry into the single flight: holding the late caller
+        //there lets the leader store the key and leave the single flight before the late caller enters it.
+        HolidayCacheProperties properties = new HolidayCacheProperties() {
+            @Override
+            public Duration getLoadTimeout() {
+                if (Thread.currentThread() == lateCaller.get()) {
+                    lateCallerMissed.countDown();
+                    await(leaderDone);
+                }
+                return super.getLoadTimeout();
+            }
+        };
+        HolidayCache holidayCache = new HolidayCache(properties, Clock.systemDefaultZone());
+        CountryYearKey key = new CountryYearKey("US", 2025);
+        AtomicInteger upstreamCalls = new AtomicInteger();
+        Supplier<CountryYearHolidays> upstream = slowUpstream(upstreamCalls);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<CountryYearHolidays> late = executor.submit(() -> {
+                lateCaller.set(Thread.currentThread());
+                return holidayCache.get(key, upstream);
+            });
+            lateCallerMissed.await();
+            assertNotNull(holidayCache.get(key, upstream));
+            leaderDone.countDown();
+
+            assertNotNull(late.get(5, TimeUnit.SECONDS));
+            assertEquals(1, upstreamCalls.get());
+        } finally {
+            leaderDone.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void errorIsSharedWithEveryWaiter() throws Exception {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> leader = executor.submit(() -> singleFlight.execute("US/2025", () -> {
+                leaderStarted.countDown();
+                await(release);
+                throw new HolidayServiceExceptions.HolidayNotFoundException("No holidays found for the given country and year.");
+            }, Duration.ofSeconds(5)));
+            leaderStarted.await();
+            Future<String> follower = executor.submit(() -> singleFlight.execute("US/2025", () -> "unused", Duration.ofSeconds(5)));
+            while (singleFlight.getCoalescedCalls() == 0) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            Exception leaderError = assertThrows(Exception.class, leader::get);
+            Exception followerError = assertThrows(Exception.class, follower::get);
+            assertInstanceOf(HolidayServiceExceptions.HolidayNotFoundException.class, leaderError.getCause());
+            assertSame(leaderError.getCause(), followerError.getCause());
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void waiterGivesUpAfterTimeout() throws Exception {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> singleFlight.execute("US/2025", () -> {
+                leaderStarted.countDown();
+                await(release);
+                return "done";
+            }, Duration.ofSeconds(5)));
+            leaderStarted.await();
+
+            assertThrows(HolidayServiceExceptions.UnknownErrorException.class,
+                    () -> singleFlight.execute("US/2025", () -> "unused", Duration.ofMillis(50)));
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private static Supplier<CountryYearHolidays> slowUpstream(AtomicInteger upstreamCalls) {
+        return () -> {
+            upstreamCalls.incrementAndGet();
+            sleep(200);
+            return CountryYearHolidays.fromHolidayDTOs(2025, new HolidayDTO[]{new HolidayDTO("2025-07-04", "Independence Day")});
+        };
+    }
+
+    private static <T> List<T> runConcurrently(Supplier<T> request) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_REQUESTS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<T>> futures = new ArrayList<>();
+            for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return request.get();
+                }));
+            }
+            start.countDown();
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get(10, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
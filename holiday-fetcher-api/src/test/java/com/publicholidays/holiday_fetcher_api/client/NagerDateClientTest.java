@@ -0,0 +1,65 @@
+package com.publicholidays.holiday_fetcher_api.client;
+
+import com.publicholidays.holiday_fetcher_api.metrics.HolidayMetrics;
+import com.publicholidays.holiday_fetcher_api.model.CountryYearHolidays;
+import com.publicholidays.holiday_fetcher_api.stub.StubUpstreamServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NagerDateClientTest {
+
+    private StubUpstreamServer upstream;
+    private SimpleMeterRegistry registry;
+    private NagerDateClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        upstream = new StubUpstreamServer(0, 0, 0);
+        registry = new SimpleMeterRegistry();
+        UpstreamProperties upstreamProperties = new UpstreamProperties();
+        upstreamProperties.setBaseUrl(upstream.baseUrl());
+        client = new NagerDateClient(new RestTemplate(), upstreamProperties, new HolidayMetrics(registry));
+    }
+
+    @AfterEach
+    void tearDown() {
+        upstream.close();
+    }
+
+    @Test
+    void revalidationReusesHolidaysOnNotModified() {
+        CountryYearHolidays first = client.revalidate("NL", 2024);
+        CountryYearHolidays second = client.revalidate("NL", 2024);
+
+        assertFalse(first.isEmpty());
+        assertSame(first, second);
+        assertEquals(2, upstream.requests());
+        assertEquals(1, upstream.notModified());
+        assertEquals(1, registry.get(HolidayMetrics.UPSTREAM_REQUESTS).tags("country", "NL", "status", "304").timer().count());
+    }
+
+    @Test
+    void revalidationIsPerCountryAndYear() {
+        CountryYearHolidays nl = client.revalidate("NL", 2024);
+        CountryYearHolidays previousYear = client.revalidate("NL", 2023);
+
+        assertNotSame(nl, previousYear);
+        assertEquals(0, upstream.notModified());
+    }
+
+    @Test
+    void plainFetchesAreUnconditional() {
+        client.revalidate("NL", 2024);
+        CountryYearHolidays fetched = client.fetchHolidays("NL", 2024);
+
+        assertFalse(fetched.isEmpty());
+        assertEquals(0, upstream.notModified());
+    }
+}
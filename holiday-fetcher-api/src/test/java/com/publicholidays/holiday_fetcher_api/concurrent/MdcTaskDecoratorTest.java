@@ -0,0 +1,37 @@
+package com.publicholidays.holiday_fetcher_api.concurrent;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MdcTaskDecoratorTest {
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void tearDown() {
+        MDC.clear();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void taskSeesTheSubmittersContextAndWorkerIsRestored() throws Exception {
+        MdcTaskDecorator decorator = new MdcTaskDecorator();
+        executor.submit(() -> MDC.put("worker", "own")).get();
+
+        MDC.put("requestId", "42");
+        AtomicReference<String> seen = new AtomicReference<>();
+        executor.submit(decorator.decorate(() -> seen.set(MDC.get("requestId")))).get();
+
+        assertEquals("42", seen.get());
+        assertEquals("own", CompletableFuture.supplyAsync(() -> MDC.get("worker"), executor).get());
+        assertNull(CompletableFuture.supplyAsync(() -> MDC.get("requestId"), executor).get());
+    }
+}
@@ -0,0 +1,199 @@
+package com.publicholidays.holiday_fetcher_api.concurrent;
+
+import com.publicholidays.holiday_fetcher_api.exception.HolidayServiceExceptions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelFanOutTest {
+
+    private ExecutorService executor;
+    private ExecutorService bulkExecutor;
+    private FanOutProperties properties;
+    private ParallelFanOut parallelFanOut;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(8);
+        bulkExecutor = Executors.newFixedThreadPool(4);
+        properties = new FanOutProperties();
+        properties.setDeadline(Duration.ofSeconds(5));
+        parallelFanOut = new ParallelFanOut(executor, bulkExecutor, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        bulkExecutor.shutdownNow();
+    }
+
+    @Test
+    void latencyApproachesSlowestTaskAndKeepsInputOrder() {
+        List<String> countries = List.of("NL", "IT", "US", "DE", "FR", "ES", "BE", "AT");
+
+        long start = System.nanoTime();
+        List<String> results = parallelFanOut.map(countries, country -> {
+            sleep(200);
+            return country.toLowerCase();
+        });
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        assertEquals(List.of("nl", "it", "us", "de", "fr", "es", "be", "at"), results);
+        assertTrue(elapsedMillis < 8 * 200, "Expected concurrent execution but took " + elapsedMillis + " ms");
+    }
+
+    @Test
+    void firstFailingInputInOrderIsRethrown() {
+        HolidayServiceExceptions.BadRequestException exception = assertThrows(HolidayServiceExceptions.BadRequestException.class,
+                () -> parallelFanOut.map(List.of("NL", "XX", "YY"), country -> {
+                    if (country.equals("YY")) {
+                        throw new HolidayServiceExceptions.HolidayNotFoundException("No holidays found for the given country and year.");
+                    }
+                    if (country.equals("XX")) {
+                        sleep(100);
+                        throw new HolidayServiceExceptions.BadRequestException("Invalid country code");
+                    }
+                    return country;
+                }));
+
+        assertEquals("Invalid country code", exception.getMessage());
+    }
+
+    @Test
+    void requestFailsWhenDeadlineIsExceeded() {
+        properties.setDeadline(Duration.ofMillis(50));
+
+        assertThrows(HolidayServiceExceptions.UnknownErrorException.class,
+                () -> parallelFanOut.map(List.of("NL", "IT"), country -> {
+                    sleep(1000);
+                    return country;
+                }));
+    }
+
+    @Test
+    void tasksRunWithinTheDeadlineOfTheCallingRequest() {
+        Deadline requestDeadline = Deadline.after(Duration.ofSeconds(1));
+
+        List<Deadline> seen = Deadline.callWith(requestDeadline,
+                () -> parallelFanOut.map(List.of("NL", "IT"), country -> Deadline.current()));
+
+        assertEquals(List.of(requestDeadline, requestDeadline), seen);
+    }
+
+    @Test
+    void requestFailsAtTheDeadlineOfTheCallingRequest() {
+        long start = System.nanoTime();
+        assertThrows(HolidayServiceExceptions.UnknownErrorException.class,
+                () -> Deadline.callWith(Deadline.after(Duration.ofMillis(50)), () -> parallelFanOut.map(List.of("NL", "IT"), country -> {
+                    sleep(1000);
+                    return country;
+                })));
+
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() < 1000);
+    }
+
+    @Test
+    void completedResultsAreStreamedWithBoundedConcurrency() {
+        properties.setBulkParallelism(3);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<Integer> inputs = IntStream.range(0, 30).boxed().collect(Collectors.toList());
+
+        List<Integer> results = new ArrayList<>();
+        parallelFanOut.forEachCompleted(inputs, input -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            sleep(input % 3 == 0 ? 30 : 5);
+            running.decrementAndGet();
+            return input;
+        }, results::add);
+
+        assertEquals(inputs, results.stream().sorted().collect(Collectors.toList()));
+        assertTrue(maxRunning.get() <= 3, "At most 3 tasks should run at once but " + maxRunning.get() + " did");
+    }
+
+    @Test
+    void failingConsumerStopsTheRemainingTasks() {
+        properties.setBulkParallelism(2);
+        List<Integer> started = new CopyOnWriteArrayList<>();
+
+        assertThrows(IllegalStateException.class, () -> parallelFanOut.forEachCompleted(List.of(1, 2, 3, 4, 5, 6), input -> {
+            started.add(input);
+            return input;
+        }, result -> {
+            throw new IllegalStateException("client went away");
+        }));
+
+        assertTrue(started.size() <= 2, "No task should be submitted after the failure but " + started + " started");
+    }
+
+    @Test
+    void bulkStreamsLeaveTheFanOutPoolToInteractiveRequests() throws Exception {
+        //Each stream alone could fill the fan-out pool.
+        properties.setBulkParallelism(8);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger started = new AtomicInteger();
+        List<Integer> inputs = IntStream.range(0, 20).boxed().collect(Collectors.toList());
+        ExecutorService streams = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<?>> bulk = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                bulk.add(streams.submit(() -> parallelFanOut.forEachCompleted(inputs, input -> {
+                    started.incrementAndGet();
+                    await(release);
+                    return input;
+                }, result -> {
+                })));
+            }
+            while (started.get() < 4) {
+                sleep(5);
+            }
+
+            long start = System.nanoTime();
+            List<String> results = parallelFanOut.map(List.of("NL", "IT", "US"), String::toLowerCase);
+            long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+            assertEquals(List.of("nl", "it", "us"), results);
+            assertTrue(elapsedMillis < 1000, "The interactive request waited " + elapsedMillis + " ms behind the bulk streams");
+            assertEquals(4, started.get(), "Bulk tasks should only run on the bulk pool");
+            release.countDown();
+            for (Future<?> stream : bulk) {
+                stream.get(5, TimeUnit.SECONDS);
+            }
+            assertEquals(2 * inputs.size(), started.get());
+        } finally {
+            release.countDown();
+            streams.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
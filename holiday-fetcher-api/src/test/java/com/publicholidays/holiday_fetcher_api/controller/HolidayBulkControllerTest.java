@@ -0,0 +1,95 @@
+package com.publicholidays.holiday_fetcher_api.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.publicholidays.holiday_fetcher_api.TestComponents;
+import com.publicholidays.holiday_fetcher_api.concurrent.AsyncRequestProperties;
+import com.publicholidays.holiday_fetcher_api.dto.response.CountryYearHolidaysDTO;
+import com.publicholidays.holiday_fetcher_api.dto.response.HolidayDTO;
+import com.publicholidays.holiday_fetcher_api.exception.HolidayExceptionHandler;
+import com.publicholidays.holiday_fetcher_api.exception.HolidayServiceExceptions;
+import com.publicholidays.holiday_fetcher_api.model.CountryCodes;
+import com.publicholidays.holiday_fetcher_api.service.HolidayFetcherService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+public class HolidayBulkControllerTest {
+
+    @Mock
+    private HolidayFetcherService holidayFetcherService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new HolidayBulkController(holidayFetcherService, new ObjectMapper(), new AsyncRequestProperties()))
+                .setControllerAdvice(new HolidayExceptionHandler(TestComponents.metrics()))
+                .build();
+    }
+
+    @Test
+    public void testBulkHolidaysAreStreamedAsOneJsonLinePerCountryYear() throws Exception {
+        when(holidayFetcherService.getHolidays(List.of("NL", "IT"), 2023, 2023)).thenReturn(consumer -> {
+            consumer.accept(new CountryYearHolidaysDTO("IT", 2023, null, "No holidays found for the given country and year."));
+            consumer.accept(new CountryYearHolidaysDTO("NL", 2023, List.of(new HolidayDTO("2023-01-01", "Nieuwjaarsdag")), null));
+        });
+
+        MvcResult result = mockMvc.perform(get("/holidays/bulk")
+                        .param("countries", "NL", "IT")
+                        .param("fromYear", "2023")
+                        .param("toYear", "2023"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_NDJSON))
+                .andExpect(content().string(
+                        "{\"country\":\"IT\",\"year\":2023,\"error\":\"No holidays found for the given country and year.\"}\n" +
+                        "{\"country\":\"NL\",\"year\":2023,\"holidays\":[{\"date\":\"2023-01-01\",\"localName\":\"Nieuwjaarsdag\"}]}\n"));
+    }
+
+    @Test
+    public void testBulkHolidaysDefaultToEveryCountry() throws Exception {
+        when(holidayFetcherService.getHolidays(CountryCodes.all(), 2023, 2024)).thenReturn(consumer -> {
+        });
+
+        MvcResult result = mockMvc.perform(get("/holidays/bulk")
+                        .param("fromYear", "2023")
+                        .param("toYear", "2024"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    public void testInvalidBulkRequestIsRejectedBeforeStreaming() throws Exception {
+        when(holidayFetcherService.getHolidays(List.of("NL"), 2024, 2020))
+                .thenThrow(new HolidayServiceExceptions.BadRequestException("The start year cannot be after the end year."));
+
+        mockMvc.perform(get("/holidays/bulk")
+                        .param("countries", "NL")
+                        .param("fromYear", "2024")
+                        .param("toYear", "2020"))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("The start year cannot be after the end year."));
+    }
+}
@@ -1,12 +1,21 @@
 package com.publicholidays.holiday_fetcher_api.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.publicholidays.holiday_fetcher_api.cache.HolidayCache;
+import com.publicholidays.holiday_fetcher_api.cache.CountryYearKey;
+import com.publicholidays.holiday_fetcher_api.cache.HolidayCacheProperties;
+import com.publicholidays.holiday_fetcher_api.cache.ResponseBodyCache;
+import com.publicholidays.holiday_fetcher_api.cache.ResponseBodyCacheProperties;
+import com.publicholidays.holiday_fetcher_api.concurrent.FanOutProperties;
+import com.publicholidays.holiday_fetcher_api.concurrent.ParallelFanOut;
+import com.publicholidays.holiday_fetcher_api.dto.response.CountriesOnHolidayDTO;
 import com.publicholidays.holiday_fetcher_api.dto.response.HolidayDTO;
+import com.publicholidays.holiday_fetcher_api.model.CountryYearHolidays;
 import com.publicholidays.holiday_fetcher_api.service.HolidayFetcherService;
 import com.publicholidays.holiday_fetcher_api.service.impl.HolidayFetcherServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
@@ -15,13 +24,20 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.time.Clock;
+import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Executors;
 
 import static org.mockito.Mockito.*;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -33,14 +49,26 @@ public class HolidayFetcherControllerTest {
 
     private MockMvc mockMvc;
 
-    @InjectMocks
     private HolidayFetcherController holidayFetcherController;
 
+    private HolidayCache holidayCache;
+
     @BeforeEach
     void setUp() {
+        holidayCache = new HolidayCache(new HolidayCacheProperties(), Clock.systemDefaultZone());
+        holidayFetcherController = new HolidayFetcherController(holidayFetcherService,
+                new ParallelFanOut(Executors.newFixedThreadPool(4), Executors.newFixedThreadPool(2), new FanOutProperties()),
+                new ResponseBodyCache(new ResponseBodyCacheProperties(), holidayCache, new ObjectMapper(), Clock.systemDefaultZone()),
+                new HttpCacheProperties());
         mockMvc = MockMvcBuilders.standaloneSetup(holidayFetcherController).build();
     }
 
+    //Endpoints return Callable, so the response is produced by the async dispatch.
+    private ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+        MvcResult result = mockMvc.perform(requestBuilder).andExpect(request().asyncStarted()).andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+
     @Test
     public void testGetLastCelebratedHolidays() throws Exception {
         HolidayDTO holiday1 = new HolidayDTO("2024-12-25", "Christmas Day");
@@ -50,7 +78,7 @@ public class HolidayFetcherControllerTest {
 
         when(holidayFetcherService.getLastThreeCelebratedHolidays("US", 2024)).thenReturn(holidays);
 
-        mockMvc.perform(get("/holidays/last")
+        performAsync(get("/holidays/last")
                 .param("country", "US")
                 .param("year", "2024")
                 .contentType(MediaType.APPLICATION_JSON))
@@ -65,7 +93,7 @@ public class HolidayFetcherControllerTest {
     public void testGetNumberOfHolidaysNotOnWeekends() throws Exception {
         when(holidayFetcherService.getNumberOfHolidaysNotOnWeekends("US", 2023)).thenReturn(5);
 
-        mockMvc.perform(get("/holidays/non-weekends")
+        performAsync(get("/holidays/non-weekends")
                         .param("year", "2023")
                         .param("countries", "US")
                         .contentType(MediaType.APPLICATION_JSON))
@@ -73,6 +101,20 @@ public class HolidayFetcherControllerTest {
                 .andExpect(content().json("[5]"));
     }
 
+    @Test
+    public void testGetNumberOfHolidaysNotOnWeekendsForSeveralCountries() throws Exception {
+        when(holidayFetcherService.getNumberOfHolidaysNotOnWeekends("US", 2023)).thenReturn(5);
+        when(holidayFetcherService.getNumberOfHolidaysNotOnWeekends("NL", 2023)).thenReturn(8);
+        when(holidayFetcherService.getNumberOfHolidaysNotOnWeekends("IT", 2023)).thenReturn(7);
+
+        performAsync(get("/holidays/non-weekends")
+                        .param("year", "2023")
+                        .param("countries", "US,NL,IT")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[8, 7, 5]"));
+    }
+
     @Test
     public void testGetCommonHolidays() throws Exception {
         HolidayDTO holiday = new HolidayDTO("2023-01-01", "New Year");
@@ -80,7 +122,7 @@ public class HolidayFetcherControllerTest {
 
         when(holidayFetcherService.getHolidaysInCommon("US", "CA", 2023)).thenReturn(commonHolidays);
 
-        mockMvc.perform(get("/holidays/common")
+        performAsync(get("/holidays/common")
                         .param("year", "2023")
                         .param("country1", "US")
                         .param("country2", "CA")
@@ -88,4 +130,147 @@ public class HolidayFetcherControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(content().json("[{'date': '2023-01-01', 'localName': 'New Year'}]"));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testGetCommonHolidaysOfManyCountries() throws Exception {
+        HolidayDTO holiday = new HolidayDTO("2023-01-01", "New Year");
+
+        when(holidayFetcherService.getHolidaysInCommon(List.of("US", "CA", "NL"), 2023)).thenReturn(List.of(holiday));
+
+        performAsync(get("/holidays/common")
+                        .param("year", "2023")
+                        .param("countries", "US,CA,NL")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[{'date': '2023-01-01', 'localName': 'New Year'}]"));
+    }
+
+    @Test
+    public void testGetCountriesOnHoliday() throws Exception {
+        when(holidayFetcherService.getCountriesOnHoliday(LocalDate.of(2023, 12, 25)))
+                .thenReturn(new CountriesOnHolidayDTO("2023-12-25", List.of("NL", "US")));
+
+        performAsync(get("/holidays/countries")
+                        .param("date", "2023-12-25")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{'date': '2023-12-25', 'countries': ['NL', 'US']}"));
+    }
+
+    @Test
+    public void testGetCountriesOnHolidayBetween() throws Exception {
+        when(holidayFetcherService.getCountriesOnHoliday(LocalDate.of(2023, 12, 24), LocalDate.of(2023, 12, 26)))
+                .thenReturn(List.of(new CountriesOnHolidayDTO("2023-12-25", List.of("NL", "US")),
+                        new CountriesOnHolidayDTO("2023-12-26", List.of("NL"))));
+
+        performAsync(get("/holidays/countries")
+                        .param("from", "2023-12-24")
+                        .param("to", "2023-12-26")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[{'date': '2023-12-25', 'countries': ['NL', 'US']}, " +
+                        "{'date': '2023-12-26', 'countries': ['NL']}]"));
+    }
+
+    @Test
+    public void testBusinessDays() throws Exception {
+        when(holidayFetcherService.getNumberOfBusinessDays("NL", LocalDate.of(2024, 12, 23), LocalDate.of(2025, 1, 3))).thenReturn(7);
+        when(holidayFetcherService.addBusinessDays("NL", LocalDate.of(2024, 12, 24), 3)).thenReturn(LocalDate.of(2024, 12, 31));
+
+        performAsync(get("/holidays/business-days")
+                        .param("country", "NL")
+                        .param("from", "2024-12-23")
+                        .param("to", "2025-01-03"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("7"));
+        performAsync(get("/holidays/business-days/add")
+                        .param("country", "NL")
+                        .param("date", "2024-12-24")
+                        .param("days", "3"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{'country': 'NL', 'date': '2024-12-31'}"));
+    }
+
+    @Test
+    public void testResponsesCarryETagAndCacheControl() throws Exception {
+        HttpCacheProperties httpCacheProperties = new HttpCacheProperties();
+        mockMvc = MockMvcBuilders.standaloneSetup(holidayFetcherController)
+                .addFilters(new HolidayResponseCachingFilter(httpCacheProperties))
+                .build();
+        when(holidayFetcherService.getHolidaysInCommon("US", "CA", 2023)).thenReturn(List.of(new HolidayDTO("2023-01-01", "New Year")));
+
+        MvcResult full = performAsync(get("/holidays/common")
+                        .param("year", "2023")
+                        .param("country1", "US")
+                        .param("country2", "CA"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "max-age=3600, public"))
+                .andReturn();
+        String etag = full.getResponse().getHeader("ETag");
+
+        performAsync(get("/holidays/common")
+                        .param("year", "2023")
+                        .param("country1", "US")
+                        .param("country2", "CA")
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(header().string("Cache-Control", "max-age=3600, public"))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    public void testCachedBodiesCarryTheirOwnETagWithoutTheFilter() throws Exception {
+        holidayCache.put(new CountryYearKey("US", 2024),
+                CountryYearHolidays.fromHolidayDTOs(2024, new HolidayDTO[]{new HolidayDTO("2024-12-25", "Christmas Day")}));
+        when(holidayFetcherService.getLastThreeCelebratedHolidays("US", 2024))
+                .thenReturn(List.of(new HolidayDTO("2024-12-25", "Christmas Day")));
+
+        MvcResult full = performAsync(get("/holidays/last")
+                        .param("country", "US")
+                        .param("year", "2024"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(header().string("Cache-Control", "max-age=3600, public"))
+                .andReturn();
+        String etag = full.getResponse().getHeader("ETag");
+
+        performAsync(get("/holidays/last")
+                        .param("country", "US")
+                        .param("year", "2024")
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+        verify(holidayFetcherService, times(1)).getLastThreeCelebratedHolidays("US", 2024);
+    }
+
+    @Test
+    public void testLastHolidaysAreServedFromResponseCacheUntilTheirHolidaysChange() throws Exception {
+        CountryYearKey key = new CountryYearKey("US", 2024);
+        holidayCache.put(key, CountryYearHolidays.fromHolidayDTOs(2024, new HolidayDTO[]{new HolidayDTO("2024-12-25", "Christmas Day")}));
+        when(holidayFetcherService.getLastThreeCelebratedHolidays("US", 2024))
+                .thenReturn(List.of(new HolidayDTO("2024-12-25", "Christmas Day")));
+
+        for (int i = 0; i < 3; i++) {
+            performAsync(get("/holidays/last")
+                            .param("country", "US")
+                            .param("year", "2024"))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(APPLICATION_JSON))
+                    .andExpect(content().json("[{'date': '2024-12-25', 'localName': 'Christmas Day'}]"));
+        }
+        verify(holidayFetcherService, times(1)).getLastThreeCelebratedHolidays("US", 2024);
+
+        holidayCache.put(key, CountryYearHolidays.fromHolidayDTOs(2024, new HolidayDTO[]{new HolidayDTO("2024-12-26", "Boxing Day")}));
+        when(holidayFetcherService.getLastThreeCelebratedHolidays("US", 2024))
+                .thenReturn(List.of(new HolidayDTO("2024-12-26", "Boxing Day")));
+
+        performAsync(get("/holidays/last")
+                        .param("country", "US")
+                        .param("year", "2024"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[{'date': '2024-12-26', 'localName': 'Boxing Day'}]"));
+        verify(holidayFetcherService, times(2)).getLastThreeCelebratedHolidays("US", 2024);
+    }
+}
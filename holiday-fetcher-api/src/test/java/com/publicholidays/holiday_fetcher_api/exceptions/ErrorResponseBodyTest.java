@@ -0,0 +1,43 @@
+package com.publicholidays.holiday_fetcher_api.exception;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ErrorResponseBodyTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void timestampIsWrittenBetweenThePreSerializedHalves() {
+        ErrorResponseBody body = ErrorResponseBody.of(HttpStatus.BAD_REQUEST, "Invalid year format: 99");
+
+        String json = new String(body.render(LocalDateTime.of(2024, 3, 7, 9, 5, 4, 12_000_000)), StandardCharsets.UTF_8);
+
+        assertEquals("{\"status\":400,\"error\":\"Bad Request\",\"message\":\"Invalid year format: 99\",\"timestamp\":\"2024-03-07T09:05:04.012\"}", json);
+    }
+
+    @Test
+    void messagesAreEscaped() throws Exception {
+        String message = "Quote \" backslash \\ newline \n and ü";
+
+        JsonNode json = objectMapper.readTree(ErrorResponseBody.of(HttpStatus.NOT_FOUND, message).render(LocalDateTime.now()));
+
+        assertEquals(message, json.get("message").asText());
+        assertEquals(404, json.get("status").asInt());
+        assertTrue(objectMapper.readTree(ErrorResponseBody.of(HttpStatus.NOT_FOUND, null).render(LocalDateTime.now())).get("message").isNull());
+    }
+
+    @Test
+    void clientErrorsAreStackless() {
+        assertEquals(0, new HolidayServiceExceptions.BadRequestException("Invalid").getStackTrace().length);
+        assertEquals(0, new HolidayServiceExceptions.HolidayNotFoundException("Not found").getStackTrace().length);
+        assertNotEquals(0, new HolidayServiceExceptions.UnknownErrorException("Unknown").getStackTrace().length);
+    }
+}
@@ -1,19 +1,39 @@
 package com.publicholidays.holiday_fetcher_api.exception;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.publicholidays.holiday_fetcher_api.TestComponents;
+import com.publicholidays.holiday_fetcher_api.cache.HolidayCache;
+import com.publicholidays.holiday_fetcher_api.cache.HolidayCacheProperties;
+import com.publicholidays.holiday_fetcher_api.cache.ResponseBodyCache;
+import com.publicholidays.holiday_fetcher_api.cache.ResponseBodyCacheProperties;
+import com.publicholidays.holiday_fetcher_api.concurrent.FanOutProperties;
+import com.publicholidays.holiday_fetcher_api.concurrent.ParallelFanOut;
 import com.publicholidays.holiday_fetcher_api.controller.HolidayFetcherController;
+import com.publicholidays.holiday_fetcher_api.controller.HttpCacheProperties;
 import com.publicholidays.holiday_fetcher_api.service.HolidayFetcherService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -23,24 +43,35 @@ public class HolidayExceptionHandlerTest {
     @Mock
     private HolidayFetcherService holidayFetcherService;
 
-    @InjectMocks
     private HolidayFetcherController holidayFetcherController;
 
     private MockMvc mockMvc;
 
     @BeforeEach
     public void setup() {
+        holidayFetcherController = new HolidayFetcherController(holidayFetcherService,
+                new ParallelFanOut(Executors.newFixedThreadPool(4), Executors.newFixedThreadPool(2), new FanOutProperties()),
+                new ResponseBodyCache(new ResponseBodyCacheProperties(),
+                        new HolidayCache(new HolidayCacheProperties(), Clock.systemDefaultZone()), new ObjectMapper(),
+                        Clock.systemDefaultZone()),
+                new HttpCacheProperties());
         mockMvc = MockMvcBuilders.standaloneSetup(holidayFetcherController)
-                .setControllerAdvice(new HolidayExceptionHandler())
+                .setControllerAdvice(new HolidayExceptionHandler(TestComponents.metrics()))
                 .build();
     }
 
+    //Endpoints return Callable, so the response is produced by the async dispatch.
+    private ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+        MvcResult result = mockMvc.perform(requestBuilder).andExpect(request().asyncStarted()).andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+
     @Test
     public void testHandleHolidayNotFoundException() throws Exception {
         when(holidayFetcherService.getLastThreeCelebratedHolidays("invalidCountry", 2024))
                 .thenThrow(new HolidayServiceExceptions.HolidayNotFoundException("Holiday not found"));
 
-        mockMvc.perform(get("/holidays/last")
+        performAsync(get("/holidays/last")
                         .param("country", "invalidCountry")
                         .param("year", "2024")
                         .contentType(MediaType.APPLICATION_JSON))
@@ -55,7 +86,7 @@ public class HolidayExceptionHandlerTest {
         when(holidayFetcherService.getLastThreeCelebratedHolidays("XX", 2024))
                 .thenThrow(new HolidayServiceExceptions.BadRequestException("Invalid country code"));
 
-        mockMvc.perform(get("/holidays/last")
+        performAsync(get("/holidays/last")
                         .param("country", "XX")
                         .param("year", "2024")
                         .contentType(MediaType.APPLICATION_JSON))
@@ -70,7 +101,7 @@ public class HolidayExceptionHandlerTest {
         when(holidayFetcherService.getLastThreeCelebratedHolidays("validCountry", 2024))
                 .thenThrow(new HolidayServiceExceptions.UnknownErrorException("Unexpected error occurred"));
 
-        mockMvc.perform(get("/holidays/last")
+        performAsync(get("/holidays/last")
                         .param("country", "validCountry")
                         .param("year", "2024")
                         .contentType(MediaType.APPLICATION_JSON))
@@ -79,4 +110,34 @@ public class HolidayExceptionHandlerTest {
                 .andExpect(jsonPath("$.status").value(HttpStatus.INTERNAL_SERVER_ERROR.value()))
                 .andExpect(jsonPath("$.error").value(HttpStatus.INTERNAL_SERVER_ERROR.getReasonPhrase()));
     }
+
+    @Test
+    public void testHandleAsyncRequestTimeout() throws Exception {
+        when(holidayFetcherService.getLastThreeCelebratedHolidays("NL", 2024)).thenThrow(new AsyncRequestTimeoutException());
+
+        performAsync(get("/holidays/last")
+                        .param("country", "NL")
+                        .param("year", "2024"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.message").value("The request timed out, please retry later."))
+                .andExpect(jsonPath("$.status").value(HttpStatus.SERVICE_UNAVAILABLE.value()));
+    }
+
+    @Test
+    public void onlyFixedMessagesAreCached() {
+        HolidayExceptionHandler handler = new HolidayExceptionHandler(TestComponents.metrics());
+
+        for (int year = 0; year < 1000; year++) {
+            byte[] body = handler.handleBadRequestException(
+                    new HolidayServiceExceptions.BadRequestException("Invalid year format: " + year)).getBody();
+            assertTrue(new String(body, StandardCharsets.UTF_8).contains("\"Invalid year format: " + year + "\""));
+        }
+        HolidayServiceExceptions.BadRequestException fixed =
+                HolidayServiceExceptions.BadRequestException.fixed("Invalid country code");
+        handler.handleBadRequestException(fixed);
+        byte[] body = handler.handleBadRequestException(fixed).getBody();
+
+        assertTrue(new String(body, StandardCharsets.UTF_8).contains("\"Invalid country code\""));
+        assertEquals(1, handler.cachedBodyCount());
+    }
 }
@@ -0,0 +1,67 @@
+package com.publicholidays.holiday_fetcher_api.index;
+
+import com.publicholidays.holiday_fetcher_api.cache.CountryYearKey;
+import com.publicholidays.holiday_fetcher_api.cache.HolidayCache;
+import com.publicholidays.holiday_fetcher_api.cache.HolidayCacheProperties;
+import com.publicholidays.holiday_fetcher_api.dto.response.HolidayDTO;
+import com.publicholidays.holiday_fetcher_api.model.CountryYearHolidays;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CountryHolidayIndexTest {
+
+    private HolidayCache holidayCache;
+    private CountryHolidayIndex countryHolidayIndex;
+
+    @BeforeEach
+    void setUp() {
+        HolidayCacheProperties properties = new HolidayCacheProperties();
+        properties.setMaxEntries(2);
+        holidayCache = new HolidayCache(properties, Clock.systemDefaultZone());
+        countryHolidayIndex = new CountryHolidayIndex(holidayCache);
+    }
+
+    @Test
+    void indexFollowsCachedHolidays() {
+        holidayCache.put(new CountryYearKey("NL", 2023), holidays("2023-12-25", "2023-12-26"));
+        holidayCache.put(new CountryYearKey("ZA", 2023), holidays("2023-12-25"));
+
+        assertEquals(List.of("NL", "ZA"), countryHolidayIndex.countriesOnHoliday(LocalDate.of(2023, 12, 25)).toCountryCodes());
+        assertEquals(List.of("NL"), countryHolidayIndex.countriesOnHoliday(LocalDate.of(2023, 12, 26)).toCountryCodes());
+        assertTrue(countryHolidayIndex.countriesOnHoliday(LocalDate.of(2023, 12, 27)).isEmpty());
+        assertEquals(2, countryHolidayIndex.coverage(2023).size());
+    }
+
+    @Test
+    void refreshedHolidaysReplacePreviousOnes() {
+        holidayCache.put(new CountryYearKey("NL", 2023), holidays("2023-12-25"));
+        holidayCache.put(new CountryYearKey("NL", 2023), holidays("2023-12-26"));
+
+        assertTrue(countryHolidayIndex.countriesOnHoliday(LocalDate.of(2023, 12, 25)).isEmpty());
+        assertEquals(List.of("NL"), countryHolidayIndex.countriesOnHoliday(LocalDate.of(2023, 12, 26)).toCountryCodes());
+    }
+
+    @Test
+    void evictedCountriesLeaveTheIndex() {
+        holidayCache.put(new CountryYearKey("NL", 2023), holidays("2023-12-25"));
+        holidayCache.put(new CountryYearKey("US", 2023), holidays("2023-12-25"));
+        holidayCache.put(new CountryYearKey("ZA", 2023), holidays("2023-12-25"));
+
+        assertEquals(List.of("US", "ZA"), countryHolidayIndex.countriesOnHoliday(LocalDate.of(2023, 12, 25)).toCountryCodes());
+        assertEquals(2, countryHolidayIndex.coverage(2023).size());
+    }
+
+    private static CountryYearHolidays holidays(String... dates) {
+        HolidayDTO[] holidays = new HolidayDTO[dates.length];
+        for (int i = 0; i < dates.length; i++) {
+            holidays[i] = new HolidayDTO(dates[i], "Holiday " + i);
+        }
+        return CountryYearHolidays.fromHolidayDTOs(2023, holidays);
+    }
+}
@@ -0,0 +1,102 @@
+package com.publicholidays.holiday_fetcher_api.jfr;
+
+import com.publicholidays.holiday_fetcher_api.stub.StubUpstreamServer;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "holidays.warmup.enabled=false")
+@AutoConfigureMockMvc
+class HolidayEventsTest {
+
+    private static final StubUpstreamServer UPSTREAM = startUpstream();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @DynamicPropertySource
+    static void upstreamProperties(DynamicPropertyRegistry registry) {
+        registry.add("holidays.upstream.base-url", UPSTREAM::baseUrl);
+    }
+
+    @AfterAll
+    static void stopUpstream() {
+        UPSTREAM.close();
+    }
+
+    @Test
+    void requestRecordsItsUpstreamFetchCacheLookupAndComputationEvents(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("holidays.jfr");
+        try (Recording recording = new Recording(HolidayFlightRecorder.configuration())) {
+            recording.start();
+            MvcResult result = mockMvc.perform(get("/holidays/last").param("country", "FR").param("year", "2021"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk());
+            recording.stop();
+            recording.dump(file);
+        }
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+
+        RecordedEvent request = single(events, "com.publicholidays.Request");
+        assertEquals("/holidays/last", request.getString("endpoint"));
+        assertEquals("FR", request.getString("country"));
+        assertEquals(2021, request.getInt("year"));
+        assertEquals(200, request.getInt("status"));
+        assertTrue(request.getLong("bytes") > 0);
+
+        RecordedEvent fetch = single(events, "com.publicholidays.UpstreamFetch");
+        assertEquals("FR", fetch.getString("country"));
+        assertEquals(2021, fetch.getInt("year"));
+        assertEquals("200", fetch.getString("status"));
+        assertTrue(fetch.getLong("bytes") > 0);
+
+        RecordedEvent deserialization = single(events, "com.publicholidays.UpstreamDeserialization");
+        assertEquals(fetch.getLong("bytes"), deserialization.getLong("bytes"));
+        assertTrue(deserialization.getInt("items") > 0);
+
+        RecordedEvent lookup = single(events, "com.publicholidays.CacheLookup");
+        assertEquals("FR", lookup.getString("country"));
+        assertTrue(lookup.getBoolean("loaded"));
+
+        assertTrue(events.stream().anyMatch(event -> event.getEventType().getName().equals("com.publicholidays.Computation")
+                && "last".equals(event.getString("stage"))));
+        assertFalse(request.getDuration().isNegative());
+        assertTrue(request.getDuration().compareTo(fetch.getDuration()) >= 0);
+    }
+
+    private static RecordedEvent single(List<RecordedEvent> events, String name) {
+        List<RecordedEvent> matching = events.stream().filter(event -> event.getEventType().getName().equals(name)).toList();
+        assertEquals(1, matching.size(), name);
+        return matching.get(0);
+    }
+
+    private static StubUpstreamServer startUpstream() {
+        try {
+            return new StubUpstreamServer(0, 0, 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
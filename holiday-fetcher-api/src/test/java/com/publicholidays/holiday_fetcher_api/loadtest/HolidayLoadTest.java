@@ -0,0 +1,138 @@
+package com.publicholidays.holiday_fetcher_api.loadtest;
+
+import com.publicholidays.holiday_fetcher_api.stub.StubUpstreamServer;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+//End-to-end latency and throughput of /last, /non-weekends and /common under open-model load, with the application
+//talking to an in-process stub upstream. Runs only in the load-test profile, which fails the build when a latency
+//budget is exceeded. Every setting can be overridden with -Dloadtest.<name>=<value>.
+//HdrHistogram percentile distributions are written to target/loadtest/<endpoint>.hgrm.
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"holidays.warmup.enabled=false", "holidays.snapshot.enabled=false"})
+class HolidayLoadTest {
+
+    private static final List<String> COUNTRIES = List.of(
+            "AT", "BE", "BR", "CA", "CH", "DE", "DK", "ES", "FI", "FR", "GB", "IE", "IN", "IT", "JP",
+            "MX", "NL", "NO", "NZ", "PL", "PT", "SI", "SM", "US", "ZA");
+    private static final int FIRST_YEAR = 2020;
+    private static final int LAST_YEAR = 2024;
+
+    private static final StubUpstreamServer UPSTREAM = startUpstream();
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void upstreamProperties(DynamicPropertyRegistry registry) {
+        registry.add("holidays.upstream.base-url", UPSTREAM::baseUrl);
+    }
+
+    @AfterAll
+    static void stopUpstream() {
+        UPSTREAM.close();
+    }
+
+    @Test
+    void latencyStaysWithinBudgets() throws IOException {
+        int rate = Integer.getInteger("loadtest.rate", 200);
+        Duration warmup = Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 5));
+        Duration duration = Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 20));
+        long p50Budget = Long.getLong("loadtest.budget.p50", 25);
+        long p99Budget = Long.getLong("loadtest.budget.p99", 500);
+        long p999Budget = Long.getLong("loadtest.budget.p999", 1000);
+        double errorRateBudget = Double.parseDouble(System.getProperty("loadtest.budget.error-rate", "0.02"));
+
+        Map<String, Supplier<String>> endpoints = new LinkedHashMap<>();
+        endpoints.put("last", () -> "/holidays/last?country=" + country() + "&year=" + year());
+        endpoints.put("non-weekends", () -> "/holidays/non-weekends?year=" + year() + "&countries=" + String.join(",", countries(3)));
+        endpoints.put("common", () -> {
+            List<String> pair = countries(2);
+            return "/holidays/common?year=" + year() + "&country1=" + pair.get(0) + "&country2=" + pair.get(1);
+        });
+        OpenModelLoad load = new OpenModelLoad("http://localhost:" + port, endpoints);
+
+        //The warmup run lets the JIT and the cache settle; only the second run is measured.
+        load.run(rate, warmup);
+        Map<String, OpenModelLoad.EndpointResult> results = load.run(rate, duration);
+
+        Path reports = Files.createDirectories(Path.of("target", "loadtest"));
+        List<String> violations = new ArrayList<>();
+        System.out.printf("Open-model load: %d req/s for %s, upstream requests %d (%d injected errors)%n",
+                rate, duration, UPSTREAM.requests(), UPSTREAM.errors());
+        for (Map.Entry<String, OpenModelLoad.EndpointResult> entry : results.entrySet()) {
+            String endpoint = entry.getKey();
+            OpenModelLoad.EndpointResult result = entry.getValue();
+            Histogram histogram = result.latencyMicros;
+            try (PrintStream report = new PrintStream(Files.newOutputStream(reports.resolve(endpoint + ".hgrm")))) {
+                histogram.outputPercentileDistribution(report, 1000.0);
+            }
+            double p50 = histogram.getValueAtPercentile(50) / 1000.0;
+            double p99 = histogram.getValueAtPercentile(99) / 1000.0;
+            double p999 = histogram.getValueAtPercentile(99.9) / 1000.0;
+            double throughput = histogram.getTotalCount() / (double) duration.toSeconds();
+            System.out.printf("%-13s %8.1f req/s  p50 %8.2f ms  p99 %8.2f ms  p99.9 %8.2f ms  max %8.2f ms  errors %.2f%%%n",
+                    endpoint, throughput, p50, p99, p999, histogram.getMaxValue() / 1000.0, result.errorRate() * 100);
+
+            check(violations, endpoint, "p50", p50, p50Budget);
+            check(violations, endpoint, "p99", p99, p99Budget);
+            check(violations, endpoint, "p99.9", p999, p999Budget);
+            if (result.errorRate() > errorRateBudget) {
+                violations.add(String.format("%s error rate %.2f%% exceeds %.2f%%", endpoint, result.errorRate() * 100, errorRateBudget * 100));
+            }
+        }
+        assertTrue(violations.isEmpty(), "Latency budgets exceeded: " + violations);
+    }
+
+    private static void check(List<String> violations, String endpoint, String percentile, double millis, long budget) {
+        if (millis > budget) {
+            violations.add(String.format("%s %s %.2f ms exceeds %d ms", endpoint, percentile, millis, budget));
+        }
+    }
+
+    private static StubUpstreamServer startUpstream() {
+        try {
+            return new StubUpstreamServer(Long.getLong("loadtest.upstream.latency", 20),
+                    Long.getLong("loadtest.upstream.jitter", 30),
+                    Double.parseDouble(System.getProperty("loadtest.upstream.error-rate", "0.005")));
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start the stub upstream", e);
+        }
+    }
+
+    private static String country() {
+        return COUNTRIES.get(ThreadLocalRandom.current().nextInt(COUNTRIES.size()));
+    }
+
+    private static List<String> countries(int count) {
+        List<String> countries = new ArrayList<>(COUNTRIES);
+        Collections.shuffle(countries, ThreadLocalRandom.current());
+        return countries.subList(0, count);
+    }
+
+    private static int year() {
+        return ThreadLocalRandom.current().nextInt(FIRST_YEAR, LAST_YEAR + 1);
+    }
+}
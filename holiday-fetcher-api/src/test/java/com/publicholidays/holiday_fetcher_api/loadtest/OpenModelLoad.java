@@ -0,0 +1,82 @@
+package com.publicholidays.holiday_fetcher_api.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+//Open-model load: requests are sent at a fixed arrival rate whether or not earlier ones have completed, and latency is
+//measured from the intended send time, so a stalled server shows up in the percentiles instead of slowing the load.
+class OpenModelLoad {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final String baseUrl;
+    private final Map<String, Supplier<String>> endpoints;
+
+    OpenModelLoad(String baseUrl, Map<String, Supplier<String>> endpoints) {
+        this.baseUrl = baseUrl;
+        this.endpoints = endpoints;
+    }
+
+    //Sends requests at the given rate for the duration, cycling through the endpoints, and waits for all of them.
+    Map<String, EndpointResult> run(int requestsPerSecond, Duration duration) {
+        Map<String, EndpointResult> results = new LinkedHashMap<>();
+        endpoints.keySet().forEach(name -> results.put(name, new EndpointResult()));
+        List<String> names = List.copyOf(endpoints.keySet());
+        ConcurrentLinkedQueue<CompletableFuture<?>> inFlight = new ConcurrentLinkedQueue<>();
+
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / requestsPerSecond;
+        long total = duration.toNanos() / intervalNanos;
+        long start = System.nanoTime();
+        for (long i = 0; i < total; i++) {
+            long intendedStart = start + i * intervalNanos;
+            long wait = intendedStart - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            String name = names.get((int) (i % names.size()));
+            EndpointResult result = results.get(name);
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + endpoints.get(name).get()))
+                    .timeout(Duration.ofSeconds(30)).GET().build();
+            inFlight.add(httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .handle((response, error) -> {
+                        result.record(System.nanoTime() - intendedStart, error == null && response.statusCode() < 400);
+                        return null;
+                    }));
+        }
+        CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new)).join();
+        return results;
+    }
+
+    static class EndpointResult {
+        final Histogram latencyMicros = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        final AtomicLong errors = new AtomicLong();
+
+        void record(long latencyNanos, boolean success) {
+            latencyMicros.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_TRACKABLE_MICROS));
+            if (!success) {
+                errors.incrementAndGet();
+            }
+        }
+
+        double errorRate() {
+            long count = latencyMicros.getTotalCount();
+            return count == 0 ? 0 : (double) errors.get() / count;
+        }
+    }
+}
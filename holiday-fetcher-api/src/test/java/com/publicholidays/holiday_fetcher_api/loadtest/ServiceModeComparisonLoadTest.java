@@ -0,0 +1,103 @@
+package com.publicholidays.holiday_fetcher_api.loadtest;
+
+import com.publicholidays.holiday_fetcher_api.HolidayFetcherApiApplication;
+import com.publicholidays.holiday_fetcher_api.model.CountryMask;
+import com.publicholidays.holiday_fetcher_api.stub.StubUpstreamServer;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+//Blocking versus reactive mode under the same open-model load of cold requests against a slow upstream, the case where
+//the blocking mode runs out of request threads. Each mode gets its own application with the same small request-thread
+//pools (Tomcat's and the async request executor's) and the same generous connection and bulkhead limits, so the
+//thread model is the only difference; the default rate keeps more requests waiting on the upstream than there are
+//threads. Both results are printed and written to target/loadtest/mode-<mode>.hgrm; the build fails only when the
+//reactive mode exceeds its error-rate budget.
+//Every setting can be overridden with -Dloadtest.<name>=<value>.
+@Tag("load")
+class ServiceModeComparisonLoadTest {
+
+    private static final int FIRST_YEAR = 1950;
+
+    @Test
+    void reactiveModeSustainsColdLoadAgainstSlowUpstream() throws IOException {
+        int rate = Integer.getInteger("loadtest.mode.rate", 100);
+        Duration duration = Duration.ofSeconds(Long.getLong("loadtest.mode.duration-seconds", 15));
+        double errorRateBudget = Double.parseDouble(System.getProperty("loadtest.budget.error-rate", "0.02"));
+
+        Path reports = Files.createDirectories(Path.of("target", "loadtest"));
+        OpenModelLoad.EndpointResult blocking = run("blocking", rate, duration, reports);
+        OpenModelLoad.EndpointResult reactive = run("reactive", rate, duration, reports);
+
+        assertTrue(reactive.errorRate() <= errorRateBudget,
+                String.format("reactive error rate %.2f%% exceeds %.2f%% (blocking %.2f%%)",
+                        reactive.errorRate() * 100, errorRateBudget * 100, blocking.errorRate() * 100));
+    }
+
+    private static OpenModelLoad.EndpointResult run(String mode, int rate, Duration duration, Path reports) throws IOException {
+        int serverThreads = Integer.getInteger("loadtest.mode.server-threads", 20);
+        //Settings are passed as command-line arguments, which take precedence over application.properties.
+        try (StubUpstreamServer upstream = new StubUpstreamServer(Long.getLong("loadtest.mode.upstream.latency", 500),
+                Long.getLong("loadtest.mode.upstream.jitter", 500), 0);
+             ConfigurableApplicationContext context = new SpringApplicationBuilder(HolidayFetcherApiApplication.class)
+                     .run("--server.port=0",
+                             "--server.tomcat.threads.max=" + serverThreads,
+                             "--holidays.async.max-threads=" + serverThreads,
+                             "--holidays.service.mode=" + mode,
+                             "--holidays.upstream.base-url=" + upstream.baseUrl(),
+                             "--holidays.warmup.enabled=false",
+                             "--holidays.snapshot.enabled=false",
+                             "--holidays.http.max-connections=2000",
+                             "--holidays.http.max-connections-per-route=2000",
+                             "--holidays.http.reactive-max-connections=2000",
+                             "--holidays.resilience.max-concurrent-calls=2000",
+                             "--holidays.resilience.slow-call-rate-threshold=100",
+                             "--holidays.resilience.slow-call-duration=10s")) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            OpenModelLoad load = new OpenModelLoad("http://localhost:" + port, Map.of("last", coldKeys()));
+
+            OpenModelLoad.EndpointResult result = load.run(rate, duration).get("last");
+            Histogram histogram = result.latencyMicros;
+            try (PrintStream report = new PrintStream(Files.newOutputStream(reports.resolve("mode-" + mode + ".hgrm")))) {
+                histogram.outputPercentileDistribution(report, 1000.0);
+            }
+            System.out.printf("%-9s %d req/s offered, %8.1f req/s answered  p50 %8.2f ms  p99 %8.2f ms  max %8.2f ms  errors %.2f%%  upstream requests %d%n",
+                    mode, rate, (histogram.getTotalCount() - result.errors.get()) / (double) duration.toSeconds(),
+                    histogram.getValueAtPercentile(50) / 1000.0, histogram.getValueAtPercentile(99) / 1000.0,
+                    histogram.getMaxValue() / 1000.0, result.errorRate() * 100, upstream.requests());
+            return result;
+        }
+    }
+
+    //Every request asks for a country and year not asked before, so each one has to wait for the upstream.
+    private static Supplier<String> coldKeys() {
+        List<String> paths = new ArrayList<>();
+        int lastYear = LocalDate.now().getYear();
+        for (String country : CountryMask.all().toCountryCodes()) {
+            for (int year = FIRST_YEAR; year <= lastYear; year++) {
+                paths.add("/holidays/last?country=" + country + "&year=" + year);
+            }
+        }
+        Collections.shuffle(paths);
+        AtomicInteger next = new AtomicInteger();
+        return () -> paths.get(next.getAndIncrement() % paths.size());
+    }
+}
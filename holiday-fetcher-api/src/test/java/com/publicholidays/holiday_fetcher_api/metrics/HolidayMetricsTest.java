@@ -0,0 +1,71 @@
+package com.publicholidays.holiday_fetcher_api.metrics;
+
+import com.publicholidays.holiday_fetcher_api.client.NagerDateClient;
+import com.publicholidays.holiday_fetcher_api.client.UpstreamProperties;
+import com.publicholidays.holiday_fetcher_api.dto.response.HolidayDTO;
+import com.publicholidays.holiday_fetcher_api.exception.HolidayExceptionHandler;
+import com.publicholidays.holiday_fetcher_api.exception.HolidayServiceExceptions;
+import com.publicholidays.holiday_fetcher_api.model.UpstreamHolidays;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.*;
+
+class HolidayMetricsTest {
+
+    private SimpleMeterRegistry registry;
+    private HolidayMetrics holidayMetrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        holidayMetrics = new HolidayMetrics(registry);
+    }
+
+    @Test
+    void upstreamRequestsAreTimedByCountryAndStatus() {
+        RestTemplate restTemplate = mock(RestTemplate.class);
+        when(restTemplate.getForObject(contains("/NL"), any())).thenReturn(UpstreamHolidays.fromHolidayDTOs(new HolidayDTO("2024-01-01", "Nieuwjaarsdag")));
+        when(restTemplate.getForObject(contains("/XX"), any())).thenThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND));
+        NagerDateClient client = new NagerDateClient(restTemplate, new UpstreamProperties(), holidayMetrics);
+
+        client.fetchHolidays("NL", 2024);
+        assertThrows(HolidayServiceExceptions.HolidayNotFoundException.class, () -> client.fetchHolidays("XX", 2024));
+
+        assertEquals(1, registry.get(HolidayMetrics.UPSTREAM_REQUESTS).tags("country", "NL", "status", "200").timer().count());
+        assertEquals(1, registry.get(HolidayMetrics.UPSTREAM_REQUESTS).tags("country", "XX", "status", "404").timer().count());
+        assertEquals(1, registry.get(HolidayMetrics.COMPUTATION).tag("stage", "ingest").timer().count());
+    }
+
+    @Test
+    void handledErrorsAreCountedByType() {
+        HolidayExceptionHandler handler = new HolidayExceptionHandler(holidayMetrics);
+
+        handler.handleBadRequestException(new HolidayServiceExceptions.BadRequestException("Invalid year format: 99"));
+        handler.handleBadRequestException(new HolidayServiceExceptions.BadRequestException("Invalid year format: 99"));
+        handler.handleHolidayNotFoundException(new HolidayServiceExceptions.HolidayNotFoundException("No holidays found for the given country and year."));
+
+        assertEquals(2, registry.get(HolidayMetrics.ERRORS).tag("type", "BadRequestException").counter().count());
+        assertEquals(1, registry.get(HolidayMetrics.ERRORS).tag("type", "HolidayNotFoundException").counter().count());
+    }
+
+    @Test
+    void cachedMetersKeepCountingPerTagValue() {
+        holidayMetrics.computation("lookup", () -> 1);
+        holidayMetrics.computation("lookup", () -> 2);
+        holidayMetrics.upstreamFallback("failure", true);
+        holidayMetrics.upstreamFallback("failure", true);
+        holidayMetrics.upstreamFallback("failure", false);
+
+        assertEquals(2, registry.get(HolidayMetrics.COMPUTATION).tag("stage", "lookup").timer().count());
+        assertEquals(2, registry.get(HolidayMetrics.FALLBACKS).tags("reason", "failure", "served", "true").counter().count());
+        assertEquals(1, registry.get(HolidayMetrics.FALLBACKS).tags("reason", "failure", "served", "false").counter().count());
+    }
+}
@@ -0,0 +1,24 @@
+package com.publicholidays.holiday_fetcher_api.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CountryCodesTest {
+
+    @Test
+    void everySupportedCodeMapsToItsOrdinal() {
+        for (int i = 0; i < CountryCodes.count(); i++) {
+            assertEquals(i, CountryCodes.ordinal(CountryCodes.code(i)));
+            assertTrue(CountryCodes.isValid(CountryCodes.code(i)));
+        }
+    }
+
+    @Test
+    void anythingButASupportedCodeOfTwoCapitalsIsRejected() {
+        for (String country : new String[]{null, "", "N", "NLD", "nl", "Nl", "XX", "ZZ", "AA", "N1", "@A", "[A", "Ä", "ÄÖ"}) {
+            assertFalse(CountryCodes.isValid(country), String.valueOf(country));
+            assertEquals(-1, CountryCodes.ordinal(country), String.valueOf(country));
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.publicholidays.holiday_fetcher_api.model;
+
+import com.publicholidays.holiday_fetcher_api.dto.response.HolidayDTO;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CountryYearHolidaysTest {
+
+    private final CountryYearHolidays holidays = CountryYearHolidays.fromHolidayDTOs(2023, new HolidayDTO[]{
+            new HolidayDTO("2023-12-25", "Christmas Day"),
+            new HolidayDTO("2023-01-01", "New Year's Day"),
+            new HolidayDTO("2023-07-04", "Independence Day"),
+            new HolidayDTO(null, "Undated"),
+            new HolidayDTO("2023-11-23", "Thanksgiving Day"),
+            new HolidayDTO("2023-11-23", "Day after Thanksgiving")
+    });
+
+    @Test
+    void datesAreSortedAndUndatedHolidaysDropped() {
+        assertEquals(5, holidays.size());
+        assertEquals("2023-01-01", holidays.toHolidayDTO(0).getDate());
+        assertEquals("2023-12-25", holidays.toHolidayDTO(4).getDate());
+    }
+
+    @Test
+    void latestBeforeReturnsPastHolidaysLatestFirst() {
+        int today = (int) LocalDate.parse("2023-12-01").toEpochDay();
+
+        List<HolidayDTO> latest = holidays.toHolidayDTOs(holidays.latestBefore(today, 3));
+
+        assertEquals(List.of("Thanksgiving Day", "Day after Thanksgiving", "Independence Day"),
+                latest.stream().map(HolidayDTO::getLocalName).toList());
+    }
+
+    @Test
+    void latestBeforeExcludesHolidaysFromTodayOn() {
+        int christmas = (int) LocalDate.parse("2023-12-25").toEpochDay();
+
+        assertArrayEquals(new int[]{2, 3}, holidays.latestBefore(christmas, 2));
+        assertArrayEquals(new int[]{4, 2, 3, 1, 0}, holidays.latestBefore(christmas + 1, 10));
+        assertArrayEquals(new int[0], holidays.latestBefore((int) LocalDate.parse("2023-01-01").toEpochDay(), 3));
+    }
+
+    @Test
+    void countNotOnWeekendsSkipsSaturdaysAndSundays() {
+        // 2023-01-01 is a Sunday, the others fall on weekdays.
+        assertEquals(4, holidays.countNotOnWeekends());
+    }
+
+    @Test
+    void indexesInCommonWithMatchesByDate() {
+        CountryYearHolidays other = CountryYearHolidays.fromHolidayDTOs(2023, new HolidayDTO[]{
+                new HolidayDTO("2023-01-01", "Nouvel An"),
+                new HolidayDTO("2023-07-01", "Canada Day"),
+                new HolidayDTO("2023-12-25", "Noël")
+        });
+
+        List<HolidayDTO> common = holidays.toHolidayDTOs(holidays.indexesInCommonWith(other));
+
+        assertEquals(List.of("New Year's Day", "Christmas Day"), common.stream().map(HolidayDTO::getLocalName).toList());
+    }
+
+    @Test
+    void namesAreSharedAcrossCountryYears() {
+        CountryYearHolidays other = CountryYearHolidays.fromHolidayDTOs(2024, new HolidayDTO[]{
+                new HolidayDTO("2024-12-25", new String("Christmas Day"))
+        });
+
+        assertSame(holidays.name(4), other.name(0));
+    }
+
+    @Test
+    void commonDaysOfYearIntersectsAllCountries() {
+        CountryYearHolidays second = CountryYearHolidays.fromHolidayDTOs(2023, new HolidayDTO[]{
+                new HolidayDTO("2023-01-01", "Nouvel An"),
+                new HolidayDTO("2023-12-25", "Noël")
+        });
+        CountryYearHolidays third = CountryYearHolidays.fromHolidayDTOs(2023, new HolidayDTO[]{
+                new HolidayDTO("2023-12-25", "Kerstmis")
+        });
+
+        long[] common = CountryYearHolidays.commonDaysOfYear(List.of(holidays, second, third));
+
+        assertArrayEquals(new int[]{4}, holidays.indexesOnDaysOfYear(common));
+        assertTrue(third.isHoliday(LocalDate.parse("2023-12-25").toEpochDay()));
+        assertFalse(third.isHoliday(LocalDate.parse("2023-12-24").toEpochDay()));
+    }
+
+    @Test
+    void businessDayBitsMatchDayByDayCounting() {
+        LocalDate firstDay = LocalDate.of(2023, 1, 1);
+        for (int from = 0; from < holidays.daysInYear(); from += 7) {
+            int expected = 0;
+            for (int to = from; to < holidays.daysInYear(); to++) {
+                LocalDate date = firstDay.plusDays(to);
+                if (!CountryYearHolidays.isWeekend(date.toEpochDay()) && !holidays.isHoliday(date.toEpochDay())) {
+                    expected++;
+                    assertEquals(to, holidays.nthBusinessDayFrom(from, expected));
+                }
+                assertEquals(expected, holidays.countBusinessDays(from, to));
+            }
+        }
+    }
+
+    @Test
+    void nthBusinessDayBackFromSkipsWeekendsAndHolidays() {
+        // Going back from Tuesday 2023-12-26: Christmas Day is a holiday and 12-23/12-24 are a weekend.
+        int dayOfYear = LocalDate.of(2023, 12, 26).getDayOfYear() - 1;
+
+        assertEquals(dayOfYear, holidays.nthBusinessDayBackFrom(dayOfYear, 1));
+        assertEquals(LocalDate.of(2023, 12, 22).getDayOfYear() - 1, holidays.nthBusinessDayBackFrom(dayOfYear, 2));
+    }
+}
@@ -0,0 +1,77 @@
+package com.publicholidays.holiday_fetcher_api.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.publicholidays.holiday_fetcher_api.dto.response.HolidayDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UpstreamHolidaysTest {
+
+    //Configured as the application's, which HolidayDTO needs: it is read through its constructor.
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Test
+    void readsDateAndNameAndSkipsEverythingElse() throws IOException {
+        UpstreamHolidays holidays = objectMapper.readValue("""
+                [
+                  {"date": "2023-12-25", "localName": "Christmas Day", "name": "Christmas Day", "countryCode": "US",
+                   "fixed": false, "global": true, "counties": null, "launchYear": null, "types": ["Public"],
+                   "extra": {"nested": [1, 2, {"deep": true}]}},
+                  null,
+                  {"localName": "Undated", "date": null},
+                  {"types": ["Public"], "localName": "Thanksgiving Day", "date": "2023-11-23"},
+                  {"date": "2023-11-23", "localName": "Day after Thanksgiving"},
+                  {"date": "2023-01-01", "localName": "New Year's Day"}
+                ]
+                """, UpstreamHolidays.class);
+
+        CountryYearHolidays year = CountryYearHolidays.fromUpstream(2023, holidays);
+        assertEquals(4, holidays.size());
+        assertEquals(List.of("2023-01-01", "2023-11-23", "2023-11-23", "2023-12-25"),
+                year.toHolidayDTOs().stream().map(HolidayDTO::getDate).toList());
+        assertEquals(List.of("New Year's Day", "Thanksgiving Day", "Day after Thanksgiving", "Christmas Day"),
+                year.toHolidayDTOs().stream().map(HolidayDTO::getLocalName).toList());
+    }
+
+    @Test
+    void namesAreTheSharedInstances() throws IOException {
+        String name = HolidayNames.intern(new String("Koningsdag"));
+
+        UpstreamHolidays holidays = objectMapper.readValue("[{\"date\": \"2024-04-27\", \"localName\": \"Koningsdag\"}]",
+                UpstreamHolidays.class);
+
+        assertSame(name, holidays.names()[0]);
+        assertSame(name, HolidayNames.intern("Koningsdag".toCharArray(), 0, "Koningsdag".length()));
+    }
+
+    @Test
+    void matchesTheDtoPathOnAnUpstreamAnswer() throws IOException {
+        byte[] body;
+        try (InputStream input = getClass().getResourceAsStream("/loadtest/fixtures/NL.json")) {
+            body = input.readAllBytes();
+        }
+
+        UpstreamHolidays streamed = objectMapper.readValue(body, UpstreamHolidays.class);
+        UpstreamHolidays fromDtos = UpstreamHolidays.fromHolidayDTOs(objectMapper.readValue(body, HolidayDTO[].class));
+
+        assertArrayEquals(fromDtos.epochDays(), streamed.epochDays());
+        assertArrayEquals(fromDtos.names(), streamed.names());
+    }
+
+    @Test
+    void invalidDateIsRejected() {
+        assertThrows(MismatchedInputException.class, () -> objectMapper.readValue(
+                "[{\"date\": \"2024-02-30\", \"localName\": \"Nope\"}]", UpstreamHolidays.class));
+        assertThrows(MismatchedInputException.class, () -> objectMapper.readValue(
+                "[{\"date\": \"tomorrow\", \"localName\": \"Nope\"}]", UpstreamHolidays.class));
+        assertThrows(MismatchedInputException.class, () -> objectMapper.readValue(
+                "{\"date\": \"2024-01-01\"}", UpstreamHolidays.class));
+    }
+}
@@ -0,0 +1,129 @@
+package com.publicholidays.holiday_fetcher_api.resilience;
+
+import com.publicholidays.holiday_fetcher_api.TestComponents;
+import com.publicholidays.holiday_fetcher_api.client.DeadlineRequestFactory;
+import com.publicholidays.holiday_fetcher_api.client.HttpClientProperties;
+import com.publicholidays.holiday_fetcher_api.client.NagerDateClient;
+import com.publicholidays.holiday_fetcher_api.client.UpstreamProperties;
+import com.publicholidays.holiday_fetcher_api.concurrent.Deadline;
+import com.publicholidays.holiday_fetcher_api.exception.HolidayServiceExceptions;
+import com.publicholidays.holiday_fetcher_api.metrics.HolidayMetrics;
+import com.publicholidays.holiday_fetcher_api.stub.StubUpstreamServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UpstreamCallerTest {
+
+    private ResilienceProperties properties;
+    private SimpleMeterRegistry registry;
+    private ExecutorService attemptExecutor;
+    private StubUpstreamServer upstream;
+    private PoolingHttpClientConnectionManager connectionManager;
+    private CloseableHttpClient httpClient;
+    private NagerDateClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        properties = new ResilienceProperties();
+        properties.setHedgeMinSamples(5);
+        properties.setHedgeMinDelay(Duration.ofMillis(20));
+        properties.setRetryBackoff(Duration.ofMillis(10));
+        registry = new SimpleMeterRegistry();
+        attemptExecutor = Executors.newCachedThreadPool();
+        upstream = new StubUpstreamServer(0, 0, 0);
+        connectionManager = new PoolingHttpClientConnectionManager();
+        httpClient = HttpClients.custom().setConnectionManager(connectionManager).build();
+        UpstreamProperties upstreamProperties = new UpstreamProperties();
+        upstreamProperties.setBaseUrl(upstream.baseUrl());
+        RestTemplate restTemplate = new RestTemplate(new DeadlineRequestFactory(httpClient, new HttpClientProperties()));
+        client = new NagerDateClient(restTemplate, upstreamProperties, TestComponents.metrics());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        httpClient.close();
+        upstream.close();
+        attemptExecutor.shutdownNow();
+    }
+
+    @Test
+    void slowAttemptIsHedgedAndTheFirstAnswerWins() throws InterruptedException {
+        UpstreamCaller caller = caller();
+        for (int i = 0; i < 10; i++) {
+            caller.call(() -> client.fetchHolidays("NL", 2024));
+        }
+        AtomicInteger requests = new AtomicInteger();
+        upstream.setLatencyDistribution(() -> requests.incrementAndGet() == 1 ? 3000 : 0);
+
+        long start = System.nanoTime();
+        assertNotNull(caller.call(() -> client.fetchHolidays("NL", 2024)));
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        assertTrue(elapsedMillis < 1000, "The hedge should have answered but the fetch took " + elapsedMillis + " ms");
+        assertEquals(2, requests.get());
+        assertEquals(1, registry.get(HolidayMetrics.HEDGES).tags("outcome", "won").counter().count());
+        //The slow request has been aborted, so its connection is back in the pool long before the stub answers it.
+        for (int i = 0; i < 100 && connectionManager.getTotalStats().getLeased() > 0; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, connectionManager.getTotalStats().getLeased());
+    }
+
+    @Test
+    void serverErrorsAreRetried() {
+        properties.setHedgingEnabled(false);
+        UpstreamCaller caller = caller();
+        upstream.failNextRequests(2);
+
+        assertNotNull(caller.call(() -> client.fetchHolidays("NL", 2024)));
+
+        assertEquals(3, upstream.requests());
+        assertEquals(2, registry.get(HolidayMetrics.RETRIES).tags("reason", "server-error").counter().count());
+    }
+
+    @Test
+    void answersAboutTheRequestItselfAreNotRetried() {
+        UpstreamCaller caller = caller();
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(HolidayServiceExceptions.HolidayNotFoundException.class, () -> caller.call(() -> {
+            calls.incrementAndGet();
+            throw new HolidayServiceExceptions.HolidayNotFoundException("No holidays found for the given country and year.");
+        }));
+
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void fetchGivesUpAtTheDeadlineOfTheRequest() {
+        properties.setHedgingEnabled(false);
+        UpstreamCaller caller = caller();
+        upstream.setLatency(2000, 0);
+
+        long start = System.nanoTime();
+        assertThrows(RuntimeException.class, () -> Deadline.callWith(Deadline.after(Duration.ofMillis(200)),
+                () -> caller.call(() -> client.fetchHolidays("NL", 2024))));
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        assertTrue(elapsedMillis < 1000, "The fetch should have stopped at the deadline but took " + elapsedMillis + " ms");
+        assertEquals(1, registry.get(HolidayMetrics.DEADLINE_EXCEEDED).counter().count());
+    }
+
+    private UpstreamCaller caller() {
+        return new UpstreamCaller(properties, new HolidayMetrics(registry), attemptExecutor);
+    }
+}
@@ -0,0 +1,194 @@
+package com.publicholidays.holiday_fetcher_api.resilience;
+
+import com.publicholidays.holiday_fetcher_api.MutableClock;
+import com.publicholidays.holiday_fetcher_api.TestComponents;
+import com.publicholidays.holiday_fetcher_api.client.NagerDateClient;
+import com.publicholidays.holiday_fetcher_api.client.UpstreamProperties;
+import com.publicholidays.holiday_fetcher_api.dto.response.HolidayDTO;
+import com.publicholidays.holiday_fetcher_api.exception.HolidayServiceExceptions;
+import com.publicholidays.holiday_fetcher_api.metrics.HolidayMetrics;
+import com.publicholidays.holiday_fetcher_api.model.CountryYearHolidays;
+import com.publicholidays.holiday_fetcher_api.stub.StubUpstreamServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UpstreamGuardTest {
+
+    private ResilienceProperties properties;
+    private SimpleMeterRegistry registry;
+    private StubUpstreamServer upstream;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        properties = new ResilienceProperties();
+        properties.setSlidingWindowSize(4);
+        properties.setMinimumCalls(4);
+        properties.setSlowCallDuration(Duration.ofMillis(100));
+        properties.setOpenDuration(Duration.ofSeconds(30));
+        properties.setHalfOpenCalls(2);
+        registry = new SimpleMeterRegistry();
+        upstream = new StubUpstreamServer(0, 0, 0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        upstream.close();
+    }
+
+    @Test
+    void failingUpstreamOpensBreakerAndLastKnownGoodIsServed() {
+        UpstreamGuard guard = guard(Clock.systemDefaultZone());
+        NagerDateClient client = stubClient();
+        CountryYearHolidays known = guard.fetch("NL", 2024, () -> client.fetchHolidays("NL", 2024));
+
+        upstream.setErrorRate(1.0);
+        for (String country : new String[]{"IT", "DE", "FR", "ES"}) {
+            assertThrows(RuntimeException.class, () -> guard.fetch(country, 2024, () -> client.fetchHolidays(country, 2024)));
+        }
+        long requestsWhenOpened = upstream.requests();
+
+        assertEquals(CircuitBreaker.State.OPEN, guard.circuitState());
+        assertSame(known, guard.fetch("NL", 2024, () -> client.fetchHolidays("NL", 2024)));
+        assertThrows(HolidayServiceExceptions.UnknownErrorException.class,
+                () -> guard.fetch("BE", 2024, () -> client.fetchHolidays("BE", 2024)));
+        assertEquals(requestsWhenOpened, upstream.requests());
+        assertEquals(1, registry.get(HolidayMetrics.CIRCUIT_TRANSITIONS).tags("from", "CLOSED", "to", "OPEN").counter().count());
+        assertEquals(1, registry.get(HolidayMetrics.CIRCUIT_STATE).gauge().value());
+        assertEquals(1, registry.get(HolidayMetrics.FALLBACKS).tags("reason", "circuit-open", "served", "true").counter().count());
+    }
+
+    @Test
+    void slowUpstreamOpensBreaker() {
+        UpstreamGuard guard = guard(Clock.systemDefaultZone());
+        NagerDateClient client = stubClient();
+        upstream.setLatency(150, 0);
+
+        for (String country : new String[]{"IT", "DE", "FR", "ES"}) {
+            assertNotNull(guard.fetch(country, 2024, () -> client.fetchHolidays(country, 2024)));
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, guard.circuitState());
+    }
+
+    @Test
+    void notFoundAnswersDoNotCountAsFailures() {
+        UpstreamGuard guard = guard(Clock.systemDefaultZone());
+
+        for (int i = 0; i < 8; i++) {
+            assertThrows(HolidayServiceExceptions.HolidayNotFoundException.class, () -> guard.fetch("XX", 2024, () -> {
+                throw new HolidayServiceExceptions.HolidayNotFoundException("No holidays found for the given country and year.");
+            }));
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, guard.circuitState());
+    }
+
+    @Test
+    void breakerClosesAgainAfterSuccessfulTrialCalls() {
+        MutableClock clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+        UpstreamGuard guard = guard(clock);
+        for (int i = 0; i < 4; i++) {
+            assertThrows(IllegalStateException.class, () -> guard.fetch("NL", 2024, () -> {
+                throw new IllegalStateException("upstream down");
+            }));
+        }
+        assertEquals(CircuitBreaker.State.OPEN, guard.circuitState());
+
+        clock.advance(properties.getOpenDuration());
+        guard.fetch("NL", 2024, UpstreamGuardTest::holidays);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, guard.circuitState());
+        guard.fetch("NL", 2024, UpstreamGuardTest::holidays);
+
+        assertEquals(CircuitBreaker.State.CLOSED, guard.circuitState());
+        assertEquals(1, registry.get(HolidayMetrics.CIRCUIT_TRANSITIONS).tags("from", "HALF_OPEN", "to", "CLOSED").counter().count());
+    }
+
+    @Test
+    void bulkheadRejectsCallsBeyondTheLimit() throws Exception {
+        properties.setMaxConcurrentCalls(1);
+        properties.setMaxWait(Duration.ofMillis(10));
+        UpstreamGuard guard = guard(Clock.systemDefaultZone());
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> guard.fetch("NL", 2024, () -> {
+                started.countDown();
+                await(release);
+                return holidays();
+            }));
+            started.await();
+
+            assertThrows(HolidayServiceExceptions.UnknownErrorException.class, () -> guard.fetch("IT", 2024, () -> {
+                calls.incrementAndGet();
+                return holidays();
+            }));
+            assertEquals(0, calls.get());
+            assertEquals(1, registry.get(HolidayMetrics.FALLBACKS).tags("reason", "bulkhead-full", "served", "false").counter().count());
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void reactiveFetchesShareTheBreakerAndFallback() {
+        UpstreamGuard guard = guard(Clock.systemDefaultZone());
+        CountryYearHolidays known = guard.fetchReactive("NL", 2024, () -> Mono.just(holidays())).block();
+
+        for (String country : new String[]{"IT", "DE", "FR", "ES"}) {
+            assertThrows(RuntimeException.class, () -> guard.fetchReactive(country, 2024,
+                    () -> Mono.error(new IllegalStateException("upstream down"))).block());
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, guard.circuitState());
+        AtomicInteger calls = new AtomicInteger();
+        assertSame(known, guard.fetchReactive("NL", 2024, () -> {
+            calls.incrementAndGet();
+            return Mono.just(holidays());
+        }).block());
+        assertEquals(0, calls.get());
+        assertEquals(1, registry.get(HolidayMetrics.FALLBACKS).tags("reason", "circuit-open", "served", "true").counter().count());
+    }
+
+    private UpstreamGuard guard(Clock clock) {
+        return new UpstreamGuard(properties, new HolidayMetrics(registry), TestComponents.directCaller(), clock);
+    }
+
+    private NagerDateClient stubClient() {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setReadTimeout(Duration.ofSeconds(2));
+        UpstreamProperties upstreamProperties = new UpstreamProperties();
+        upstreamProperties.setBaseUrl(upstream.baseUrl());
+        return new NagerDateClient(new RestTemplate(requestFactory), upstreamProperties, TestComponents.metrics());
+    }
+
+    private static CountryYearHolidays holidays() {
+        return CountryYearHolidays.fromHolidayDTOs(2024, new HolidayDTO[]{new HolidayDTO("2024-01-01", "Nieuwjaarsdag")});
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
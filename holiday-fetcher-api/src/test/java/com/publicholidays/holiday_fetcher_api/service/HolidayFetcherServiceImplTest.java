@@ -1,23 +1,37 @@
 package com.publicholidays.holiday_fetcher_api.service;
 
+import com.publicholidays.holiday_fetcher_api.TestComponents;
+import com.publicholidays.holiday_fetcher_api.cache.HolidayCache;
+import com.publicholidays.holiday_fetcher_api.cache.HolidayCacheProperties;
+import com.publicholidays.holiday_fetcher_api.concurrent.FanOutProperties;
+import com.publicholidays.holiday_fetcher_api.concurrent.ParallelFanOut;
+import com.publicholidays.holiday_fetcher_api.dto.response.CountriesOnHolidayDTO;
+import com.publicholidays.holiday_fetcher_api.dto.response.CountryYearHolidaysDTO;
 import com.publicholidays.holiday_fetcher_api.dto.response.HolidayDTO;
 import com.publicholidays.holiday_fetcher_api.exception.HolidayServiceExceptions;
+import com.publicholidays.holiday_fetcher_api.index.CountryHolidayIndex;
+import com.publicholidays.holiday_fetcher_api.model.UpstreamHolidays;
 import com.publicholidays.holiday_fetcher_api.service.impl.HolidayFetcherServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Clock;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -28,11 +42,15 @@ class HolidayFetcherServiceImplTest {
     @Mock
     private RestTemplate restTemplate;
 
-    @InjectMocks
     private HolidayFetcherServiceImpl holidayFetcherServiceImpl;
 
     @BeforeEach
     void setUp() {
+        HolidayCache holidayCache = new HolidayCache(new HolidayCacheProperties(), Clock.systemDefaultZone());
+        holidayFetcherServiceImpl = TestComponents.service(
+                TestComponents.nagerDateClient(restTemplate), holidayCache,
+                new ParallelFanOut(Executors.newFixedThreadPool(4), Executors.newFixedThreadPool(2), new FanOutProperties()),
+                new CountryHolidayIndex(holidayCache));
         assertNotNull(restTemplate);
         assertNotNull(holidayFetcherServiceImpl);
     }
@@ -59,8 +77,8 @@ class HolidayFetcherServiceImplTest {
                 new HolidayDTO("2023-04-01", "April Fool's Day")
         };
 
-        when(restTemplate.getForObject(anyString(), eq(HolidayDTO[].class)))
-                .thenReturn(holidays);
+        when(restTemplate.getForObject(anyString(), eq(UpstreamHolidays.class)))
+                .thenReturn(upstream(holidays));
 
         List<HolidayDTO> result = holidayFetcherServiceImpl.getLastThreeCelebratedHolidays(country, year);
 
@@ -92,8 +110,8 @@ class HolidayFetcherServiceImplTest {
     void getLastThreeCelebratedHolidaysNotFound() {
             String country = "US";
             int year = 2024;
-            when(restTemplate.getForObject(anyString(), eq(HolidayDTO[].class)))
-                    .thenReturn(new HolidayDTO[0]);
+            when(restTemplate.getForObject(anyString(), eq(UpstreamHolidays.class)))
+                    .thenReturn(upstream());
 
             assertThrows(HolidayServiceExceptions.HolidayNotFoundException.class,
                     () -> holidayFetcherServiceImpl.getLastThreeCelebratedHolidays(country, year));
@@ -106,7 +124,7 @@ class HolidayFetcherServiceImplTest {
         int year = 2023;
         String expectedUrl = "https://date.nager.at/api/v3/publicholidays/2023/INVALID";
 
-        lenient().when(restTemplate.getForObject(anyString(), eq(HolidayDTO[].class)))
+        lenient().when(restTemplate.getForObject(anyString(), eq(UpstreamHolidays.class)))
                 .thenThrow(new HttpClientErrorException(HttpStatus.BAD_REQUEST));
 
         assertThrows(HolidayServiceExceptions.BadRequestException.class,
@@ -118,7 +136,7 @@ class HolidayFetcherServiceImplTest {
         String country = "US";
         int year = 2023;
 
-        when(restTemplate.getForObject(anyString(), eq(HolidayDTO[].class)))
+        when(restTemplate.getForObject(anyString(), eq(UpstreamHolidays.class)))
                 .thenThrow(new HttpClientErrorException(HttpStatus.INTERNAL_SERVER_ERROR));
 
         assertThrows(HolidayServiceExceptions.UnknownErrorException.class,
@@ -134,12 +152,12 @@ class HolidayFetcherServiceImplTest {
                 new HolidayDTO("2023-07-04", "Independence Day"), // Tuesday
                 new HolidayDTO("2023-12-25", "Christmas Day") // Monday
         };
-        when(restTemplate.getForObject(anyString(), eq(HolidayDTO[].class))).thenReturn(holidays);
+        when(restTemplate.getForObject(anyString(), eq(UpstreamHolidays.class))).thenReturn(upstream(holidays));
 
         int result = holidayFetcherServiceImpl.getNumberOfHolidaysNotOnWeekends(country, year);
 
         assertEquals(2, result);
-        verify(restTemplate, times(1)).getForObject(anyString(), eq(HolidayDTO[].class));
+        verify(restTemplate, times(1)).getForObject(anyString(), eq(UpstreamHolidays.class));
     }
 
     @Test
@@ -158,7 +176,7 @@ class HolidayFetcherServiceImplTest {
             int year = 2023;
 
             // Mocking the RestTemplate to throw a 404 error
-            Mockito.when(restTemplate.getForObject(Mockito.anyString(), Mockito.eq(HolidayDTO[].class)))
+            Mockito.when(restTemplate.getForObject(Mockito.anyString(), Mockito.eq(UpstreamHolidays.class)))
                     .thenThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND));
 
             // When & Then
@@ -174,7 +192,7 @@ class HolidayFetcherServiceImplTest {
     @Test
     void getNumberOfHolidaysNotOnWeekendsBadRequest() {
         String country = "US";
-        lenient().when(restTemplate.getForObject(anyString(), eq(HolidayDTO[].class))).thenThrow(HolidayServiceExceptions.BadRequestException.class);
+        lenient().when(restTemplate.getForObject(anyString(), eq(UpstreamHolidays.class))).thenThrow(HolidayServiceExceptions.BadRequestException.class);
 
         assertThrows(HolidayServiceExceptions.BadRequestException.class, () ->
                 holidayFetcherServiceImpl.getLastThreeCelebratedHolidays(country, 3)
@@ -185,13 +203,28 @@ class HolidayFetcherServiceImplTest {
     void getNumberOfHolidaysNotOnWeekendsUnknownError() {
         String country = "US";
         int year = 2024;
-        lenient().when(restTemplate.getForObject(anyString(), eq(HolidayDTO[].class))).thenThrow(HolidayServiceExceptions.UnknownErrorException.class);
+        lenient().when(restTemplate.getForObject(anyString(), eq(UpstreamHolidays.class))).thenThrow(HolidayServiceExceptions.UnknownErrorException.class);
 
         assertThrows(HolidayServiceExceptions.UnknownErrorException.class, () ->
                 holidayFetcherServiceImpl.getLastThreeCelebratedHolidays(country, year)
         );
     }
 
+    @Test
+    void cachedHolidaysAreSharedAcrossOperations() {
+        HolidayDTO[] holidays = new HolidayDTO[]{
+                new HolidayDTO("2023-01-01", "New Year's Day"),
+                new HolidayDTO("2023-07-04", "Independence Day")
+        };
+        when(restTemplate.getForObject(anyString(), eq(UpstreamHolidays.class))).thenReturn(upstream(holidays));
+
+        holidayFetcherServiceImpl.getLastThreeCelebratedHolidays("US", 2023);
+        holidayFetcherServiceImpl.getNumberOfHolidaysNotOnWeekends("US", 2023);
+        holidayFetcherServiceImpl.getHolidaysByCountryAndYear("US", 2023);
+
+        verify(restTemplate, times(1)).getForObject(anyString(), eq(UpstreamHolidays.class));
+    }
+
     @Test
     void getHolidaysInCommonValidCountriesAndYear() {
         String country1 = "US";
@@ -207,15 +240,15 @@ class HolidayFetcherServiceImplTest {
                 new HolidayDTO("2023-07-01", "Canada Day"),
                 new HolidayDTO("2023-12-25", "Christmas Day")
         };
-        when(restTemplate.getForObject(anyString(), eq(HolidayDTO[].class)))
-                .thenReturn(holidaysUS)
-                .thenReturn(holidaysCA);
+        when(restTemplate.getForObject(anyString(), eq(UpstreamHolidays.class)))
+                .thenReturn(upstream(holidaysUS))
+                .thenReturn(upstream(holidaysCA));
 
         List<HolidayDTO> result = holidayFetcherServiceImpl.getHolidaysInCommon(country1, country2, year);
 
         assertNotNull(result);
         assertEquals(2, result.size());
-        verify(restTemplate, times(2)).getForObject(anyString(), eq(HolidayDTO[].class));
+        verify(restTemplate, times(2)).getForObject(anyString(), eq(UpstreamHolidays.class));
     }
 
 
@@ -265,7 +298,7 @@ class HolidayFetcherServiceImplTest {
         String country1 = "US";
         String country2 = "IT";
         int year = 123;
-        lenient().when(restTemplate.getForObject(anyString(), eq(HolidayDTO[].class))).thenThrow(HolidayServiceExceptions.BadRequestException.class);
+        lenient().when(restTemplate.getForObject(anyString(), eq(UpstreamHolidays.class))).thenThrow(HolidayServiceExceptions.BadRequestException.class);
 
         assertThrows(HolidayServiceExceptions.BadRequestException.class, () ->
                 holidayFetcherServiceImpl.getHolidaysInCommon(country1, country2, year)
@@ -284,4 +317,168 @@ class HolidayFetcherServiceImplTest {
         assertThrows(HolidayServiceExceptions.UnknownErrorException.class,
                 () -> holidayFetcherServiceImpl.getHolidaysInCommon(country1, country2, year));
     }
+
+    @Test
+    void getHolidaysInCommonOfManyCountries() {
+        when(restTemplate.getForObject(endsWith("/US"), eq(UpstreamHolidays.class))).thenReturn(upstream(
+                new HolidayDTO("2023-01-01", "New Year's Day"),
+                new HolidayDTO("2023-07-04", "Independence Day"),
+                new HolidayDTO("2023-12-25", "Christmas Day")
+        ));
+        when(restTemplate.getForObject(endsWith("/CA"), eq(UpstreamHolidays.class))).thenReturn(upstream(
+                new HolidayDTO("2023-01-01", "New Year's Day"),
+                new HolidayDTO("2023-07-01", "Canada Day"),
+                new HolidayDTO("2023-12-25", "Christmas Day")
+        ));
+        when(restTemplate.getForObject(endsWith("/NL"), eq(UpstreamHolidays.class))).thenReturn(upstream(
+                new HolidayDTO("2023-01-01", "Nieuwjaarsdag"),
+                new HolidayDTO("2023-04-27", "Koningsdag")
+        ));
+
+        List<HolidayDTO> result = holidayFetcherServiceImpl.getHolidaysInCommon(List.of("US", "CA", "NL"), 2023);
+
+        assertEquals(1, result.size());
+        assertEquals("2023-01-01", result.get(0).getDate());
+        assertEquals("New Year's Day", result.get(0).getLocalName());
+    }
+
+    @Test
+    void getHolidaysInCommonOfManyCountriesRequiresDistinctCountries() {
+        assertThrows(HolidayServiceExceptions.BadRequestException.class, () ->
+                holidayFetcherServiceImpl.getHolidaysInCommon(List.of("US", "CA", "US"), 2023));
+        assertThrows(HolidayServiceExceptions.BadRequestException.class, () ->
+                holidayFetcherServiceImpl.getHolidaysInCommon(List.of("US"), 2023));
+    }
+
+    @Test
+    void getCountriesOnHolidayIsServedFromIndexOnceWarm() {
+        when(restTemplate.getForObject(anyString(), eq(UpstreamHolidays.class))).thenAnswer(invocation -> {
+            String url = invocation.getArgument(0);
+            if (url.endsWith("/NL")) {
+                return upstream(new HolidayDTO("2023-04-27", "Koningsdag"), new HolidayDTO("2023-12-25", "Kerstmis"));
+            }
+            if (url.endsWith("/US")) {
+                return upstream(new HolidayDTO("2023-07-04", "Independence Day"), new HolidayDTO("2023-12-25", "Christmas Day"));
+            }
+            return upstream();
+        });
+
+        CountriesOnHolidayDTO christmas = holidayFetcherServiceImpl.getCountriesOnHoliday(LocalDate.of(2023, 12, 25));
+        List<CountriesOnHolidayDTO> range = holidayFetcherServiceImpl.getCountriesOnHoliday(LocalDate.of(2023, 4, 1), LocalDate.of(2023, 7, 31));
+
+        assertEquals(List.of("NL", "US"), christmas.getCountries());
+        assertEquals(2, range.size());
+        assertEquals("2023-04-27", range.get(0).getDate());
+        assertEquals(List.of("NL"), range.get(0).getCountries());
+        assertEquals(List.of("US"), range.get(1).getCountries());
+        verify(restTemplate, times(validCountryCodes.size())).getForObject(anyString(), eq(UpstreamHolidays.class));
+    }
+
+    @Test
+    void getCountriesOnHolidayAnswersWithoutACountryWhoseLoadFailed() {
+        AtomicInteger germanCalls = new AtomicInteger();
+        when(restTemplate.getForObject(anyString(), eq(UpstreamHolidays.class))).thenAnswer(invocation -> {
+            String url = invocation.getArgument(0);
+            if (url.endsWith("/DE") && germanCalls.getAndIncrement() == 0) {
+                throw new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE);
+            }
+            if (url.endsWith("/DE") || url.endsWith("/NL")) {
+                return upstream(new HolidayDTO("2023-12-25", "Christmas Day"));
+            }
+            return upstream();
+        });
+
+        CountriesOnHolidayDTO partial = holidayFetcherServiceImpl.getCountriesOnHoliday(LocalDate.of(2023, 12, 25));
+        CountriesOnHolidayDTO complete = holidayFetcherServiceImpl.getCountriesOnHoliday(LocalDate.of(2023, 12, 25));
+
+        assertEquals(List.of("NL"), partial.getCountries());
+        assertEquals(List.of("DE", "NL"), complete.getCountries());
+        verify(restTemplate, times(validCountryCodes.size() + 1)).getForObject(anyString(), eq(UpstreamHolidays.class));
+    }
+
+    @Test
+    void getCountriesOnHolidayRejectsInvertedRange() {
+        assertThrows(HolidayServiceExceptions.BadRequestException.class, () ->
+                holidayFetcherServiceImpl.getCountriesOnHoliday(LocalDate.of(2023, 5, 1), LocalDate.of(2023, 4, 1)));
+    }
+
+    @Test
+    void businessDaysSpanYearsWithoutRefetching() {
+        when(restTemplate.getForObject(endsWith("/2024/NL"), eq(UpstreamHolidays.class))).thenReturn(upstream(
+                new HolidayDTO("2024-12-25", "Eerste Kerstdag"),
+                new HolidayDTO("2024-12-26", "Tweede Kerstdag")
+        ));
+        when(restTemplate.getForObject(endsWith("/2025/NL"), eq(UpstreamHolidays.class))).thenReturn(upstream(
+                new HolidayDTO("2025-01-01", "Nieuwjaarsdag")
+        ));
+
+        assertEquals(7, holidayFetcherServiceImpl.getNumberOfBusinessDays("NL", LocalDate.of(2024, 12, 23), LocalDate.of(2025, 1, 3)));
+        assertEquals(LocalDate.of(2024, 12, 31), holidayFetcherServiceImpl.addBusinessDays("NL", LocalDate.of(2024, 12, 24), 3));
+        assertEquals(LocalDate.of(2025, 1, 2), holidayFetcherServiceImpl.addBusinessDays("NL", LocalDate.of(2024, 12, 24), 4));
+        assertEquals(LocalDate.of(2024, 12, 30), holidayFetcherServiceImpl.addBusinessDays("NL", LocalDate.of(2025, 1, 2), -2));
+        verify(restTemplate, times(2)).getForObject(anyString(), eq(UpstreamHolidays.class));
+    }
+
+    @Test
+    void getNumberOfBusinessDaysRejectsInvalidInput() {
+        assertThrows(HolidayServiceExceptions.BadRequestException.class, () ->
+                holidayFetcherServiceImpl.getNumberOfBusinessDays("XX", LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31)));
+        assertThrows(HolidayServiceExceptions.BadRequestException.class, () ->
+                holidayFetcherServiceImpl.getNumberOfBusinessDays("NL", LocalDate.of(2024, 2, 1), LocalDate.of(2024, 1, 31)));
+    }
+
+    @Test
+    void addBusinessDaysRejectsOutOfRangeCountsBeforeFetching() {
+        assertThrows(HolidayServiceExceptions.BadRequestException.class, () ->
+                holidayFetcherServiceImpl.addBusinessDays("NL", LocalDate.of(2024, 1, 1), 2000000000));
+        assertThrows(HolidayServiceExceptions.BadRequestException.class, () ->
+                holidayFetcherServiceImpl.addBusinessDays("NL", LocalDate.of(2024, 1, 1), Integer.MIN_VALUE));
+        assertThrows(HolidayServiceExceptions.BadRequestException.class, () ->
+                holidayFetcherServiceImpl.addBusinessDays("NL", LocalDate.of(2024, 1, 1), Integer.MAX_VALUE));
+        //Just over 50 years of 262 weekdays: more than the longest span can hold.
+        assertThrows(HolidayServiceExceptions.BadRequestException.class, () ->
+                holidayFetcherServiceImpl.addBusinessDays("NL", LocalDate.of(2024, 1, 1), 13101));
+        assertThrows(HolidayServiceExceptions.BadRequestException.class, () ->
+                holidayFetcherServiceImpl.addBusinessDays("NL", LocalDate.of(2024, 1, 1), -13101));
+        verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    void bulkHolidaysHaveOneRowPerCountryYearAndReportFailuresInline() {
+        when(restTemplate.getForObject(endsWith("/NL"), eq(UpstreamHolidays.class))).thenReturn(upstream(
+                new HolidayDTO("2023-01-01", "Nieuwjaarsdag")
+        ));
+        when(restTemplate.getForObject(endsWith("/IT"), eq(UpstreamHolidays.class)))
+                .thenThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND));
+
+        List<CountryYearHolidaysDTO> rows = new ArrayList<>();
+        holidayFetcherServiceImpl.getHolidays(List.of("NL", "IT"), 2022, 2023).forEach(rows::add);
+
+        rows.sort(Comparator.comparing(CountryYearHolidaysDTO::getCountry).thenComparing(CountryYearHolidaysDTO::getYear));
+        assertEquals(4, rows.size());
+        assertEquals("IT", rows.get(0).getCountry());
+        assertNull(rows.get(0).getHolidays());
+        assertNotNull(rows.get(0).getError());
+        assertEquals("NL", rows.get(3).getCountry());
+        assertEquals(2023, rows.get(3).getYear());
+        assertEquals("Nieuwjaarsdag", rows.get(3).getHolidays().get(0).getLocalName());
+        assertNull(rows.get(3).getError());
+    }
+
+    @Test
+    void bulkHolidaysAreValidatedBeforeAnyFetch() {
+        assertThrows(HolidayServiceExceptions.BadRequestException.class, () ->
+                holidayFetcherServiceImpl.getHolidays(List.of("NL", "NL"), 2020, 2023));
+        assertThrows(HolidayServiceExceptions.BadRequestException.class, () ->
+                holidayFetcherServiceImpl.getHolidays(List.of("NL"), 2023, 2020));
+        assertThrows(HolidayServiceExceptions.BadRequestException.class, () ->
+                holidayFetcherServiceImpl.getHolidays(List.of("NL", "XX"), 2020, 2023));
+        assertThrows(HolidayServiceExceptions.BadRequestException.class, () ->
+                holidayFetcherServiceImpl.getHolidays(new ArrayList<>(validCountryCodes), 1900, 2023));
+        verifyNoInteractions(restTemplate);
+    }
+
+    private static UpstreamHolidays upstream(HolidayDTO... holidays) {
+        return UpstreamHolidays.fromHolidayDTOs(holidays);
+    }
 }
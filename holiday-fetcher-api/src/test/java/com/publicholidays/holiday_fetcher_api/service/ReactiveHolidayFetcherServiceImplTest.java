@@ -0,0 +1,184 @@
+package com.publicholidays.holiday_fetcher_api.service;
+
+import com.publicholidays.holiday_fetcher_api.TestComponents;
+import com.publicholidays.holiday_fetcher_api.cache.HolidayCache;
+import com.publicholidays.holiday_fetcher_api.cache.HolidayCacheProperties;
+import com.publicholidays.holiday_fetcher_api.client.NagerDateClient;
+import com.publicholidays.holiday_fetcher_api.client.ReactiveNagerDateClient;
+import com.publicholidays.holiday_fetcher_api.client.UpstreamProperties;
+import com.publicholidays.holiday_fetcher_api.concurrent.FanOutProperties;
+import com.publicholidays.holiday_fetcher_api.concurrent.ParallelFanOut;
+import com.publicholidays.holiday_fetcher_api.dto.response.HolidayDTO;
+import com.publicholidays.holiday_fetcher_api.exception.HolidayServiceExceptions;
+import com.publicholidays.holiday_fetcher_api.index.CountryHolidayIndex;
+import com.publicholidays.holiday_fetcher_api.service.impl.HolidayFetcherServiceImpl;
+import com.publicholidays.holiday_fetcher_api.service.impl.ReactiveHolidayFetcherServiceImpl;
+import com.publicholidays.holiday_fetcher_api.stub.StubUpstreamServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//Runs the reactive service against the stub upstream and checks it answers like the blocking one.
+class ReactiveHolidayFetcherServiceImplTest {
+
+    private StubUpstreamServer upstream;
+    private ExecutorService fanOutExecutor;
+    private UpstreamProperties upstreamProperties;
+    private ReactiveHolidayFetcherServiceImpl reactiveService;
+    private HolidayFetcherServiceImpl blockingService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        upstream = new StubUpstreamServer(0, 0, 0);
+        upstreamProperties = new UpstreamProperties();
+        upstreamProperties.setBaseUrl(upstream.baseUrl());
+        fanOutExecutor = Executors.newFixedThreadPool(4);
+
+        reactiveService = reactiveService(new FanOutProperties());
+
+        HolidayCache blockingCache = new HolidayCache(new HolidayCacheProperties(), Clock.systemDefaultZone());
+        blockingService = TestComponents.service(
+                new NagerDateClient(new RestTemplate(), upstreamProperties, TestComponents.metrics()), blockingCache,
+                new ParallelFanOut(fanOutExecutor, fanOutExecutor, new FanOutProperties()), new CountryHolidayIndex(blockingCache));
+    }
+
+    @AfterEach
+    void tearDown() {
+        upstream.close();
+        fanOutExecutor.shutdownNow();
+    }
+
+    @Test
+    void answersLikeTheBlockingService() {
+        assertEquals(blockingService.getNumberOfHolidaysNotOnWeekends("NL", 2023),
+                reactiveService.getNumberOfHolidaysNotOnWeekends("NL", 2023).block());
+        assertEquals(dates(blockingService.getHolidaysInCommon("NL", "IN", 2023)),
+                dates(reactiveService.getHolidaysInCommon("NL", "IN", 2023).block()));
+        assertEquals(dates(blockingService.getHolidaysInCommon(List.of("NL", "SM", "IN"), 2023)),
+                dates(reactiveService.getHolidaysInCommon(List.of("NL", "SM", "IN"), 2023).block()));
+        assertEquals(blockingService.getNumberOfBusinessDays("NL", LocalDate.of(2022, 12, 1), LocalDate.of(2024, 2, 1)),
+                reactiveService.getNumberOfBusinessDays("NL", LocalDate.of(2022, 12, 1), LocalDate.of(2024, 2, 1)).block());
+    }
+
+    @Test
+    void addBusinessDaysCrossesYearsInBothDirections() {
+        for (int days : new int[]{1, 5, 300, -1, -5, -300}) {
+            for (LocalDate date : new LocalDate[]{LocalDate.of(2023, 1, 1), LocalDate.of(2023, 6, 15), LocalDate.of(2023, 12, 31)}) {
+                assertEquals(blockingService.addBusinessDays("NL", date, days),
+                        reactiveService.addBusinessDays("NL", date, days).block(), date + " " + days);
+            }
+        }
+    }
+
+    @Test
+    void addBusinessDaysRejectsOutOfRangeCountsBeforeFetching() {
+        for (int days : new int[]{2000000000, Integer.MIN_VALUE, 13101, -13101}) {
+            assertThrows(HolidayServiceExceptions.BadRequestException.class,
+                    () -> reactiveService.addBusinessDays("NL", LocalDate.of(2023, 1, 1), days).block());
+        }
+        assertEquals(0, upstream.requests());
+    }
+
+    @Test
+    void concurrentMissesShareOneUpstreamCall() {
+        upstream.setLatency(100, 0);
+
+        List<Integer> counts = Flux.range(0, 20)
+                .flatMap(i -> reactiveService.getNumberOfHolidaysNotOnWeekends("NL", 2023))
+                .collectList()
+                .block();
+
+        assertEquals(20, counts.size());
+        assertEquals(1, upstream.requests());
+    }
+
+    @Test
+    void countriesOnHolidayIndexesEveryCountryOnce() {
+        assertFalse(reactiveService.getCountriesOnHoliday(LocalDate.of(2023, 12, 25)).block().getCountries().isEmpty());
+        long requests = upstream.requests();
+
+        assertEquals(1, reactiveService.getCountriesOnHoliday(LocalDate.of(2023, 1, 1), LocalDate.of(2023, 1, 1)).block().size());
+        assertEquals(requests, upstream.requests());
+    }
+
+    @Test
+    void countriesOnHolidayAnswersWithoutACountryWhoseLoadFailed() {
+        upstream.failNextRequests(1);
+
+        List<String> partial = reactiveService.getCountriesOnHoliday(LocalDate.of(2023, 12, 25)).block().getCountries();
+        long requests = upstream.requests();
+        List<String> complete = reactiveService.getCountriesOnHoliday(LocalDate.of(2023, 12, 25)).block().getCountries();
+
+        //The failed country is loaded again, and from then on the index answers alone.
+        assertEquals(1, upstream.errors());
+        assertTrue(upstream.requests() > requests);
+        assertTrue(complete.containsAll(partial));
+        requests = upstream.requests();
+        reactiveService.getCountriesOnHoliday(LocalDate.of(2023, 12, 25)).block();
+        assertEquals(requests, upstream.requests());
+    }
+
+    @Test
+    void validationErrorsAreSignalledWithoutCallingTheUpstream() {
+        assertThrows(HolidayServiceExceptions.BadRequestException.class,
+                () -> reactiveService.getLastThreeCelebratedHolidays("XX", 2023).block());
+        assertThrows(HolidayServiceExceptions.BadRequestException.class,
+                () -> reactiveService.getHolidaysInCommon("NL", "NL", 2023).block());
+        assertEquals(0, upstream.requests());
+    }
+
+    @Test
+    void multiCountryCountsFetchAtMostMaxParallelismCountriesAtOnce() {
+        FanOutProperties fanOutProperties = new FanOutProperties();
+        fanOutProperties.setMaxParallelism(2);
+        ReactiveHolidayFetcherServiceImpl service = reactiveService(fanOutProperties);
+        upstream.setLatency(150, 0);
+
+        long start = System.nanoTime();
+        List<Integer> counts = service.getNumberOfHolidaysNotOnWeekends(List.of("NL", "SM", "IN", "US", "DE", "FR"), 2023).block();
+
+        //Six countries two at a time take three rounds of upstream latency.
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() >= 450);
+        assertEquals(6, counts.size());
+        assertEquals(counts.stream().sorted(Comparator.reverseOrder()).toList(), counts);
+    }
+
+    @Test
+    void multiCountryAndMultiYearFetchesGiveUpAtTheDeadline() {
+        FanOutProperties fanOutProperties = new FanOutProperties();
+        fanOutProperties.setDeadline(Duration.ofMillis(100));
+        ReactiveHolidayFetcherServiceImpl service = reactiveService(fanOutProperties);
+        upstream.setLatency(1000, 0);
+
+        assertThrows(HolidayServiceExceptions.UnknownErrorException.class,
+                () -> service.getNumberOfHolidaysNotOnWeekends(List.of("NL", "SM"), 2023).block());
+        assertThrows(HolidayServiceExceptions.UnknownErrorException.class,
+                () -> service.getNumberOfBusinessDays("NL", LocalDate.of(2022, 12, 1), LocalDate.of(2024, 2, 1)).block());
+    }
+
+    private ReactiveHolidayFetcherServiceImpl reactiveService(FanOutProperties fanOutProperties) {
+        HolidayCache cache = new HolidayCache(new HolidayCacheProperties(), Clock.systemDefaultZone());
+        return new ReactiveHolidayFetcherServiceImpl(
+                new ReactiveNagerDateClient(WebClient.create(), upstreamProperties, TestComponents.metrics()),
+                cache, new CountryHolidayIndex(cache), TestComponents.upstreamGuard(),
+                TestComponents.metrics(), fanOutProperties);
+    }
+
+    private static List<String> dates(List<HolidayDTO> holidays) {
+        return holidays.stream().map(HolidayDTO::getDate).toList();
+    }
+}
@@ -0,0 +1,153 @@
+package com.publicholidays.holiday_fetcher_api.snapshot;
+
+import com.publicholidays.holiday_fetcher_api.MutableClock;
+import com.publicholidays.holiday_fetcher_api.TestComponents;
+import com.publicholidays.holiday_fetcher_api.cache.CountryYearKey;
+import com.publicholidays.holiday_fetcher_api.cache.HolidayCache;
+import com.publicholidays.holiday_fetcher_api.cache.HolidayCacheProperties;
+import com.publicholidays.holiday_fetcher_api.concurrent.FanOutProperties;
+import com.publicholidays.holiday_fetcher_api.concurrent.ParallelFanOut;
+import com.publicholidays.holiday_fetcher_api.dto.response.HolidayDTO;
+import com.publicholidays.holiday_fetcher_api.index.CountryHolidayIndex;
+import com.publicholidays.holiday_fetcher_api.model.CountryYearHolidays;
+import com.publicholidays.holiday_fetcher_api.resilience.UpstreamGuard;
+import com.publicholidays.holiday_fetcher_api.service.impl.HolidayFetcherServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class HolidaySnapshotStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private SnapshotProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new SnapshotProperties();
+        properties.setEnabled(true);
+        properties.setPath(directory.resolve("holidays.snapshot").toString());
+    }
+
+    @Test
+    void snapshotFileRoundTripsHolidaysInOrder() throws IOException {
+        Path path = directory.resolve("round-trip.snapshot");
+        CountryYearHolidays netherlands = CountryYearHolidays.fromHolidayDTOs(2024, new HolidayDTO[]{
+                new HolidayDTO("2024-12-25", "Eerste Kerstdag"),
+                new HolidayDTO("2024-01-01", "Nieuwjaarsdag"),
+                new HolidayDTO("2024-12-26", "Tweede Kerstdag")});
+        CountryYearHolidays empty = CountryYearHolidays.fromHolidayDTOs(2024, new HolidayDTO[0]);
+
+        HolidaySnapshotFile.write(path, Map.of(new CountryYearKey("NL", 2024), netherlands,
+                new CountryYearKey("VA", 2024), empty));
+        Map<CountryYearKey, CountryYearHolidays> read = HolidaySnapshotFile.read(path);
+
+        CountryYearHolidays restored = read.get(new CountryYearKey("NL", 2024));
+        assertEquals(3, restored.size());
+        assertEquals("2024-01-01", restored.toHolidayDTO(0).getDate());
+        assertEquals("Tweede Kerstdag", restored.toHolidayDTO(2).getLocalName());
+        assertSame(netherlands.name(0), restored.name(0));
+        assertTrue(read.get(new CountryYearKey("VA", 2024)).isEmpty());
+    }
+
+    @Test
+    void otherFilesAreRejected() throws IOException {
+        Path path = directory.resolve("not-a.snapshot");
+        Files.writeString(path, "{\"NL/2024\": []}");
+
+        assertThrows(IOException.class, () -> HolidaySnapshotFile.read(path));
+    }
+
+    @Test
+    void savedCacheIsServedAfterRestartWithoutUpstream() {
+        HolidayCache before = new HolidayCache(new HolidayCacheProperties(), Clock.systemDefaultZone());
+        before.put(new CountryYearKey("NL", 2024), CountryYearHolidays.fromHolidayDTOs(2024, new HolidayDTO[]{
+                new HolidayDTO("2024-01-01", "Nieuwjaarsdag")}));
+        assertEquals(1, new HolidaySnapshotStore(before, TestComponents.upstreamGuard(), properties).save());
+
+        //The restarted service has an unreachable upstream, so every answer must come from the snapshot.
+        RestTemplate restTemplate = mock(RestTemplate.class);
+        when(restTemplate.getForObject(anyString(), any())).thenThrow(new ResourceAccessException("Connection refused"));
+        HolidayCache after = new HolidayCache(new HolidayCacheProperties(), Clock.systemDefaultZone());
+        UpstreamGuard upstreamGuard = TestComponents.upstreamGuard();
+        HolidayFetcherServiceImpl service = TestComponents.service(TestComponents.nagerDateClient(restTemplate), after,
+                new ParallelFanOut(Executors.newFixedThreadPool(2), Executors.newFixedThreadPool(2), new FanOutProperties()),
+                new CountryHolidayIndex(after), upstreamGuard);
+        assertEquals(1, new HolidaySnapshotStore(after, upstreamGuard, properties).load());
+
+        List<HolidayDTO> holidays = service.getHolidaysByCountryAndYear("NL", 2024);
+
+        assertEquals(1, holidays.size());
+        assertEquals("Nieuwjaarsdag", holidays.get(0).getLocalName());
+        verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    void snapshotIsServedPastItsTtlWhileTheUpstreamIsDown() {
+        HolidayCache before = new HolidayCache(new HolidayCacheProperties(), Clock.systemDefaultZone());
+        before.put(new CountryYearKey("NL", 2024), CountryYearHolidays.fromHolidayDTOs(2024, new HolidayDTO[]{
+                new HolidayDTO("2024-01-01", "Nieuwjaarsdag")}));
+        new HolidaySnapshotStore(before, TestComponents.upstreamGuard(), properties).save();
+
+        RestTemplate restTemplate = mock(RestTemplate.class);
+        when(restTemplate.getForObject(anyString(), any())).thenThrow(new ResourceAccessException("Connection refused"));
+        MutableClock clock = new MutableClock(Instant.parse("2024-06-01T00:00:00Z"));
+        HolidayCache after = new HolidayCache(new HolidayCacheProperties(), clock);
+        UpstreamGuard upstreamGuard = TestComponents.upstreamGuard();
+        HolidayFetcherServiceImpl service = TestComponents.service(TestComponents.nagerDateClient(restTemplate), after,
+                new ParallelFanOut(Executors.newFixedThreadPool(2), Executors.newFixedThreadPool(2), new FanOutProperties()),
+                new CountryHolidayIndex(after), upstreamGuard);
+        new HolidaySnapshotStore(after, upstreamGuard, properties).load();
+
+        //Past the current-year TTL the entry is dropped, and its reload fails against the unreachable upstream.
+        clock.advance(new HolidayCacheProperties().getCurrentYearTtl().plusMinutes(1));
+        List<HolidayDTO> holidays = service.getHolidaysByCountryAndYear("NL", 2024);
+
+        assertEquals(1, holidays.size());
+        assertEquals("Nieuwjaarsdag", holidays.get(0).getLocalName());
+        verify(restTemplate).getForObject(anyString(), any());
+    }
+
+    @Test
+    void missingSnapshotIsAColdStart() {
+        HolidayCache holidayCache = new HolidayCache(new HolidayCacheProperties(), Clock.systemDefaultZone());
+
+        assertEquals(0, new HolidaySnapshotStore(holidayCache, TestComponents.upstreamGuard(), properties).load());
+        assertEquals(0, holidayCache.stats().size());
+    }
+
+    @Test
+    void jsonImportAndExportRoundTrip() throws IOException {
+        Path json = directory.resolve("holidays.json");
+        Path snapshot = directory.resolve("imported.snapshot");
+        Path exported = directory.resolve("exported.json");
+        Files.writeString(json, """
+                {"IT/2024": [{"date": "2024-04-25", "localName": "Festa della Liberazione"},
+                             {"date": "2024-01-01", "localName": "Capodanno"}]}
+                """);
+
+        assertEquals(1, SnapshotTool.importJson(json, snapshot));
+        assertEquals(1, SnapshotTool.exportJson(snapshot, exported));
+
+        String exportedJson = Files.readString(exported);
+        assertTrue(exportedJson.indexOf("Capodanno") < exportedJson.indexOf("Festa della Liberazione"));
+        assertTrue(exportedJson.contains("\"IT/2024\""));
+    }
+}
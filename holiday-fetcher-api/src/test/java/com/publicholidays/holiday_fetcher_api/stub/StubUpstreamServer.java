@@ -0,0 +1,144 @@
+package com.publicholidays.holiday_fetcher_api.stub;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+//In-process stand-in for the Nager.Date API, serving recorded 2024 payloads re-dated to the requested year, with an
+//injected latency (base plus uniform jitter, or any distribution) and a share of 500 responses.
+//Countries without their own recording are answered with the NL one. Latency and errors can be changed while running.
+//Answers carry an ETag, and a matching If-None-Match is answered with 304.
+public class StubUpstreamServer implements AutoCloseable {
+
+    private static final String PATH_PREFIX = "/api/v3/publicholidays/";
+    private static final String RECORDED_YEAR = "2024-";
+    private static final String DEFAULT_COUNTRY = "NL";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private volatile LongSupplier latencyMillis;
+    private volatile double errorRate;
+    private final AtomicInteger failNext = new AtomicInteger();
+    private final Map<String, String> recordings = new ConcurrentHashMap<>();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicLong notModified = new AtomicLong();
+
+    public StubUpstreamServer(long latencyMillis, long jitterMillis, double errorRate) throws IOException {
+        setLatency(latencyMillis, jitterMillis);
+        this.errorRate = errorRate;
+        //A deep accept backlog, so bursts of new connections from a non-blocking client are queued rather than refused.
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 4096);
+        //Handlers sleep to simulate latency, so each in-flight request needs its own thread.
+        this.executor = Executors.newCachedThreadPool();
+        server.setExecutor(executor);
+        server.createContext(PATH_PREFIX, this::handle);
+        server.start();
+    }
+
+    public String baseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + "/api/v3/";
+    }
+
+    public long requests() {
+        return requests.get();
+    }
+
+    public long errors() {
+        return errors.get();
+    }
+
+    public long notModified() {
+        return notModified.get();
+    }
+
+    public void setLatency(long latencyMillis, long jitterMillis) {
+        setLatencyDistribution(() -> latencyMillis + (jitterMillis > 0 ? ThreadLocalRandom.current().nextLong(jitterMillis + 1) : 0));
+    }
+
+    //Latency of each request, in milliseconds, drawn from the supplier, which may be called from many threads at once.
+    public void setLatencyDistribution(LongSupplier latencyMillis) {
+        this.latencyMillis = latencyMillis;
+    }
+
+    //Answers the next requests with a 500, whatever the error rate.
+    public void failNextRequests(int count) {
+        failNext.set(count);
+    }
+
+    public void setErrorRate(double errorRate) {
+        this.errorRate = errorRate;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        try (exchange) {
+            sleep(latencyMillis.getAsLong());
+            if (failNext.getAndUpdate(count -> Math.max(count - 1, 0)) > 0 || ThreadLocalRandom.current().nextDouble() < errorRate) {
+                errors.incrementAndGet();
+                exchange.sendResponseHeaders(500, -1);
+                return;
+            }
+            //Path: /api/v3/publicholidays/{year}/{country}
+            String[] segments = exchange.getRequestURI().getPath().substring(PATH_PREFIX.length()).split("/");
+            byte[] body = recording(segments[1]).replace(RECORDED_YEAR, segments[0] + "-").getBytes(StandardCharsets.UTF_8);
+            String etag = "\"" + Integer.toHexString(Arrays.hashCode(body)) + "\"";
+            exchange.getResponseHeaders().set("ETag", etag);
+            if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                notModified.incrementAndGet();
+                exchange.sendResponseHeaders(304, -1);
+                return;
+            }
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(body);
+            }
+        }
+    }
+
+    private String recording(String country) {
+        return recordings.computeIfAbsent(country, key -> {
+            String recorded = read(key);
+            return recorded != null ? recorded : read(DEFAULT_COUNTRY);
+        });
+    }
+
+    private static String read(String country) {
+        try (InputStream input = StubUpstreamServer.class.getResourceAsStream("/loadtest/fixtures/" + country + ".json")) {
+            return input != null ? new String(input.readAllBytes(), StandardCharsets.UTF_8) : null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
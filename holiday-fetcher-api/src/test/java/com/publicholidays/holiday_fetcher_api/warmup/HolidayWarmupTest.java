@@ -0,0 +1,110 @@
+package com.publicholidays.holiday_fetcher_api.warmup;
+
+import com.publicholidays.holiday_fetcher_api.TestComponents;
+import com.publicholidays.holiday_fetcher_api.cache.CountryYearKey;
+import com.publicholidays.holiday_fetcher_api.cache.HolidayCache;
+import com.publicholidays.holiday_fetcher_api.cache.HolidayCacheProperties;
+import com.publicholidays.holiday_fetcher_api.client.NagerDateClient;
+import com.publicholidays.holiday_fetcher_api.dto.response.HolidayDTO;
+import com.publicholidays.holiday_fetcher_api.exception.HolidayServiceExceptions;
+import com.publicholidays.holiday_fetcher_api.model.CountryCodes;
+import com.publicholidays.holiday_fetcher_api.model.CountryYearHolidays;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class HolidayWarmupTest {
+
+    private NagerDateClient nagerDateClient;
+    private HolidayCache holidayCache;
+    private WarmupProperties properties;
+    private ScheduledExecutorService executor;
+    private HolidayWarmup holidayWarmup;
+
+    @BeforeEach
+    void setUp() {
+        nagerDateClient = mock(NagerDateClient.class);
+        holidayCache = new HolidayCache(new HolidayCacheProperties(), Clock.systemDefaultZone());
+        properties = new WarmupProperties();
+        properties.setRefreshEnabled(false);
+        executor = Executors.newScheduledThreadPool(4);
+        holidayWarmup = new HolidayWarmup(holidayCache, nagerDateClient, TestComponents.upstreamGuard(), properties, executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void preloadsCurrentAndPreviousYearOfEveryCountry() throws Exception {
+        when(nagerDateClient.revalidate(anyString(), anyInt())).thenAnswer(invocation -> holidays(invocation.getArgument(1)));
+        properties.setReadinessFraction(1.0);
+
+        holidayWarmup.run(null);
+
+        WarmupProgress progress = holidayWarmup.progress();
+        assertTrue(progress.ready());
+        assertEquals(CountryCodes.count() * 2, progress.total());
+        assertEquals(progress.total(), progress.loaded());
+        int currentYear = LocalDate.now().getYear();
+        assertNotNull(holidayCache.getIfPresent(new CountryYearKey("IT", currentYear)));
+        assertNotNull(holidayCache.getIfPresent(new CountryYearKey("IT", currentYear - 1)));
+    }
+
+    @Test
+    void failedCountriesDoNotBlockReadiness() throws Exception {
+        when(nagerDateClient.revalidate(anyString(), anyInt())).thenAnswer(invocation -> holidays(invocation.getArgument(1)));
+        when(nagerDateClient.revalidate(eq("NL"), anyInt()))
+                .thenThrow(new HolidayServiceExceptions.HolidayNotFoundException("No holidays found for the given country and year."));
+        properties.setReadinessFraction(1.0);
+
+        holidayWarmup.run(null);
+
+        WarmupProgress progress = holidayWarmup.progress();
+        assertTrue(progress.ready());
+        assertEquals(2, progress.failed());
+        assertEquals(progress.total() - 2, progress.loaded());
+    }
+
+    @Test
+    void refreshReloadsOnlyCurrentYearEntries() throws Exception {
+        int currentYear = LocalDate.now().getYear();
+        holidayCache.put(new CountryYearKey("IT", currentYear), holidays(currentYear));
+        holidayCache.put(new CountryYearKey("IT", currentYear - 1), holidays(currentYear - 1));
+        when(nagerDateClient.revalidate("IT", currentYear)).thenReturn(holidays(currentYear));
+
+        holidayWarmup.refreshCurrentYear();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+        verify(nagerDateClient).revalidate("IT", currentYear);
+        verify(nagerDateClient, never()).revalidate("IT", currentYear - 1);
+    }
+
+    @Test
+    void disabledWarmupIsReadyImmediately() throws Exception {
+        properties.setEnabled(false);
+
+        holidayWarmup.run(null);
+
+        assertTrue(holidayWarmup.progress().ready());
+        verifyNoInteractions(nagerDateClient);
+    }
+
+    private static CountryYearHolidays holidays(int year) {
+        return CountryYearHolidays.fromHolidayDTOs(year, new HolidayDTO[]{new HolidayDTO(year + "-01-01", "New Year")});
+    }
+}
@@ -0,0 +1,42 @@
+package com.publicholidays.holiday_fetcher_api.benchmark;
+
+import com.publicholidays.holiday_fetcher_api.dto.response.CountriesOnHolidayDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+//Date lookups across every supported country, for a single day up to the longest accepted range.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CountriesOnHolidayBenchmark {
+
+    private static final LocalDate FROM = LocalDate.of(2024, 1, 1);
+
+    @Param({"1", "31", "366"})
+    public int days;
+
+    @Benchmark
+    public CountriesOnHolidayDTO countriesOnHoliday(HolidayServiceState state) {
+        return state.service.getCountriesOnHoliday(FROM);
+    }
+
+    @Benchmark
+    public List<CountriesOnHolidayDTO> countriesOnHolidayBetween(HolidayServiceState state) {
+        return state.service.getCountriesOnHoliday(FROM, FROM.plusDays(days - 1));
+    }
+}
@@ -0,0 +1,85 @@
+package com.publicholidays.holiday_fetcher_api.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.publicholidays.holiday_fetcher_api.exception.HolidayExceptionHandler;
+import com.publicholidays.holiday_fetcher_api.exception.HolidayServiceExceptions;
+import com.publicholidays.holiday_fetcher_api.metrics.HolidayMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+//Invalid-input flood: a rejected request from validation to the error body bytes, as the exception handler returns
+//them. invalidCountry reuses one exception and one cached body; invalidYear varies the year, so its messages soon
+//stop being cached. stackTraceAndJacksonBody is the former path for comparison: an exception with a stack trace and
+//a map with a LocalDateTime serialized by Jackson.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ErrorPathBenchmark {
+
+    private static final String MESSAGE = "One or both country codes are invalid. Country codes must be composed of two valid characters in capital letters.";
+
+    private HolidayExceptionHandler handler;
+    private ObjectMapper objectMapper;
+    private int year;
+
+    @Setup
+    public void setUp() {
+        handler = new HolidayExceptionHandler(new HolidayMetrics(new SimpleMeterRegistry()));
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    @Benchmark
+    public byte[] invalidCountry(HolidayServiceState state) {
+        try {
+            state.service.getLastThreeCelebratedHolidays("xx", 2024);
+            throw new IllegalStateException("Expected the country to be rejected");
+        } catch (HolidayServiceExceptions.BadRequestException e) {
+            return handler.handleBadRequestException(e).getBody();
+        }
+    }
+
+    @Benchmark
+    public byte[] invalidYear(HolidayServiceState state) {
+        year = (year + 1) % 1000;
+        try {
+            state.service.getLastThreeCelebratedHolidays("NL", year);
+            throw new IllegalStateException("Expected the year to be rejected");
+        } catch (HolidayServiceExceptions.BadRequestException e) {
+            return handler.handleBadRequestException(e).getBody();
+        }
+    }
+
+    @Benchmark
+    public byte[] stackTraceAndJacksonBody() throws Exception {
+        try {
+            throw new IllegalArgumentException(MESSAGE);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("timestamp", LocalDateTime.now());
+            errorResponse.put("status", 400);
+            errorResponse.put("error", "Bad Request");
+            errorResponse.put("message", e.getMessage());
+            return objectMapper.writeValueAsBytes(errorResponse);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.publicholidays.holiday_fetcher_api.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+//RestTemplate stub answering the public holidays URLs from recorded upstream responses, so the benchmarks measure
+//this service rather than the network. The body is still deserialized on every call, as the real message converter does.
+//Fixtures are recorded for 2024 and re-dated to the requested year.
+public class FixtureRestTemplate extends RestTemplate {
+
+    //Countries answered with the small and pathological fixtures; every other country gets the typical one.
+    public static final String SMALL_COUNTRY = "SM";
+    public static final String TYPICAL_COUNTRY = "NL";
+    public static final String PATHOLOGICAL_COUNTRY = "IN";
+
+    private static final String RECORDED_YEAR = "2024-";
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final Map<String, String> fixtures = Map.of(
+            "small", readFixture("small"),
+            "typical", readFixture("typical"),
+            "pathological", readFixture("pathological"));
+    private final Map<String, byte[]> bodies = new ConcurrentHashMap<>();
+
+    @Override
+    public <T> T getForObject(String url, Class<T> responseType, Object... uriVariables) {
+        String[] segments = url.split("/");
+        try {
+            return objectMapper.readValue(body(segments[segments.length - 1], Integer.parseInt(segments[segments.length - 2])),
+                    responseType);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    //The recorded upstream response for the country, re-dated to the year.
+    public byte[] body(String country, int year) {
+        String fixture = switch (country) {
+            case SMALL_COUNTRY -> "small";
+            case PATHOLOGICAL_COUNTRY -> "pathological";
+            default -> "typical";
+        };
+        return bodies.computeIfAbsent(fixture + "/" + year,
+                key -> fixtures.get(fixture).replace(RECORDED_YEAR, year + "-").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String readFixture(String name) {
+        try (InputStream input = FixtureRestTemplate.class.getResourceAsStream("/fixtures/" + name + ".json")) {
+            return StreamUtils.copyToString(input, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
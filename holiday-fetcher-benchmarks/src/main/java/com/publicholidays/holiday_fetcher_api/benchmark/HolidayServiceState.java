@@ -0,0 +1,74 @@
+package com.publicholidays.holiday_fetcher_api.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.publicholidays.holiday_fetcher_api.cache.HolidayCache;
+import com.publicholidays.holiday_fetcher_api.cache.HolidayCacheProperties;
+import com.publicholidays.holiday_fetcher_api.cache.ResponseBodyCache;
+import com.publicholidays.holiday_fetcher_api.cache.ResponseBodyCacheProperties;
+import com.publicholidays.holiday_fetcher_api.client.NagerDateClient;
+import com.publicholidays.holiday_fetcher_api.client.UpstreamProperties;
+import com.publicholidays.holiday_fetcher_api.concurrent.FanOutProperties;
+import com.publicholidays.holiday_fetcher_api.concurrent.ParallelFanOut;
+import com.publicholidays.holiday_fetcher_api.controller.HolidayFetcherController;
+import com.publicholidays.holiday_fetcher_api.controller.HttpCacheProperties;
+import com.publicholidays.holiday_fetcher_api.index.CountryHolidayIndex;
+import com.publicholidays.holiday_fetcher_api.metrics.HolidayMetrics;
+import com.publicholidays.holiday_fetcher_api.resilience.ResilienceProperties;
+import com.publicholidays.holiday_fetcher_api.resilience.UpstreamCaller;
+import com.publicholidays.holiday_fetcher_api.resilience.UpstreamGuard;
+import com.publicholidays.holiday_fetcher_api.service.impl.HolidayFetcherServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.time.Clock;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+//The service and controller wired as in the application, with the upstream replaced by recorded fixtures.
+//The cache fills during warmup, so measurements reflect the steady state of a running instance.
+@State(Scope.Benchmark)
+public class HolidayServiceState {
+
+    public NagerDateClient nagerDateClient;
+    public HolidayFetcherServiceImpl service;
+    public HolidayFetcherController controller;
+    public ObjectMapper objectMapper;
+    private ExecutorService fanOutExecutor;
+    private ExecutorService bulkExecutor;
+
+    @Setup
+    public void setUp() {
+        FanOutProperties fanOutProperties = new FanOutProperties();
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("benchmark-fan-out-");
+        threadFactory.setDaemon(true);
+        fanOutExecutor = Executors.newFixedThreadPool(fanOutProperties.getMaxParallelism(), threadFactory);
+        bulkExecutor = Executors.newFixedThreadPool(fanOutProperties.getBulkMaxParallelism(), threadFactory);
+        ParallelFanOut parallelFanOut = new ParallelFanOut(fanOutExecutor, bulkExecutor, fanOutProperties);
+
+        HolidayMetrics holidayMetrics = new HolidayMetrics(new SimpleMeterRegistry());
+        HolidayCache holidayCache = new HolidayCache(new HolidayCacheProperties(), Clock.systemDefaultZone());
+        nagerDateClient = new NagerDateClient(new FixtureRestTemplate(), new UpstreamProperties(), holidayMetrics);
+        //One attempt per fetch on the calling thread: the fixtures answer at once, so there is nothing to hedge or retry.
+        ResilienceProperties resilienceProperties = new ResilienceProperties();
+        resilienceProperties.setHedgingEnabled(false);
+        resilienceProperties.setMaxRetries(0);
+        UpstreamGuard upstreamGuard = new UpstreamGuard(resilienceProperties, holidayMetrics,
+                new UpstreamCaller(resilienceProperties, holidayMetrics, null), Clock.systemDefaultZone());
+        service = new HolidayFetcherServiceImpl(nagerDateClient, holidayCache, parallelFanOut, new CountryHolidayIndex(holidayCache),
+                upstreamGuard, holidayMetrics);
+        objectMapper = new ObjectMapper();
+        controller = new HolidayFetcherController(service, parallelFanOut,
+                new ResponseBodyCache(new ResponseBodyCacheProperties(), holidayCache, objectMapper, Clock.systemDefaultZone()),
+                new HttpCacheProperties());
+    }
+
+    @TearDown
+    public void tearDown() {
+        fanOutExecutor.shutdownNow();
+        bulkExecutor.shutdownNow();
+    }
+}
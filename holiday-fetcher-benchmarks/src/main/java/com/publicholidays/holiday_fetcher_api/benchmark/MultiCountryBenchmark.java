@@ -0,0 +1,62 @@
+package com.publicholidays.holiday_fetcher_api.benchmark;
+
+import com.publicholidays.holiday_fetcher_api.dto.response.HolidayDTO;
+import com.publicholidays.holiday_fetcher_api.model.CountryCodes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+//Operations taking a list of countries, from a pair up to the pathological 120-country request.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MultiCountryBenchmark {
+
+    private static final int YEAR = 2024;
+
+    @Param({"2", "20", "120"})
+    public int countryCount;
+
+    private List<String> countries;
+
+    //Always includes the small and pathological fixtures, so every list size mixes the three kinds of year.
+    @Setup
+    public void setUp() {
+        countries = new ArrayList<>(List.of(FixtureRestTemplate.SMALL_COUNTRY, FixtureRestTemplate.PATHOLOGICAL_COUNTRY));
+        for (String code : CountryCodes.all()) {
+            if (countries.size() >= countryCount) {
+                break;
+            }
+            if (!countries.contains(code)) {
+                countries.add(code);
+            }
+        }
+        countries = countries.subList(0, countryCount);
+    }
+
+    @Benchmark
+    public List<HolidayDTO> holidaysInCommonOfCountries(HolidayServiceState state) {
+        return state.service.getHolidaysInCommon(countries, YEAR);
+    }
+
+    @Benchmark
+    public List<Integer> controllerNumberOfHolidaysNotOnWeekends(HolidayServiceState state) throws Exception {
+        //Calls the endpoint's Callable directly: the async dispatch itself is not part of the measurement.
+        return state.controller.getNumberOfHolidaysNotOnWeekends(YEAR, countries).call();
+    }
+}
@@ -0,0 +1,119 @@
+package com.publicholidays.holiday_fetcher_api.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import com.publicholidays.holiday_fetcher_api.controller.HolidayResponseCachingFilter;
+import com.publicholidays.holiday_fetcher_api.controller.HttpCacheProperties;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+//Body of /holidays/last on a warm cache: DTOs serialized by Jackson on every request, against the bytes kept by the
+//response body cache. The filter-chain benchmarks serve the request as the application does, through the ETag filter
+//and the async dispatch, so the cost of the filter and of Spring MVC is included. Their Callable runs on the calling
+//thread, so a thread hand-off does not hide that cost.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResponseBodyBenchmark {
+
+    private static final int YEAR = 2024;
+
+    @Param({FixtureRestTemplate.SMALL_COUNTRY, FixtureRestTemplate.TYPICAL_COUNTRY, FixtureRestTemplate.PATHOLOGICAL_COUNTRY})
+    public String country;
+
+    @Benchmark
+    public byte[] lastThreeSerializedByJackson(HolidayServiceState state) throws Exception {
+        return state.objectMapper.writeValueAsBytes(state.service.getLastThreeCelebratedHolidays(country, YEAR));
+    }
+
+    @Benchmark
+    public byte[] lastThreeFromResponseBodyCache(HolidayServiceState state) throws Exception {
+        //Calls the endpoint's Callable directly: the async dispatch itself is not part of the measurement.
+        return state.controller.getLastThreeCelebratedHolidays(country, YEAR, null).call().getBody();
+    }
+
+    @Benchmark
+    public byte[] lastThreeThroughFilterChain(FilterChainState state) throws Exception {
+        return state.perform(get("/holidays/last").param("country", country).param("year", String.valueOf(YEAR)))
+                .getContentAsByteArray();
+    }
+
+    @Benchmark
+    public int lastThreeRevalidatedThroughFilterChain(FilterChainState state) throws Exception {
+        return state.perform(get("/holidays/last").param("country", country).param("year", String.valueOf(YEAR))
+                        .header(HttpHeaders.IF_NONE_MATCH, state.etags.get(country)))
+                .getStatus();
+    }
+
+    //The controller behind the ETag filter, with the ETag of each country's answer for the revalidation requests.
+    @State(Scope.Benchmark)
+    public static class FilterChainState {
+        private MockMvc mockMvc;
+        private final Map<String, String> etags = new HashMap<>();
+
+        @Setup
+        public void setUp(HolidayServiceState state) throws Exception {
+            AnnotationConfigWebApplicationContext context = new AnnotationConfigWebApplicationContext();
+            context.setServletContext(new MockServletContext());
+            context.register(CallingThreadMvcConfig.class);
+            context.addBeanFactoryPostProcessor(beanFactory -> beanFactory.registerSingleton("holidayFetcherController", state.controller));
+            context.refresh();
+            mockMvc = MockMvcBuilders.webAppContextSetup(context)
+                    .addFilters(new HolidayResponseCachingFilter(new HttpCacheProperties()))
+                    .build();
+            for (String country : new String[]{FixtureRestTemplate.SMALL_COUNTRY, FixtureRestTemplate.TYPICAL_COUNTRY,
+                    FixtureRestTemplate.PATHOLOGICAL_COUNTRY}) {
+                String etag = perform(get("/holidays/last").param("country", country).param("year", String.valueOf(YEAR)))
+                        .getHeader(HttpHeaders.ETAG);
+                if (etag == null) {
+                    throw new IllegalStateException("No ETag on the /holidays/last answer for " + country);
+                }
+                etags.put(country, etag);
+            }
+        }
+
+        private MockHttpServletResponse perform(RequestBuilder request) throws Exception {
+            MvcResult started = mockMvc.perform(request).andReturn();
+            return mockMvc.perform(asyncDispatch(started)).andReturn().getResponse();
+        }
+    }
+
+    @Configuration
+    @EnableWebMvc
+    static class CallingThreadMvcConfig implements WebMvcConfigurer {
+        @Override
+        public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+            configurer.setTaskExecutor(new TaskExecutorAdapter(Runnable::run));
+        }
+    }
+}
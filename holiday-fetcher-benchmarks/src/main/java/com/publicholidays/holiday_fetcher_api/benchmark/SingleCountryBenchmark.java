@@ -0,0 +1,64 @@
+package com.publicholidays.holiday_fetcher_api.benchmark;
+
+import com.publicholidays.holiday_fetcher_api.dto.response.HolidayDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+//Service operations on one country, for a small (3 holidays), typical (11) and pathological (40, with regional
+//duplicates listed out of order) year.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SingleCountryBenchmark {
+
+    private static final int YEAR = 2024;
+    private static final String OTHER_COUNTRY = "IT";
+
+    @Param({FixtureRestTemplate.SMALL_COUNTRY, FixtureRestTemplate.TYPICAL_COUNTRY, FixtureRestTemplate.PATHOLOGICAL_COUNTRY})
+    public String country;
+
+    @Benchmark
+    public List<HolidayDTO> lastThreeCelebratedHolidays(HolidayServiceState state) {
+        return state.service.getLastThreeCelebratedHolidays(country, YEAR);
+    }
+
+    @Benchmark
+    public int numberOfHolidaysNotOnWeekends(HolidayServiceState state) {
+        return state.service.getNumberOfHolidaysNotOnWeekends(country, YEAR);
+    }
+
+    @Benchmark
+    public List<HolidayDTO> holidaysInCommonWithAnotherCountry(HolidayServiceState state) {
+        return state.service.getHolidaysInCommon(country, OTHER_COUNTRY, YEAR);
+    }
+
+    @Benchmark
+    public List<HolidayDTO> holidaysByCountryAndYear(HolidayServiceState state) {
+        return state.service.getHolidaysByCountryAndYear(country, YEAR);
+    }
+
+    @Benchmark
+    public int numberOfBusinessDaysInAYear(HolidayServiceState state) {
+        return state.service.getNumberOfBusinessDays(country, LocalDate.of(YEAR, 1, 1), LocalDate.of(YEAR, 12, 31));
+    }
+
+    @Benchmark
+    public LocalDate addAYearOfBusinessDays(HolidayServiceState state) {
+        return state.service.addBusinessDays(country, LocalDate.of(YEAR, 1, 2), 250);
+    }
+}
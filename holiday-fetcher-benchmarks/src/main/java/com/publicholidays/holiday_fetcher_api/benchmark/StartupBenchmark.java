@@ -0,0 +1,198 @@
+package com.publicholidays.holiday_fetcher_api.benchmark;
+
+import com.sun.net.httpserver.HttpServer;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ConnectException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+//Startup of each built artifact of holiday-fetcher-api, for picking the one to scale out with: time from process start
+//to the first successful /holidays/last (cold cache, one upstream call) and resident memory right after it.
+//Modes whose artifact has not been built are skipped:
+//  jar        the executable jar                                         mvn package
+//  extracted  the jar extracted to target/fast-start                     mvn package -Pfast-start
+//  aot        extracted, with the Spring AOT bean definitions            mvn package -Pfast-start
+//  aot-cds    aot, with the CDS archive of the training run              mvn package -Pfast-start
+//  native     the native image target/holiday-fetcher-api                mvn -Pnative native:compile (GraalVM)
+//The upstream is an in-process stub serving a recorded response. Usage:
+//  java -cp holiday-fetcher-benchmarks/target/benchmarks.jar com.publicholidays.holiday_fetcher_api.benchmark.StartupBenchmark [runs] [api target dir]
+public final class StartupBenchmark {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(120);
+    private static final String JAVA = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        Path target = Path.of(args.length > 1 ? args[1] : "holiday-fetcher-api/target");
+        HttpServer upstream = startUpstream();
+        try {
+            System.out.printf("%-10s %8s %8s %8s %10s%n", "Mode", "Runs", "Min ms", "Med ms", "Med RSS MB");
+            for (Mode mode : modes(target)) {
+                if (mode.command() == null) {
+                    System.out.printf("%-10s skipped, not built%n", mode.name());
+                    continue;
+                }
+                long[] millis = new long[runs];
+                long[] rss = new long[runs];
+                for (int i = 0; i < runs; i++) {
+                    Startup startup = measure(mode, upstream.getAddress().getPort());
+                    millis[i] = startup.millis();
+                    rss[i] = startup.rssKilobytes();
+                }
+                Arrays.sort(millis);
+                Arrays.sort(rss);
+                long medianRss = rss[runs / 2];
+                System.out.printf("%-10s %8d %8d %8d %10s%n", mode.name(), runs, millis[0], millis[runs / 2],
+                        medianRss >= 0 ? String.valueOf(medianRss / 1024) : "n/a");
+            }
+        } finally {
+            upstream.stop(0);
+        }
+    }
+
+    private static List<Mode> modes(Path target) throws IOException {
+        Path jar = execJar(target);
+        Path fastStart = target.resolve("fast-start");
+        Path extracted = execJar(fastStart);
+        Path nativeImage = target.resolve("holiday-fetcher-api");
+
+        List<Mode> modes = new ArrayList<>();
+        modes.add(new Mode("jar", target, jar != null ? List.of(JAVA, "-jar", jar.getFileName().toString()) : null));
+        if (extracted == null) {
+            modes.add(new Mode("extracted", fastStart, null));
+            modes.add(new Mode("aot", fastStart, null));
+            modes.add(new Mode("aot-cds", fastStart, null));
+        } else {
+            //Started from target/fast-start with the jar path of the training run: CDS rejects an archive whose
+            //recorded class path does not match.
+            String extractedJar = extracted.getFileName().toString();
+            modes.add(new Mode("extracted", fastStart, List.of(JAVA, "-jar", extractedJar)));
+            modes.add(new Mode("aot", fastStart, List.of(JAVA, "-Dspring.aot.enabled=true", "-jar", extractedJar)));
+            modes.add(new Mode("aot-cds", fastStart, Files.exists(fastStart.resolve("application.jsa"))
+                    ? List.of(JAVA, "-XX:SharedArchiveFile=application.jsa", "-Dspring.aot.enabled=true", "-jar", extractedJar)
+                    : null));
+        }
+        modes.add(new Mode("native", target, Files.isExecutable(nativeImage) ? List.of(nativeImage.toAbsolutePath().toString()) : null));
+        return modes;
+    }
+
+    private static Path execJar(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return null;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith("-exec.jar")).findFirst().orElse(null);
+        }
+    }
+
+    private static Startup measure(Mode mode, int upstreamPort) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>(mode.command());
+        command.add("--server.port=" + port);
+        command.add("--holidays.upstream.base-url=http://localhost:" + upstreamPort + "/api/v3/");
+        command.add("--holidays.warmup.enabled=false");
+        command.add("--holidays.snapshot.enabled=false");
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port
+                + "/holidays/last?country=NL&year=" + Year.now().minusYears(1))).timeout(Duration.ofSeconds(10)).build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .directory(mode.directory().toFile())
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            while (true) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(mode.name() + " exited with status " + process.exitValue());
+                }
+                if (System.nanoTime() - start > STARTUP_TIMEOUT.toNanos()) {
+                    throw new IllegalStateException(mode.name() + " did not answer within " + STARTUP_TIMEOUT);
+                }
+                try {
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        break;
+                    }
+                } catch (ConnectException e) {
+                    //Not listening yet.
+                }
+                Thread.sleep(5);
+            }
+            long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            return new Startup(millis, rssKilobytes(process.pid()));
+        } finally {
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    //Resident set size from procfs, -1 where there is none.
+    private static long rssKilobytes(long pid) {
+        Path status = Path.of("/proc", String.valueOf(pid), "status");
+        try (Stream<String> lines = Files.lines(status)) {
+            return lines.filter(line -> line.startsWith("VmRSS:"))
+                    .map(line -> Long.parseLong(line.replaceAll("\\D", "")))
+                    .findFirst()
+                    .orElse(-1L);
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    //Answers every public holidays URL with the typical recorded response, re-dated to the requested year.
+    private static HttpServer startUpstream() throws IOException {
+        String fixture;
+        try (InputStream input = StartupBenchmark.class.getResourceAsStream("/fixtures/typical.json")) {
+            fixture = StreamUtils.copyToString(input, StandardCharsets.UTF_8);
+        }
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/api/v3/publicholidays/", exchange -> {
+            String[] segments = exchange.getRequestURI().getPath().split("/");
+            byte[] body = fixture.replace("2024-", segments[segments.length - 2] + "-").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        return server;
+    }
+
+    private record Mode(String name, Path directory, List<String> command) {
+    }
+
+    private record Startup(long millis, long rssKilobytes) {
+    }
+}
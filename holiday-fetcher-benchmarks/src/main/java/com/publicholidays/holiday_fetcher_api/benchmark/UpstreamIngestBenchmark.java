@@ -0,0 +1,60 @@
+package com.publicholidays.holiday_fetcher_api.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.publicholidays.holiday_fetcher_api.dto.response.HolidayDTO;
+import com.publicholidays.holiday_fetcher_api.model.CountryYearHolidays;
+import com.publicholidays.holiday_fetcher_api.model.UpstreamHolidays;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+//The cache-miss path: deserializing an upstream response and building the compact holidays from it.
+//dtoArray and streaming ingest the same response body without the client around it, through HolidayDTO[] and through
+//the streaming UpstreamHolidays deserializer; run with -prof gc to compare the bytes allocated per country-year.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UpstreamIngestBenchmark {
+
+    @Param({FixtureRestTemplate.SMALL_COUNTRY, FixtureRestTemplate.TYPICAL_COUNTRY, FixtureRestTemplate.PATHOLOGICAL_COUNTRY})
+    public String country;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private byte[] body;
+
+    @Setup
+    public void setUp() {
+        body = new FixtureRestTemplate().body(country, 2024);
+    }
+
+    @Benchmark
+    public CountryYearHolidays fetchHolidays(HolidayServiceState state) {
+        return state.nagerDateClient.fetchHolidays(country, 2024);
+    }
+
+    @Benchmark
+    public CountryYearHolidays dtoArray() throws IOException {
+        return CountryYearHolidays.fromHolidayDTOs(2024, objectMapper.readValue(body, HolidayDTO[].class));
+    }
+
+    @Benchmark
+    public CountryYearHolidays streaming() throws IOException {
+        return CountryYearHolidays.fromUpstream(2024, objectMapper.readValue(body, UpstreamHolidays.class));
+    }
+}